@@ -44,7 +44,6 @@ public class DataInitializer {
                     .role(Role.ADMIN)
                     .enabled(true)
                     .maxActiveOrders(999)
-                    .currentActiveOrders(0)
                     .isAvailable(true)
                     // ✅ createdAt auto-set by @PrePersist
                     .build();
@@ -60,7 +59,6 @@ public class DataInitializer {
                     .role(Role.CHEF)
                     .enabled(true)
                     .maxActiveOrders(10)  // Chef can handle 10 orders
-                    .currentActiveOrders(0)
                     .isAvailable(true)
                     .createdAt(LocalDateTime.now())
                     .build();
@@ -76,7 +74,6 @@ public class DataInitializer {
                     .role(Role.WAITER)
                     .enabled(true)
                     .maxActiveOrders(1)  // Waiter can serve 1 table at a time
-                    .currentActiveOrders(0)
                     .isAvailable(true)
                     .createdAt(LocalDateTime.now())
                     .build();
@@ -92,7 +89,6 @@ public class DataInitializer {
                     .role(Role.CUSTOMER)
                     .enabled(true)
                     .maxActiveOrders(5)  // Customers can have 5 active orders
-                    .currentActiveOrders(0)
                     .isAvailable(true)
                     .createdAt(LocalDateTime.now())
                     .build();
@@ -153,10 +149,6 @@ public class DataInitializer {
                         }
                     }
 
-                    if (user.getCurrentActiveOrders() == null) {
-                        user.setCurrentActiveOrders(0);
-                    }
-
                     if (user.getIsAvailable() == null) {
                         user.setIsAvailable(true);
                     }
@@ -0,0 +1,54 @@
+package com.javabite.app.config;
+
+/**
+ * SQL work done by the current HTTP request: statements executed, time spent in the driver
+ * and rows read. Bound to the request thread by {@link SqlStatsFilter}, filled in by
+ * {@link SqlStatsDataSource}; threads without a request (schedulers, startup) record nothing.
+ */
+public final class SqlStats {
+
+    private static final ThreadLocal<SqlStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long nanos;
+    private long rows;
+
+    static SqlStats begin() {
+        SqlStats stats = new SqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static SqlStats current() {
+        return CURRENT.get();
+    }
+
+    void executed(long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+    }
+
+    void rowRead() {
+        rows++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public double getMillis() {
+        return nanos / 1_000_000.0;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+}
@@ -0,0 +1,115 @@
+package com.javabite.app.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+
+/**
+ * Wraps the pool so every Statement it hands out reports to the request's {@link SqlStats}.
+ *
+ * - execute / executeQuery / executeUpdate / executeBatch: one statement, timed
+ * - ResultSet.next() returning true: one row
+ *
+ * Outside a request the wrappers only pay for a ThreadLocal lookup per call and never read the clock.
+ */
+public class SqlStatsDataSource extends DelegatingDataSource {
+
+    public SqlStatsDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, super.getConnection(), SqlStatsDataSource::onConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(Connection.class, super.getConnection(username, password), SqlStatsDataSource::onConnection);
+    }
+
+    // ==================== HANDLERS ====================
+
+    private interface Handler {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    private static Object onConnection(Object target, Method method, Object[] args) throws Throwable {
+        Object result = invoke(target, method, args);
+        String name = method.getName();
+        if (name.equals("createStatement")) {
+            return wrap(Statement.class, (Statement) result, SqlStatsDataSource::onStatement);
+        }
+        if (name.equals("prepareStatement")) {
+            return wrap(PreparedStatement.class, (PreparedStatement) result, SqlStatsDataSource::onStatement);
+        }
+        if (name.equals("prepareCall")) {
+            return wrap(CallableStatement.class, (CallableStatement) result, SqlStatsDataSource::onStatement);
+        }
+        return result;
+    }
+
+    private static Object onStatement(Object target, Method method, Object[] args) throws Throwable {
+        SqlStats stats = SqlStats.current();
+        if (stats == null) {
+            return invoke(target, method, args);
+        }
+
+        String name = method.getName();
+        Object result;
+        if (name.startsWith("execute")) {
+            long start = System.nanoTime();
+            try {
+                result = invoke(target, method, args);
+            } finally {
+                stats.executed(System.nanoTime() - start);
+            }
+        } else {
+            result = invoke(target, method, args);
+        }
+
+        if (result instanceof ResultSet resultSet) {
+            return wrap(ResultSet.class, resultSet, SqlStatsDataSource::onResultSet);
+        }
+        return result;
+    }
+
+    private static Object onResultSet(Object target, Method method, Object[] args) throws Throwable {
+        Object result = invoke(target, method, args);
+        if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+            SqlStats stats = SqlStats.current();
+            if (stats != null) {
+                stats.rowRead();
+            }
+        }
+        return result;
+    }
+
+    // ==================== PROXIES ====================
+
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(Class<T> type, T target, Handler handler) {
+        if (target == null) {
+            return null;
+        }
+        InvocationHandler invocation = (proxy, method, args) -> switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> handler.handle(target, method, args);
+        };
+        return (T) Proxy.newProxyInstance(SqlStatsDataSource.class.getClassLoader(), new Class<?>[]{type}, invocation);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.javabite.app.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request SQL accounting on top of {@link SqlStatsDataSource}:
+ *
+ * - Server-Timing header, added as the response commits:
+ *   db;dur=&lt;ms&gt;, db-statements;desc=&lt;n&gt;, db-rows;desc=&lt;n&gt;
+ * - metrics javabite.http.sql.statements / .time / .rows, tagged method + uri pattern
+ * - a warning when a request runs more statements than app.sql.statement-budget (N+1 smell)
+ *
+ * Runs ahead of Spring Security so user lookups during authentication are counted too.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@Slf4j
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    private static final String SERVER_TIMING = "Server-Timing";
+    private static final String UNMATCHED = "UNMATCHED";
+
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+
+    public SqlStatsFilter(MeterRegistry meterRegistry,
+                          @Value("${app.sql.statement-budget:25}") int statementBudget) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        SqlStats stats = SqlStats.begin();
+        HttpServletResponse timed = new OnCommittedResponseWrapper(response) {
+            @Override
+            protected void onResponseCommitted() {
+                response.addHeader(SERVER_TIMING, serverTiming(stats));
+            }
+        };
+
+        try {
+            chain.doFilter(request, timed);
+        } finally {
+            SqlStats.end();
+            // Bodiless responses (304, 204) are only committed after the filter chain returns
+            if (!response.isCommitted() && !response.containsHeader(SERVER_TIMING)) {
+                response.addHeader(SERVER_TIMING, serverTiming(stats));
+            }
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStats stats) {
+        String method = request.getMethod();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNMATCHED;
+
+        DistributionSummary.builder("javabite.http.sql.statements")
+                .description("SQL statements executed per HTTP request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("javabite.http.sql.time")
+                .description("Time spent executing SQL per HTTP request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("javabite.http.sql.rows")
+                .description("Rows read per HTTP request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getRows());
+
+        if (stats.getStatements() > statementBudget) {
+            log.warn("🐢 {} {} ran {} SQL statements (budget {}), {} rows in {} ms - possible N+1",
+                    method, request.getRequestURI(), stats.getStatements(), statementBudget,
+                    stats.getRows(), String.format(Locale.ROOT, "%.1f", stats.getMillis()));
+        }
+    }
+
+    private static String serverTiming(SqlStats stats) {
+        return String.format(Locale.ROOT, "db;dur=%.2f, db-statements;desc=%d, db-rows;desc=%d",
+                stats.getMillis(), stats.getStatements(), stats.getRows());
+    }
+}
@@ -1,17 +1,24 @@
 package com.javabite.app.controller;
 
 import com.javabite.app.model.Order;
+import com.javabite.app.model.Role;
 import com.javabite.app.model.User;
 import com.javabite.app.payload.*;
+import com.javabite.app.service.BoardSnapshotService;
+import com.javabite.app.service.BoardVersions;
 import com.javabite.app.service.OrderService;
+import com.javabite.app.service.StaffDirectory;
+import com.javabite.app.service.StaffRatingService;
 import com.javabite.app.service.UserService;
 import jakarta.annotation.PostConstruct;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.List;
@@ -28,6 +35,9 @@ public class AdminController {
 
     private final UserService userService;
     private final OrderService orderService;
+    private final StaffRatingService staffRatingService;
+    private final BoardSnapshotService boardSnapshotService;
+    private final BoardVersions boardVersions;
 
     @PostMapping("/create-chef")
     public ResponseEntity<ApiResponse> createChef(@Valid @RequestBody CreateChefRequest request) {
@@ -74,15 +84,17 @@ public class AdminController {
     @GetMapping("/staff/chefs")
     public ResponseEntity<ApiResponse> getAllChefs() {
         log.info("🔵 Fetching all chefs");
-        List<User> chefs = userService.getAllChefs();
+        List<StaffDirectory.StaffMember> chefs = userService.getAllChefs();
+        Map<Long, StaffRatingService.StaffRatings> ratings = staffRatingService.getRatings(Role.CHEF);
 
         List<Map<String, Object>> response = chefs.stream()
                 .map(chef -> {
                     Map<String, Object> data = new HashMap<>();
-                    data.put("id", chef.getId());
-                    data.put("name", chef.getName());
-                    data.put("email", chef.getEmail());
-                    data.put("enabled", chef.isEnabled());
+                    data.put("id", chef.id());
+                    data.put("name", chef.name());
+                    data.put("email", chef.email());
+                    data.put("enabled", chef.enabled());
+                    data.put("ratings", ratings.getOrDefault(chef.id(), StaffRatingService.StaffRatings.NONE));
                     return data;
                 })
                 .collect(Collectors.toList());
@@ -94,15 +106,17 @@ public class AdminController {
     @GetMapping("/staff/waiters")
     public ResponseEntity<ApiResponse> getAllWaiters() {
         log.info("🔵 Fetching all waiters");
-        List<User> waiters = userService.getAllWaiters();
+        List<StaffDirectory.StaffMember> waiters = userService.getAllWaiters();
+        Map<Long, StaffRatingService.StaffRatings> ratings = staffRatingService.getRatings(Role.WAITER);
 
         List<Map<String, Object>> response = waiters.stream()
                 .map(waiter -> {
                     Map<String, Object> data = new HashMap<>();
-                    data.put("id", waiter.getId());
-                    data.put("name", waiter.getName());
-                    data.put("email", waiter.getEmail());
-                    data.put("enabled", waiter.isEnabled());
+                    data.put("id", waiter.id());
+                    data.put("name", waiter.name());
+                    data.put("email", waiter.email());
+                    data.put("enabled", waiter.enabled());
+                    data.put("ratings", ratings.getOrDefault(waiter.id(), StaffRatingService.StaffRatings.NONE));
                     return data;
                 })
                 .collect(Collectors.toList());
@@ -297,6 +311,30 @@ public class AdminController {
             return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage()));
         }
     }
+
+    /**
+     * Dashboard stats and pending orders in one round trip.
+     * ETag is the board version; an unchanged board gets 304 without touching the database.
+     * GET /api/admin/board
+     */
+    @GetMapping("/board")
+    public ResponseEntity<ApiResponse> getBoard(WebRequest webRequest) {
+        long version = boardVersions.version(BoardVersions.ADMIN_BOARD);
+        if (webRequest.checkNotModified(boardVersions.etag(BoardVersions.ADMIN_BOARD, version))) {
+            return null;
+        }
+
+        try {
+            Map<String, Object> snapshot = boardSnapshotService.adminBoard(version);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(new ApiResponse(true, "Admin board retrieved", snapshot));
+        } catch (RuntimeException e) {
+            log.error("❌ Failed to get admin board: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
     @PostConstruct
     public void init() {
         log.info("✅ AdminController LOADED - /api/admin endpoints active");
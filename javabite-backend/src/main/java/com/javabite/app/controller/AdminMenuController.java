@@ -4,17 +4,16 @@ import com.javabite.app.model.MenuItem;
 import com.javabite.app.payload.ApiResponse;
 import com.javabite.app.payload.CreateMenuItemRequest;
 import com.javabite.app.payload.MenuItemResponse;
+import com.javabite.app.service.MenuResponseCache;
 import com.javabite.app.service.MenuService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RestController
 @RequestMapping("/api/admin/menu")
 @RequiredArgsConstructor
@@ -24,16 +23,12 @@ import java.util.stream.Collectors;
 public class AdminMenuController {
 
     private final MenuService menuService;
+    private final MenuResponseCache menuResponseCache;
 
     @GetMapping
-    public ResponseEntity<ApiResponse> getAllMenuItems() {
-        List<MenuItem> items = menuService.getAllMenuItems();
-        List<MenuItemResponse> response = items.stream()
-                .map(MenuItemResponse::fromEntity)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(
-                new ApiResponse(true, "Menu items retrieved successfully", response)
-        );
+    public ResponseEntity<byte[]> getAllMenuItems(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return menuResponseCache.respond(null, false, acceptEncoding);
     }
 
     @GetMapping("/{id}")
@@ -81,6 +76,20 @@ public class AdminMenuController {
         }
     }
 
+    @PutMapping("/{id}/toggle")
+    public ResponseEntity<ApiResponse> toggleAvailability(@PathVariable Long id) {
+        try {
+            MenuItem item = menuService.toggleAvailability(id);
+            return ResponseEntity.ok(
+                    new ApiResponse(true, "Menu item availability updated",
+                            MenuItemResponse.fromEntity(item))
+            );
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse> deleteMenuItem(@PathVariable Long id) {
         try {
@@ -2,14 +2,22 @@ package com.javabite.app.controller;
 
 import com.javabite.app.dto.OrderDTO;
 import com.javabite.app.model.Order;
+import com.javabite.app.model.OrderStatus;
 import com.javabite.app.payload.ApiResponse;
+import com.javabite.app.payload.CursorPage;
+import com.javabite.app.payload.OrderHistoryFilter;
+import com.javabite.app.service.OrderEventStreamService;
 import com.javabite.app.service.OrderService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -23,6 +31,7 @@ import java.util.stream.Collectors;
 public class AdminOrderController {
 
     private final OrderService orderService;
+    private final OrderEventStreamService orderEventStreamService;
 
     /**
      * Get all orders (for history page)
@@ -49,6 +58,42 @@ public class AdminOrderController {
         }
     }
 
+    /**
+     * Paginated, filterable order history (newest first)
+     * GET /api/admin/orders/history?status=&from=&to=&chefId=&waiterId=&tableNumber=&cursor=&size=
+     *
+     * Pass the returned nextCursor as cursor to load the next page.
+     */
+    @GetMapping("/history")
+    public ResponseEntity<?> getOrderHistory(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long chefId,
+            @RequestParam(required = false) Long waiterId,
+            @RequestParam(required = false) Integer tableNumber,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "25") int size) {
+        try {
+            OrderHistoryFilter filter = OrderHistoryFilter.builder()
+                    .status(status)
+                    .from(from)
+                    .to(to)
+                    .chefId(chefId)
+                    .waiterId(waiterId)
+                    .tableNumber(tableNumber)
+                    .build();
+
+            CursorPage<OrderDTO> page = orderService.getOrderHistoryPage(filter, cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (RuntimeException e) {
+            log.error("Failed to fetch order history page: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(
+                    new ApiResponse(false, "Failed to fetch order history: " + e.getMessage())
+            );
+        }
+    }
+
     /**
      * Get order by ID with full details
      * GET /api/admin/orders/{orderId}
@@ -179,4 +224,30 @@ public class AdminOrderController {
             throw new RuntimeException("Failed to fetch statistics: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Rebuild order statistics from the database
+     * POST /api/admin/orders/stats/reconcile
+     */
+    @PostMapping("/stats/reconcile")
+    public ResponseEntity<Map<String, Object>> reconcileOrderStatistics() {
+        try {
+            log.info("Admin reconciling order statistics");
+            Map<String, Object> stats = orderService.reconcileOrderStatistics();
+            return ResponseEntity.ok(stats);
+        } catch (Exception e) {
+            log.error("Failed to reconcile order statistics", e);
+            throw new RuntimeException("Failed to reconcile statistics: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Live updates for every order (Server-Sent Events)
+     * GET /api/admin/orders/stream
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrders(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return orderEventStreamService.subscribe(OrderEventStreamService.ADMIN_CHANNEL, lastEventId);
+    }
+}
@@ -0,0 +1,75 @@
+package com.javabite.app.controller;
+
+import com.javabite.app.payload.ApiResponse;
+import com.javabite.app.service.BoardSnapshotService;
+import com.javabite.app.service.BoardVersions;
+import com.javabite.app.service.CustomUserDetails;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Locale;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/boards")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"}, allowCredentials = "true")
+public class BoardController {
+
+    private final BoardSnapshotService boardSnapshotService;
+    private final BoardVersions boardVersions;
+
+    /**
+     * Orders on the caller's board that changed after a version (from a board snapshot or an
+     * earlier call), plus ids of orders that left it. Falls back to the full snapshot
+     * ("full": true) when the version is older than the change log.
+     * Callers can only read the board of their own role.
+     * GET /api/boards/{role}/changes?since={version}
+     */
+    @GetMapping("/{role}/changes")
+    @PreAuthorize("hasRole(#role.toUpperCase(T(java.util.Locale).ROOT))")
+    public ResponseEntity<ApiResponse> getChanges(
+            @PathVariable String role,
+            @RequestParam long since,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        String roleName = role.toUpperCase(Locale.ROOT);
+        try {
+            Long userId = userDetails.getId();
+            Map<String, Object> body = switch (roleName) {
+                case "CHEF" -> {
+                    long version = boardVersions.version(BoardVersions.chefBoard(userId));
+                    Map<String, Object> changes = boardSnapshotService.chefChanges(userId, since);
+                    yield changes != null ? changes : full(boardSnapshotService.chefBoard(userId, version));
+                }
+                case "WAITER" -> {
+                    long version = boardVersions.version(BoardVersions.waiterBoard(userId));
+                    Map<String, Object> changes = boardSnapshotService.waiterChanges(userId, since);
+                    yield changes != null ? changes : full(boardSnapshotService.waiterBoard(userId, version));
+                }
+                case "ADMIN" -> {
+                    long version = boardVersions.version(BoardVersions.ADMIN_BOARD);
+                    Map<String, Object> changes = boardSnapshotService.adminChanges(since);
+                    yield changes != null ? changes : full(boardSnapshotService.adminBoard(version));
+                }
+                default -> throw new RuntimeException("No board for role " + role);
+            };
+
+            boolean isFull = Boolean.TRUE.equals(body.get("full"));
+            return ResponseEntity.ok(new ApiResponse(true,
+                    isFull ? "Board snapshot retrieved" : "Board changes retrieved", body));
+        } catch (RuntimeException e) {
+            log.error("❌ Failed to get {} board changes: {}", role, e.getMessage());
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    private static Map<String, Object> full(Map<String, Object> snapshot) {
+        snapshot.put("full", true);
+        return snapshot;
+    }
+}
@@ -2,10 +2,13 @@ package com.javabite.app.controller;
 
 import com.javabite.app.model.BookingStatus;
 import com.javabite.app.model.TableBooking;
+import com.javabite.app.model.WaitlistEntry;
 import com.javabite.app.payload.ApiResponse;
+import com.javabite.app.payload.AvailabilityGrid;
 import com.javabite.app.payload.CreateBookingRequest;
 import com.javabite.app.service.CustomUserDetails;
 import com.javabite.app.service.TableBookingService;
+import com.javabite.app.service.WaitlistService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +32,7 @@ import java.util.Map;
 public class BookingController {
 
     private final TableBookingService bookingService;
+    private final WaitlistService waitlistService;
 
     // ==================== CUSTOMER ENDPOINTS ====================
     // ✅ CRITICAL: All specific paths MUST come BEFORE /{bookingId}
@@ -96,6 +100,106 @@ public class BookingController {
         }
     }
 
+    /**
+     * Occupancy bitmasks for every time slot over a range of days (one call per calendar view)
+     */
+    @GetMapping("/availability-grid")
+    public ResponseEntity<?> getAvailabilityGrid(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(defaultValue = "14") int days) {
+        try {
+            AvailabilityGrid grid = bookingService.getAvailabilityGrid(from, days);
+            return ResponseEntity.ok(grid);
+        } catch (Exception e) {
+            log.error("❌ Failed to build availability grid: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    /**
+     * Dining room layout: seats and zone per table
+     */
+    @GetMapping("/tables")
+    public ResponseEntity<?> getTables() {
+        return ResponseEntity.ok(bookingService.getTables());
+    }
+
+    /**
+     * Best-fit free table (or adjacent pair) for a party size
+     */
+    @GetMapping("/best-table")
+    public ResponseEntity<?> getBestTable(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam String time,
+            @RequestParam int guests) {
+        try {
+            return bookingService.suggestTable(date, time, guests)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                            .body(new ApiResponse(false, "No free table seats " + guests + " guests at this time")));
+        } catch (RuntimeException e) {
+            log.error("❌ Failed to suggest table: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    // ==================== WAITLIST ====================
+
+    /**
+     * Join the waitlist for a fully booked slot; promoted automatically when a table frees up
+     */
+    @PostMapping("/waitlist")
+    @PreAuthorize("hasRole('CUSTOMER')")
+    public ResponseEntity<?> joinWaitlist(
+            @Valid @RequestBody CreateBookingRequest request,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        try {
+            WaitlistEntry entry = waitlistService.join(userDetails.getId(), request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(Map.of(
+                    "entry", entry,
+                    "message", "You're on the waitlist. We'll book a table and email you as soon as one frees up."
+            ));
+        } catch (RuntimeException e) {
+            log.error("❌ Failed to join waitlist: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    @GetMapping("/waitlist/my")
+    @PreAuthorize("hasRole('CUSTOMER')")
+    public ResponseEntity<?> getMyWaitlist(@AuthenticationPrincipal CustomUserDetails userDetails) {
+        try {
+            List<Map<String, Object>> entries = waitlistService.getCustomerEntries(userDetails.getId()).stream()
+                    .map(entry -> Map.<String, Object>of(
+                            "entry", entry,
+                            "position", waitlistService.position(entry.getId())))
+                    .toList();
+            return ResponseEntity.ok(entries);
+        } catch (RuntimeException e) {
+            log.error("❌ Failed to fetch waitlist: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/waitlist/{entryId}")
+    @PreAuthorize("hasRole('CUSTOMER')")
+    public ResponseEntity<?> leaveWaitlist(
+            @PathVariable Long entryId,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        try {
+            WaitlistEntry entry = waitlistService.leave(entryId, userDetails.getId());
+            return ResponseEntity.ok(entry);
+        } catch (RuntimeException e) {
+            log.error("❌ Failed to leave waitlist: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
     /**
      * Check availability for specific date and time (legacy endpoint)
      */
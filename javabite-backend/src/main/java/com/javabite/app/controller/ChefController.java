@@ -3,16 +3,24 @@ package com.javabite.app.controller;
 import com.javabite.app.model.Order;
 import com.javabite.app.payload.ApiResponse;
 import com.javabite.app.payload.OrderResponse;
+import com.javabite.app.service.BoardSnapshotService;
+import com.javabite.app.service.BoardVersions;
 import com.javabite.app.service.CustomUserDetails;
+import com.javabite.app.service.OrderEventStreamService;
 import com.javabite.app.service.OrderService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -24,6 +32,36 @@ import java.util.stream.Collectors;
 public class ChefController {
 
     private final OrderService orderService;
+    private final OrderEventStreamService orderEventStreamService;
+    private final BoardSnapshotService boardSnapshotService;
+    private final BoardVersions boardVersions;
+
+    /**
+     * Everything the chef dashboard shows, in one round trip.
+     * ETag is the board version; an unchanged board gets 304 without touching the database.
+     * GET /api/chef/board
+     */
+    @GetMapping("/board")
+    public ResponseEntity<ApiResponse> getBoard(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            WebRequest webRequest) {
+        String board = BoardVersions.chefBoard(userDetails.getId());
+        long version = boardVersions.version(board);
+        if (webRequest.checkNotModified(boardVersions.etag(board, version))) {
+            return null;
+        }
+
+        try {
+            Map<String, Object> snapshot = boardSnapshotService.chefBoard(userDetails.getId(), version);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(new ApiResponse(true, "Chef board retrieved", snapshot));
+        } catch (Exception e) {
+            log.error("Error fetching chef board: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
 
     /**
      * FIXED: Get NEW orders (assigned to chef but still PENDING)
@@ -112,4 +150,16 @@ public class ChefController {
                     .body(new ApiResponse(false, e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Live updates for this chef's orders (Server-Sent Events)
+     * GET /api/chef/orders/stream
+     */
+    @GetMapping(value = "/orders/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrders(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        return orderEventStreamService.subscribe(
+                OrderEventStreamService.chefChannel(userDetails.getId()), lastEventId);
+    }
+}
@@ -3,18 +3,23 @@ package com.javabite.app.controller;
 import com.javabite.app.model.Feedback;
 import com.javabite.app.payload.ApiResponse;
 import com.javabite.app.payload.CreateFeedbackRequest;
+import com.javabite.app.payload.CursorPage;
+import com.javabite.app.payload.FeedbackFilter;
 import com.javabite.app.payload.FeedbackResponse;
+import com.javabite.app.payload.FeedbackSummary;
 import com.javabite.app.service.CustomUserDetails;
 import com.javabite.app.service.FeedbackService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -172,6 +177,41 @@ public class FeedbackController {
         }
     }
 
+    /**
+     * Paginated, filterable feedback listing (newest first)
+     * GET /api/feedback/admin/page?rating=&from=&to=&hasComment=&wouldRecommend=&cursor=&size=
+     *
+     * Pass the returned nextCursor as cursor to load the next page.
+     */
+    @GetMapping("/admin/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getFeedbackPage(
+            @RequestParam(required = false) Integer rating,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Boolean hasComment,
+            @RequestParam(required = false) Boolean wouldRecommend,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "25") int size) {
+        try {
+            FeedbackFilter filter = FeedbackFilter.builder()
+                    .rating(rating)
+                    .from(from)
+                    .to(to)
+                    .hasComment(hasComment)
+                    .wouldRecommend(wouldRecommend)
+                    .build();
+
+            CursorPage<FeedbackSummary> page = feedbackService.getFeedbackPage(filter, cursor, size);
+            return ResponseEntity.ok(page);
+
+        } catch (Exception e) {
+            log.error("❌ Failed to get feedback page: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+
     /**
      * Get feedback by rating (Admin)
      * GET /api/feedback/admin/rating/{rating}
@@ -4,13 +4,16 @@ import com.javabite.app.model.Category;
 import com.javabite.app.model.MenuItem;
 import com.javabite.app.payload.ApiResponse;
 import com.javabite.app.payload.MenuItemResponse;
+import com.javabite.app.service.MenuResponseCache;
+import com.javabite.app.service.MenuSearchIndex;
 import com.javabite.app.service.MenuService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/menu")
@@ -19,37 +22,55 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"})
 public class MenuController {
     private final MenuService menuService;
+    private final MenuResponseCache menuResponseCache;
+    private final MenuSearchIndex menuSearchIndex;
 
+    /**
+     * Served from pre-rendered bytes (gzipped when accepted), 304 on a matching If-None-Match
+     */
     @GetMapping
-    public ResponseEntity<ApiResponse> getAllMenuItems() {
-        List<MenuItem> items = menuService.getAvailableMenuItems();
-        List<MenuItemResponse> response = items.stream()
-                .map(MenuItemResponse::fromEntity)
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(
-                new ApiResponse(true, "Menu items retrieved successfully", response)
-        );
+    public ResponseEntity<byte[]> getAllMenuItems(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return menuResponseCache.respond(null, true, acceptEncoding);
     }
 
     @GetMapping("/category/{category}")
-    public ResponseEntity<ApiResponse> getMenuItemsByCategory(@PathVariable String category) {
+    public ResponseEntity<?> getMenuItemsByCategory(
+            @PathVariable String category,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         try {
             Category cat = Category.valueOf(category.toUpperCase());
-            List<MenuItem> items = menuService.getMenuItemsByCategory(cat);
-            List<MenuItemResponse> response = items.stream()
-                    .map(MenuItemResponse::fromEntity)
-                    .collect(Collectors.toList());
-
-            return ResponseEntity.ok(
-                    new ApiResponse(true, "Menu items retrieved successfully", response)
-            );
+            return menuResponseCache.respond(cat, true, acceptEncoding);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, "Invalid category"));
         }
     }
 
+    /**
+     * Ranked search over name, description and category (prefix and typo tolerant)
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse> searchMenuItems(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<MenuItemResponse> results = menuSearchIndex.search(q, true, limit).stream()
+                .map(MenuItemResponse::fromEntity)
+                .toList();
+        return ResponseEntity.ok(new ApiResponse(true, "Search results retrieved successfully", results));
+    }
+
+    /**
+     * Item names for autocomplete
+     */
+    @GetMapping("/search/suggest")
+    public ResponseEntity<ApiResponse> suggestMenuItems(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "8") int limit) {
+        return ResponseEntity.ok(new ApiResponse(true, "Suggestions retrieved successfully",
+                menuSearchIndex.suggest(q, true, limit)));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse> getMenuItemById(@PathVariable Long id) {
         try {
@@ -5,16 +5,23 @@ import com.javabite.app.payload.ApiResponse;
 import com.javabite.app.payload.CreateOrderRequest;
 import com.javabite.app.payload.OrderResponse;
 import com.javabite.app.service.CustomUserDetails;
+import com.javabite.app.service.IdempotencyService;
+import com.javabite.app.service.OrderEventStreamService;
 import com.javabite.app.service.OrderService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
@@ -25,19 +32,45 @@ import java.util.stream.Collectors;
 @PreAuthorize("isAuthenticated()")
 public class OrderController {
     private final OrderService orderService;
+    private final OrderEventStreamService orderEventStreamService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
     @PreAuthorize("hasRole('CUSTOMER')")
     public ResponseEntity<ApiResponse> createOrder(
             @Valid @RequestBody CreateOrderRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @AuthenticationPrincipal CustomUserDetails userDetails) {
         try {
-            Order order = orderService.createOrder(userDetails.getId(), request);
+            // Retry of an earlier submission: return the original order, create nothing
+            if (idempotencyKey != null) {
+                Optional<OrderResponse> replay =
+                        idempotencyService.findReplay(userDetails.getId(), idempotencyKey, request);
+                if (replay.isPresent()) {
+                    return ResponseEntity.status(HttpStatus.CREATED)
+                            .body(new ApiResponse(true, "Order placed successfully", replay.get()));
+                }
+            }
+
+            Order order = orderService.createOrder(userDetails.getId(), request, idempotencyKey);
             OrderResponse response = OrderResponse.fromEntity(order);
 
             log.info("Order created: #{}", order.getId());
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(new ApiResponse(true, "Order placed successfully", response));
+        } catch (DataIntegrityViolationException e) {
+            // Concurrent retry with the same key won the race; its order is the answer
+            if (idempotencyKey != null) {
+                Optional<OrderResponse> replay =
+                        idempotencyService.findReplay(userDetails.getId(), idempotencyKey, request);
+                if (replay.isPresent()) {
+                    return ResponseEntity.status(HttpStatus.CREATED)
+                            .body(new ApiResponse(true, "Order placed successfully", replay.get()));
+                }
+            }
+            log.error("Failed to create order: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Failed to place order"));
         } catch (RuntimeException e) {
             log.error("Failed to create order: {}", e.getMessage());
             return ResponseEntity.badRequest()
@@ -101,4 +134,21 @@ public class OrderController {
                     .body(new ApiResponse(false, e.getMessage()));
         }
     }
+
+    /**
+     * Live updates for one of the customer's orders (Server-Sent Events)
+     * GET /api/orders/{orderId}/stream
+     */
+    @GetMapping(value = "/{orderId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('CUSTOMER')")
+    public SseEmitter streamOrder(
+            @PathVariable Long orderId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        Order order = orderService.getOrderById(orderId);
+        if (!order.getCustomer().getId().equals(userDetails.getId())) {
+            throw new AccessDeniedException("Access denied");
+        }
+        return orderEventStreamService.subscribe(OrderEventStreamService.orderChannel(orderId), lastEventId);
+    }
 }
@@ -10,6 +10,8 @@ import java.time.LocalDateTime;
 public class BookingDTO {
     private Long id;
     private Integer tableNumber;
+    // Second table pushed together with tableNumber for a large party, or null
+    private Integer joinedTableNumber;
     private LocalDate bookingDate;
     private String bookingTime;
     private Integer numberOfGuests;
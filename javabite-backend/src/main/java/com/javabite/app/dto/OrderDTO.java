@@ -134,6 +134,7 @@ public class OrderDTO {
     public static class BookingDTO {
         private Long id;
         private Integer tableNumber;
+        private Integer joinedTableNumber;
         private String status;
         private Integer numberOfGuests;
 
@@ -142,6 +143,7 @@ public class OrderDTO {
             BookingDTO dto = new BookingDTO();
             dto.setId(booking.getId());
             dto.setTableNumber(booking.getTableNumber());
+            dto.setJoinedTableNumber(booking.getJoinedTableNumber());
             dto.setStatus(booking.getStatus().toString());
             dto.setNumberOfGuests(booking.getNumberOfGuests());
             return dto;
@@ -0,0 +1,48 @@
+package com.javabite.app.event;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Outbox events a listener has recently applied, by outbox id.
+ *
+ * OrderOutboxRelay delivers an event again if any listener failed, so listeners that already
+ * handled it see it twice. A listener that is not idempotent (counters, logs) checks
+ * {@link #isNew} first and calls {@link #applied} once it is done; a redelivered event is then
+ * skipped. Ids are kept individually rather than as a high-water mark: outbox ids are handed
+ * out at insert but become visible at commit, so a lower id can legitimately arrive after a
+ * higher one. Only the last MAX_IDS are remembered, far more than can be in flight between a
+ * failure and its retry. Events that did not come from the outbox (no id) are always new.
+ * State is in-memory only: after a restart nothing has been applied yet.
+ */
+public class AppliedOutboxEvents {
+
+    private static final int MAX_IDS = 10_000;
+
+    // Insertion order, so the oldest id is evicted first
+    private final Set<Long> ids = new LinkedHashSet<>();
+
+    public synchronized boolean isNew(OrderEvent event) {
+        return event.getOutboxId() == null || !ids.contains(event.getOutboxId());
+    }
+
+    public synchronized void applied(OrderEvent event) {
+        if (event.getOutboxId() != null) {
+            add(event.getOutboxId());
+        }
+    }
+
+    /**
+     * Events whose effect the listener already has by other means (e.g. a rebuild from the database)
+     */
+    public synchronized void applied(Collection<Long> outboxIds) {
+        outboxIds.forEach(this::add);
+    }
+
+    private void add(Long outboxId) {
+        if (ids.add(outboxId) && ids.size() > MAX_IDS) {
+            ids.remove(ids.iterator().next());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.javabite.app.event;
+
+import com.javabite.app.model.OrderStatus;
+import com.javabite.app.payload.OrderResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Something happened to an order. Recorded by {@link OrderEventPublisher} in the order_outbox
+ * table inside the service transaction; listeners receive it from the outbox relay once the
+ * transaction has committed. Stored as JSON, so every field must round-trip through Jackson.
+ */
+@Getter
+@Builder(toBuilder = true)
+@Jacksonized
+@AllArgsConstructor
+public class OrderEvent {
+    // Id of the order_outbox row it was delivered from (set by the relay, see AppliedOutboxEvents)
+    private final Long outboxId;
+
+    private final Long orderId;
+    private final OrderEventType type;
+
+    private final OrderStatus previousStatus;
+    private final OrderStatus status;
+
+    private final Long customerId;
+    private final Long previousChefId;
+    private final Long chefId;
+    private final Long previousWaiterId;
+    private final Long waiterId;
+
+    private final BigDecimal total;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime chefAssignedAt;
+    private final LocalDateTime waiterAssignedAt;
+    private final LocalDateTime preparationStartedAt;
+    private final LocalDateTime occurredAt;
+
+    // Snapshot of the order as committed, taken while the persistence context was still open
+    private final OrderResponse order;
+}
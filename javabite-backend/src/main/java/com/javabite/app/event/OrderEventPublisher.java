@@ -0,0 +1,103 @@
+package com.javabite.app.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.javabite.app.model.Order;
+import com.javabite.app.model.OrderOutboxEvent;
+import com.javabite.app.model.OrderStatus;
+import com.javabite.app.model.User;
+import com.javabite.app.payload.OrderResponse;
+import com.javabite.app.repository.OrderOutboxRepository;
+import com.javabite.app.scheduler.OrderOutboxRelay;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+/**
+ * Single place where order lifecycle changes are announced.
+ * Call it from inside the transaction that changed the order: the event is written to the
+ * order_outbox table in that transaction, so it exists exactly when the change does, and
+ * {@link OrderOutboxRelay} hands it to the listeners once it has committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderEventPublisher {
+
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final OrderOutboxRelay orderOutboxRelay;
+    private final ObjectMapper objectMapper;
+
+    public void created(Order order) {
+        publish(order, OrderEventType.CREATED, null, null, null);
+    }
+
+    public void statusChanged(Order order, OrderStatus previousStatus) {
+        publish(order, OrderEventType.STATUS_CHANGED, previousStatus, idOf(order.getChef()), idOf(order.getWaiter()));
+    }
+
+    public void chefAssigned(Order order) {
+        publish(order, OrderEventType.CHEF_ASSIGNED, order.getStatus(), null, idOf(order.getWaiter()));
+    }
+
+    public void waiterAssigned(Order order) {
+        publish(order, OrderEventType.WAITER_ASSIGNED, order.getStatus(), idOf(order.getChef()), null);
+    }
+
+    public void staffReassigned(Order order, Long previousChefId, Long previousWaiterId) {
+        publish(order, OrderEventType.STAFF_REASSIGNED, order.getStatus(), previousChefId, previousWaiterId);
+    }
+
+    private void publish(Order order, OrderEventType type, OrderStatus previousStatus,
+                         Long previousChefId, Long previousWaiterId) {
+        OrderEvent event = OrderEvent.builder()
+                .orderId(order.getId())
+                .type(type)
+                .previousStatus(previousStatus)
+                .status(order.getStatus())
+                .customerId(idOf(order.getCustomer()))
+                .previousChefId(previousChefId)
+                .chefId(idOf(order.getChef()))
+                .previousWaiterId(previousWaiterId)
+                .waiterId(idOf(order.getWaiter()))
+                .total(order.getTotal())
+                .createdAt(order.getCreatedAt())
+                .chefAssignedAt(order.getChefAssignedAt())
+                .waiterAssignedAt(order.getWaiterAssignedAt())
+                .preparationStartedAt(order.getPreparationStartedAt())
+                .occurredAt(LocalDateTime.now())
+                .order(OrderResponse.fromEntity(order))
+                .build();
+
+        orderOutboxRepository.save(OrderOutboxEvent.builder()
+                .orderId(order.getId())
+                .eventType(type)
+                .payload(writeEvent(event))
+                .build());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    orderOutboxRelay.wakeUp();
+                }
+            });
+        } else {
+            orderOutboxRelay.wakeUp();
+        }
+    }
+
+    private String writeEvent(OrderEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to store order event", e);
+        }
+    }
+
+    private static Long idOf(User user) {
+        return user != null ? user.getId() : null;
+    }
+}
@@ -0,0 +1,9 @@
+package com.javabite.app.event;
+
+public enum OrderEventType {
+    CREATED,            // Customer placed the order
+    STATUS_CHANGED,     // PENDING → PREPARING → READY → COMPLETED, or CANCELLED
+    CHEF_ASSIGNED,      // Chef set on an order that had none
+    WAITER_ASSIGNED,    // Waiter set on an order that had none
+    STAFF_REASSIGNED    // Admin replaced chef and/or waiter
+}
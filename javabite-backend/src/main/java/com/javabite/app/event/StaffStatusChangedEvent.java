@@ -0,0 +1,16 @@
+package com.javabite.app.event;
+
+import com.javabite.app.model.Role;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A staff member was enabled or disabled by an admin.
+ */
+@Getter
+@AllArgsConstructor
+public class StaffStatusChangedEvent {
+    private final Long userId;
+    private final Role role;
+    private final boolean enabled;
+}
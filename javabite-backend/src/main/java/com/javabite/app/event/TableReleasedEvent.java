@@ -0,0 +1,17 @@
+package com.javabite.app.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * A booking stopped holding its table (cancelled, completed, no-show).
+ */
+@Getter
+@AllArgsConstructor
+public class TableReleasedEvent {
+    private final LocalDate bookingDate;
+    private final String bookingTime;
+    private final Integer tableNumber;
+}
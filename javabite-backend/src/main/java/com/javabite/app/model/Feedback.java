@@ -6,7 +6,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "feedback")
+@Table(name = "feedback", indexes = {
+        // Keyset order of the admin listing (FeedbackRepository.findPage)
+        @Index(name = "idx_feedback_created_at_id", columnList = "created_at, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -46,6 +49,13 @@ public class Feedback {
     @Column(name = "would_recommend")
     private Boolean wouldRecommend;
 
+    // Staff the ratings were counted for (the order's chef / waiter when the feedback was given)
+    @Column(name = "rated_chef_id")
+    private Long ratedChefId;
+
+    @Column(name = "rated_waiter_id")
+    private Long ratedWaiterId;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
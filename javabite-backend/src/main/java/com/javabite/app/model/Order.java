@@ -9,8 +9,21 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Associations are lazy; read paths load what they render with the "Order.detail" graph
+ * (one select with joins) instead of eager fan-out on every query.
+ */
 @Entity
-@Table(name = "orders")
+@NamedEntityGraph(name = Order.DETAIL_GRAPH, attributeNodes = {
+        @NamedAttributeNode("customer"),
+        @NamedAttributeNode("chef"),
+        @NamedAttributeNode("waiter"),
+        @NamedAttributeNode("tableBooking"),
+        @NamedAttributeNode(value = "items", subgraph = "items")
+}, subgraphs = @NamedSubgraph(name = "items", attributeNodes = @NamedAttributeNode("menuItem")))
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_created_at_id", columnList = "created_at, id")
+})
 @Getter
 @Setter
 @Builder
@@ -19,32 +32,34 @@ import java.util.List;
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Order {
 
+    public static final String DETAIL_GRAPH = "Order.detail";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", nullable = false)
     @JsonIgnoreProperties({"password", "orders", "bookings"})
     private User customer;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "table_booking_id")
     @JsonIgnoreProperties({"customer", "user"})
     private TableBooking tableBooking;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "chef_id")
     @JsonIgnoreProperties({"password", "orders"})
     private User chef;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "waiter_id")
     @JsonIgnoreProperties({"password", "orders"})
     private User waiter;
 
     // ✅ Initialize items list
-    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @JsonIgnoreProperties({"order"})
     @Builder.Default
     private List<OrderItem> items = new ArrayList<>();
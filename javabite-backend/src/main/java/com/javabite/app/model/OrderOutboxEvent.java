@@ -0,0 +1,55 @@
+package com.javabite.app.model;
+
+import com.javabite.app.event.OrderEventType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One order lifecycle event, written in the transaction that changed the order and
+ * dispatched to in-process consumers by OrderOutboxRelay once it has committed.
+ */
+@Entity
+@Table(name = "order_outbox",
+        indexes = @Index(name = "idx_order_outbox_dispatched_id", columnList = "dispatched_at, id"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 30)
+    private OrderEventType eventType;
+
+    // OrderEvent as JSON
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // NULL until every consumer has run (or the event was given up on)
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+
+    @Builder.Default
+    @Column(name = "attempts", nullable = false)
+    private int attempts = 0;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
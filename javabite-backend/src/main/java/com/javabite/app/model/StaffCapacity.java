@@ -0,0 +1,33 @@
+package com.javabite.app.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Live capacity counter of a chef or waiter: how many tables they are working on.
+ * Kept out of the users row and only changed with single conditional UPDATEs
+ * (see StaffCapacityRepository), so assignments never lock the staff member's user.
+ */
+@Entity
+@Table(name = "staff_capacity")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StaffCapacity {
+
+    @Id
+    @Column(name = "staff_id")
+    private Long staffId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Role role;
+
+    @Column(name = "max_active_orders", nullable = false)
+    private int maxActiveOrders;
+
+    @Column(name = "active_orders", nullable = false)
+    private int activeOrders;
+}
@@ -0,0 +1,42 @@
+package com.javabite.app.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * One day of feedback ratings for one chef (food rating) or waiter (service rating).
+ * Kept up to date as feedback is created and deleted (see StaffRatingService), so rating
+ * windows are a sum over a few buckets instead of a feedback / orders / users join.
+ */
+@Entity
+@Table(name = "staff_rating_rollups",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"staff_id", "role", "rating_day"}))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StaffRatingRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "staff_id", nullable = false)
+    private Long staffId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Role role;
+
+    @Column(name = "rating_day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+}
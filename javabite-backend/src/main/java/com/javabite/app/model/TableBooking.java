@@ -9,7 +9,14 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 
+/**
+ * customer / user are lazy; paths that render them load the "TableBooking.customer" graph.
+ */
 @Entity
+@NamedEntityGraph(name = TableBooking.CUSTOMER_GRAPH, attributeNodes = {
+        @NamedAttributeNode("customer"),
+        @NamedAttributeNode("user")
+})
 @Table(name = "table_bookings")
 @Getter
 @Setter
@@ -19,19 +26,21 @@ import java.time.LocalTime;
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class TableBooking {
 
+    public static final String CUSTOMER_GRAPH = "TableBooking.customer";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     // ✅ FIX: Map customer_id column
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", nullable = false)
     @JsonIgnoreProperties({"password", "orders", "bookings"})
     private User customer;
 
     // ✅ FIX: Map user_id column (same as customer, for backward compatibility)
     // We'll set this in @PrePersist to always equal customer
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     @JsonIgnoreProperties({"password", "orders", "bookings"})
     private User user;
@@ -48,6 +57,10 @@ public class TableBooking {
     @Column(name = "table_number")
     private Integer tableNumber;
 
+    // Second table pushed together with tableNumber for a large party (adjacent, same zone)
+    @Column(name = "joined_table_number")
+    private Integer joinedTableNumber;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private BookingStatus status = BookingStatus.CONFIRMED;
@@ -111,6 +124,53 @@ public class TableBooking {
         updatedAt = LocalDateTime.now();
     }
 
+    /**
+     * table_slot_locks key ("{date}|{time}|{table}") of the table this booking holds, null unless
+     * it is CONFIRMED / ACTIVE. The lock row is the only database guard against double booking.
+     */
+    public String currentSlotKey() {
+        boolean holdsTable = status == BookingStatus.CONFIRMED || status == BookingStatus.ACTIVE;
+        if (!holdsTable || tableNumber == null || bookingDate == null || bookingTime == null) {
+            return null;
+        }
+        return slotKeyFor(bookingDate, bookingTime, tableNumber);
+    }
+
+    public String currentJoinedSlotKey() {
+        if (joinedTableNumber == null || currentSlotKey() == null) {
+            return null;
+        }
+        return slotKeyFor(bookingDate, bookingTime, joinedTableNumber);
+    }
+
+    /**
+     * Whether the booking, as it is now, still holds this table_slot_locks key
+     */
+    public boolean holdsSlotKey(String slotKey) {
+        return slotKey.equals(currentSlotKey()) || slotKey.equals(currentJoinedSlotKey());
+    }
+
+    public static String slotKeyFor(LocalDate date, String time, Integer tableNumber) {
+        return date + "|" + normalizeTime(time) + "|" + tableNumber;
+    }
+
+    /**
+     * "18:00" and "18:00:00" name the same slot
+     */
+    public static String normalizeTime(String time) {
+        // Already "HH:mm" (the common case) - skip parsing
+        if (time.length() == 5 && time.charAt(2) == ':'
+                && Character.isDigit(time.charAt(0)) && Character.isDigit(time.charAt(1))
+                && Character.isDigit(time.charAt(3)) && Character.isDigit(time.charAt(4))) {
+            return time;
+        }
+        try {
+            return LocalTime.parse(time.trim()).toString();
+        } catch (java.time.format.DateTimeParseException e) {
+            return time.trim();
+        }
+    }
+
     // ============================================
     // BUSINESS LOGIC METHODS
     // ============================================
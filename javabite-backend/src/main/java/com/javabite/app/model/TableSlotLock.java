@@ -0,0 +1,33 @@
+package com.javabite.app.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One row per table per slot held by a booking ("{date}|{time}|{table}"), whether the booking
+ * uses the table alone or joined with a neighbour. The unique slot_key is what stops two nodes
+ * from committing the same table for the same slot in any combination.
+ *
+ * Rows are not deleted when a booking is cancelled or completed; a row whose booking no longer
+ * holds that key is stale and is removed by the next booking that wants the key.
+ */
+@Entity
+@Table(name = "table_slot_locks",
+        uniqueConstraints = @UniqueConstraint(name = "uk_table_slot_lock_key", columnNames = "slot_key"),
+        indexes = @Index(name = "idx_table_slot_lock_booking", columnList = "booking_id"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TableSlotLock {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "slot_key", nullable = false, length = 40)
+    private String slotKey;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+}
@@ -35,9 +35,6 @@ public class User {
     @Column(name = "max_active_orders")
     private Integer maxActiveOrders = 10;
 
-    @Column(name = "current_active_orders")
-    private Integer currentActiveOrders = 0;
-
     @Column(name = "is_available")
     private Boolean isAvailable = true;
 
@@ -62,21 +59,4 @@ public class User {
             createdAt = LocalDateTime.now();
         }
     }
-
-    // Helper methods
-    public void incrementActiveOrders() {
-        this.currentActiveOrders++;
-    }
-
-    public void decrementActiveOrders() {
-        if (this.currentActiveOrders > 0) {
-            this.currentActiveOrders--;
-        }
-    }
-
-    public boolean canAcceptOrder() {
-        return this.enabled &&
-                this.isAvailable &&
-                this.currentActiveOrders < this.maxActiveOrders;
-    }
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.javabite.app.model;
+
+public enum WaitlistStatus {
+    WAITING,     // Queued for a full slot
+    PROMOTED,    // A table freed up and was booked for the customer
+    LEFT,        // Customer left the waitlist
+    EXPIRED      // Slot passed without a table freeing up
+}
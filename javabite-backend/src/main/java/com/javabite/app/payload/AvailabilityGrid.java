@@ -0,0 +1,27 @@
+package com.javabite.app.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Table occupancy for a range of days.
+ * {@code occupancy.get(date)[i]} is the bitmask for {@code timeSlots.get(i)}:
+ * bit (table - 1) set = table booked.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityGrid {
+    private LocalDate from;
+    private int days;
+    private int totalTables;
+    private List<String> timeSlots;
+    private Map<LocalDate, long[]> occupancy;
+}
@@ -21,8 +21,11 @@ public class CreateBookingRequest {
     @Max(value = 20, message = "Maximum 20 guests allowed")
     private Integer numberOfGuests;
 
-    // ✅ NEW: Customer's selected table number
+    // ✅ NEW: Customer's selected table number (null = best-fit table for the party)
     private Integer tableNumber;
 
+    // Adjacent table to push together with tableNumber for a large party
+    private Integer joinedTableNumber;
+
     private String specialRequests;
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.javabite.app.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Server-side filters for the admin feedback listing. Null fields are ignored.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackFilter {
+    private Integer rating;          // overall rating, 1-5
+    private LocalDate from;          // inclusive
+    private LocalDate to;            // inclusive
+    private Boolean hasComment;
+    private Boolean wouldRecommend;
+}
@@ -0,0 +1,32 @@
+package com.javabite.app.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat feedback row for the admin listing, selected column by column
+ * (see FeedbackRepository.findPage) so no Feedback, Order or User entity is loaded.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackSummary {
+    private Long id;
+    private Long orderId;
+    private Long customerId;
+    private String customerName;
+    private Integer overallRating;
+    private Integer foodRating;
+    private Integer serviceRating;
+    private Integer ambianceRating;
+    private Integer valueRating;
+    private String comment;
+    private Boolean wouldRecommend;
+    private LocalDateTime createdAt;
+    private BigDecimal orderTotal;
+    private Integer itemCount;
+}
@@ -0,0 +1,25 @@
+package com.javabite.app.payload;
+
+import com.javabite.app.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Server-side filters for the admin order history. Null fields are ignored.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderHistoryFilter {
+    private OrderStatus status;
+    private LocalDate from;      // inclusive
+    private LocalDate to;        // inclusive
+    private Long chefId;
+    private Long waiterId;
+    private Integer tableNumber;
+}
@@ -0,0 +1,27 @@
+package com.javabite.app.payload;
+
+import com.javabite.app.event.OrderEventType;
+import com.javabite.app.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data of one server-sent order event. {@code order} is the full order after the change,
+ * so dashboards can update in place without refetching.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStreamEvent {
+    private OrderEventType type;
+    private OrderStatus previousStatus;
+    private Long previousChefId;
+    private Long previousWaiterId;
+    private LocalDateTime occurredAt;
+    private OrderResponse order;
+}
@@ -3,7 +3,9 @@ package com.javabite.app.repository;
 import com.javabite.app.model.ChefQueue;
 import com.javabite.app.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -20,4 +22,12 @@ public interface ChefQueueRepository extends JpaRepository<ChefQueue, Long> {
 
     @Query("SELECT MAX(c.queuePosition) FROM ChefQueue c")
     Integer findMaxQueuePosition();
-}
\ No newline at end of file
+
+    // Write-behind journal of KitchenDispatchEngine: [orderId, chefId, queuePosition, createdAt]
+    @Query("SELECT c.order.id, c.chef.id, c.queuePosition, c.createdAt FROM ChefQueue c")
+    List<Object[]> findAllEntries();
+
+    @Modifying
+    @Query("DELETE FROM ChefQueue c WHERE c.order.id = :orderId")
+    int deleteByOrderId(@Param("orderId") Long orderId);
+}
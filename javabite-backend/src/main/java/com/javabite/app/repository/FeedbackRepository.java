@@ -2,10 +2,15 @@
 package com.javabite.app.repository;
 
 import com.javabite.app.model.Feedback;
+import com.javabite.app.payload.FeedbackSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,37 +21,71 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
     boolean existsByOrderId(Long orderId);
 
     // Get feedback by order
+    @EntityGraph(attributePaths = {"customer", "order", "order.items"})
     Optional<Feedback> findByOrderId(Long orderId);
 
     // Get all feedback by customer
+    @EntityGraph(attributePaths = {"customer", "order", "order.items"})
     List<Feedback> findByCustomerIdOrderByCreatedAtDesc(Long customerId);
 
     // Get feedback by rating
+    @EntityGraph(attributePaths = {"customer", "order", "order.items"})
     List<Feedback> findByOverallRatingOrderByCreatedAtDesc(Integer rating);
 
     // Get all feedback ordered by date
+    @EntityGraph(attributePaths = {"customer", "order", "order.items"})
     List<Feedback> findAllByOrderByCreatedAtDesc();
 
-    // Count by rating
-    Long countByOverallRating(Integer rating);
-
-    // Get average overall rating
-    @Query("SELECT AVG(f.overallRating) FROM Feedback f")
-    Double getAverageOverallRating();
-
-    // Get average ratings for each category
-    @Query("SELECT AVG(f.foodRating) FROM Feedback f WHERE f.foodRating IS NOT NULL")
-    Double getAverageFoodRating();
-
-    @Query("SELECT AVG(f.serviceRating) FROM Feedback f WHERE f.serviceRating IS NOT NULL")
-    Double getAverageServiceRating();
-
-    @Query("SELECT AVG(f.ambianceRating) FROM Feedback f WHERE f.ambianceRating IS NOT NULL")
-    Double getAverageAmbianceRating();
-
-    @Query("SELECT AVG(f.valueRating) FROM Feedback f WHERE f.valueRating IS NOT NULL")
-    Double getAverageValueRating();
-
-    // Count recommendations
-    Long countByWouldRecommend(Boolean wouldRecommend);
-}
\ No newline at end of file
+    /**
+     * Statistics in one pass, one row per overall rating:
+     * [overallRating, count, then sum and count of food, service, ambiance and value ratings,
+     * would recommend, would not recommend]
+     */
+    @Query("SELECT f.overallRating, COUNT(f), " +
+            "SUM(f.foodRating), COUNT(f.foodRating), " +
+            "SUM(f.serviceRating), COUNT(f.serviceRating), " +
+            "SUM(f.ambianceRating), COUNT(f.ambianceRating), " +
+            "SUM(f.valueRating), COUNT(f.valueRating), " +
+            "SUM(CASE WHEN f.wouldRecommend = true THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN f.wouldRecommend = false THEN 1 ELSE 0 END) " +
+            "FROM Feedback f GROUP BY f.overallRating")
+    List<Object[]> aggregateByOverallRating();
+
+    /**
+     * Staff ratings of every feedback, for rebuilding rollups: [chefId, waiterId, foodRating, serviceRating, createdAt].
+     * Feedback given before the rated staff were recorded falls back to the order's staff.
+     */
+    @Query("SELECT COALESCE(f.ratedChefId, c.id), COALESCE(f.ratedWaiterId, w.id), " +
+            "f.foodRating, f.serviceRating, f.createdAt " +
+            "FROM Feedback f JOIN f.order o LEFT JOIN o.chef c LEFT JOIN o.waiter w")
+    List<Object[]> findStaffRatings();
+
+    /**
+     * One page of the admin listing, newest first, strictly after the (createdAt, id) cursor.
+     * Pass null for any filter (or the cursor) to ignore it.
+     */
+    @Query("SELECT new com.javabite.app.payload.FeedbackSummary(" +
+            "f.id, o.id, c.id, c.name, f.overallRating, f.foodRating, f.serviceRating, " +
+            "f.ambianceRating, f.valueRating, f.comment, f.wouldRecommend, f.createdAt, " +
+            "COALESCE(o.subtotal, 0) + COALESCE(o.tax, 0) - COALESCE(o.discount, 0), SIZE(o.items)) " +
+            "FROM Feedback f JOIN f.order o JOIN f.customer c WHERE " +
+            "(:rating IS NULL OR f.overallRating = :rating) " +
+            "AND (:from IS NULL OR f.createdAt >= :from) " +
+            "AND (:to IS NULL OR f.createdAt < :to) " +
+            "AND (:hasComment IS NULL " +
+            "OR (:hasComment = true AND f.comment IS NOT NULL AND f.comment <> '') " +
+            "OR (:hasComment = false AND (f.comment IS NULL OR f.comment = ''))) " +
+            "AND (:wouldRecommend IS NULL OR f.wouldRecommend = :wouldRecommend) " +
+            "AND (:cursorCreatedAt IS NULL OR f.createdAt < :cursorCreatedAt " +
+            "OR (f.createdAt = :cursorCreatedAt AND f.id < :cursorId)) " +
+            "ORDER BY f.createdAt DESC, f.id DESC")
+    List<FeedbackSummary> findPage(
+            @Param("rating") Integer rating,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("hasComment") Boolean hasComment,
+            @Param("wouldRecommend") Boolean wouldRecommend,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable);
+}
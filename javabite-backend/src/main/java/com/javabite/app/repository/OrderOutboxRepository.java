@@ -0,0 +1,35 @@
+package com.javabite.app.repository;
+
+import com.javabite.app.model.OrderOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OrderOutboxRepository extends JpaRepository<OrderOutboxEvent, Long> {
+
+    // Oldest undispatched events first
+    List<OrderOutboxEvent> findByDispatchedAtIsNullOrderByIdAsc(Pageable pageable);
+
+    // Ids of events committed but not delivered yet
+    @Query("SELECT e.id FROM OrderOutboxEvent e WHERE e.dispatchedAt IS NULL")
+    List<Long> findUndispatchedIds();
+
+    @Modifying
+    @Query("UPDATE OrderOutboxEvent e SET e.dispatchedAt = :now WHERE e.id = :id")
+    int markDispatched(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE OrderOutboxEvent e SET e.attempts = e.attempts + 1, e.lastError = :error WHERE e.id = :id")
+    int recordFailure(@Param("id") Long id, @Param("error") String error);
+
+    @Modifying
+    @Query("DELETE FROM OrderOutboxEvent e WHERE e.dispatchedAt < :cutoff")
+    int deleteDispatchedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -4,35 +4,130 @@ import com.javabite.app.model.Order;
 import com.javabite.app.model.OrderStatus;
 import com.javabite.app.model.TableBooking;
 import com.javabite.app.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
-    // Customer methods
+    // Associations are lazy: findById loads the row only (write paths), reads that render
+    // an order fetch what they map in the same select
+
+    /**
+     * findById plus everything OrderResponse / OrderDTO map, for paths that return or publish the order
+     */
+    @EntityGraph(Order.DETAIL_GRAPH)
+    Optional<Order> findDetailedById(Long id);
+
+    // Customer methods (the customer is the caller, already loaded)
+    @EntityGraph(attributePaths = {"chef", "waiter", "tableBooking", "items.menuItem"})
     List<Order> findByCustomerOrderByCreatedAtDesc(User customer);
+    @EntityGraph(Order.DETAIL_GRAPH)
     List<Order> findAllByOrderByCreatedAtDesc();
 
     // Admin methods
+    @EntityGraph(Order.DETAIL_GRAPH)
     List<Order> findByStatusAndChefIsNull(OrderStatus status);
 
-    // Table booking methods
+    // Orders still missing a chef or waiter, oldest first (auto-assignment candidates)
+    @Query("SELECT o.id FROM Order o WHERE o.status IN :statuses " +
+            "AND (o.chef IS NULL OR o.waiter IS NULL) AND o.createdAt < :createdBefore " +
+            "ORDER BY o.createdAt ASC")
+    List<Long> findUnstaffedOrderIds(@Param("statuses") Collection<OrderStatus> statuses,
+                                     @Param("createdBefore") LocalDateTime createdBefore);
+
+    // Table booking methods: plain for capacity / status checks, detailed when every order is published
     List<Order> findByTableBooking(TableBooking tableBooking);
+    @EntityGraph(Order.DETAIL_GRAPH)
+    List<Order> findDetailedByTableBooking(TableBooking tableBooking);
 
-    // Chef methods
+    // Chef board methods (the chef is the board's own user, one row shared by every order)
+    @EntityGraph(attributePaths = {"customer", "waiter", "tableBooking", "items.menuItem"})
     List<Order> findByChefAndStatus(User chef, OrderStatus status);
+    @EntityGraph(attributePaths = {"customer", "waiter", "tableBooking", "items.menuItem"})
+    List<Order> findByChefAndStatusInOrderByCreatedAtAsc(User chef, Collection<OrderStatus> statuses);
+    @EntityGraph(attributePaths = {"customer", "waiter", "tableBooking", "items.menuItem"})
     List<Order> findByChefAndStatusAndCompletedAtBetween(
             User chef, OrderStatus status, LocalDateTime start, LocalDateTime end);
 
-    // Waiter methods
+    // Waiter board methods (likewise without the waiter)
+    @EntityGraph(attributePaths = {"customer", "chef", "tableBooking", "items.menuItem"})
     List<Order> findByWaiterAndStatus(User waiter, OrderStatus status);
-    List<Order> findByWaiter(User waiter);
+    @EntityGraph(attributePaths = {"customer", "chef", "tableBooking", "items.menuItem"})
+    List<Order> findByWaiterAndStatusInOrderByCreatedAtAsc(User waiter, Collection<OrderStatus> statuses);
 
     // Count methods for dashboard
     Long countByStatus(OrderStatus status);
     Long countByStatusAndCompletedAtAfter(OrderStatus status, LocalDateTime after);
+
+    /**
+     * Per-status rollup in one pass: [status, count, sum of totals, sum of totals created since dayStart].
+     * Total mirrors Order.getTotal(): subtotal + tax - discount.
+     */
+    @Query("SELECT o.status, COUNT(o), " +
+            "SUM(COALESCE(o.subtotal, 0) + COALESCE(o.tax, 0) - COALESCE(o.discount, 0)), " +
+            "SUM(CASE WHEN o.createdAt >= :dayStart " +
+            "THEN COALESCE(o.subtotal, 0) + COALESCE(o.tax, 0) - COALESCE(o.discount, 0) ELSE 0 END) " +
+            "FROM Order o GROUP BY o.status")
+    List<Object[]> aggregateByStatus(@Param("dayStart") LocalDateTime dayStart);
+
+    /**
+     * Chef work for capacity reconciliation: [chefId, bookingId, orderId] of their orders in the given statuses
+     */
+    @Query("SELECT o.chef.id, o.tableBooking.id, o.id FROM Order o " +
+            "WHERE o.chef IS NOT NULL AND o.status IN :statuses")
+    List<Object[]> findChefWork(@Param("statuses") Collection<OrderStatus> statuses);
+
+    /**
+     * Waiter work for capacity reconciliation: [waiterId, bookingId, orderId] of their orders in the given statuses
+     */
+    @Query("SELECT o.waiter.id, o.tableBooking.id, o.id FROM Order o " +
+            "WHERE o.waiter IS NOT NULL AND o.status IN :statuses")
+    List<Object[]> findWaiterWork(@Param("statuses") Collection<OrderStatus> statuses);
+
+    // ============================================
+    // ADMIN HISTORY (keyset pagination)
+    // ============================================
+
+    /**
+     * One page of order ids, newest first, strictly after the (createdAt, id) cursor.
+     * Pass null for any filter (or the cursor) to ignore it.
+     */
+    @Query("SELECT o.id FROM Order o LEFT JOIN o.tableBooking b WHERE " +
+            "(:status IS NULL OR o.status = :status) " +
+            "AND (:from IS NULL OR o.createdAt >= :from) " +
+            "AND (:to IS NULL OR o.createdAt < :to) " +
+            "AND (:chefId IS NULL OR o.chef.id = :chefId) " +
+            "AND (:waiterId IS NULL OR o.waiter.id = :waiterId) " +
+            "AND (:tableNumber IS NULL OR b.tableNumber = :tableNumber) " +
+            "AND (:cursorCreatedAt IS NULL OR o.createdAt < :cursorCreatedAt " +
+            "OR (o.createdAt = :cursorCreatedAt AND o.id < :cursorId)) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Long> findHistoryPageIds(
+            @Param("status") OrderStatus status,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("chefId") Long chefId,
+            @Param("waiterId") Long waiterId,
+            @Param("tableNumber") Integer tableNumber,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
+    );
+
+    /**
+     * Load a page of orders with everything the history view renders in a single select
+     * (OrderDTO maps every association: customer, staff, booking, items and their menu items)
+     */
+    @EntityGraph(Order.DETAIL_GRAPH)
+    List<Order> findByIdIn(Collection<Long> ids);
 }
\ No newline at end of file
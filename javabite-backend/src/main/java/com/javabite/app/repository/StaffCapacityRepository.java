@@ -0,0 +1,51 @@
+package com.javabite.app.repository;
+
+import com.javabite.app.model.Role;
+import com.javabite.app.model.StaffCapacity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface StaffCapacityRepository extends JpaRepository<StaffCapacity, Long> {
+
+    // Insert-only (save() would merge and could reset a counter created concurrently);
+    // a counter created concurrently is kept, so this never fails the caller's transaction
+    @Modifying
+    @Query("INSERT INTO StaffCapacity (staffId, role, maxActiveOrders, activeOrders) " +
+            "VALUES (:staffId, :role, :max, 0) ON CONFLICT DO NOTHING")
+    int create(@Param("staffId") Long staffId, @Param("role") Role role, @Param("max") int max);
+
+    // Take one unit only if below max - 0 rows means at capacity (or no counter yet)
+    @Modifying
+    @Query("UPDATE StaffCapacity c SET c.activeOrders = c.activeOrders + 1 " +
+            "WHERE c.staffId = :staffId AND c.activeOrders < c.maxActiveOrders")
+    int incrementIfBelowMax(@Param("staffId") Long staffId);
+
+    // Admin override: take one unit even at capacity
+    @Modifying
+    @Query("UPDATE StaffCapacity c SET c.activeOrders = c.activeOrders + 1 WHERE c.staffId = :staffId")
+    int increment(@Param("staffId") Long staffId);
+
+    @Modifying
+    @Query("UPDATE StaffCapacity c SET c.activeOrders = c.activeOrders - 1 " +
+            "WHERE c.staffId = :staffId AND c.activeOrders > 0")
+    int decrement(@Param("staffId") Long staffId);
+
+    // Drift correction - applied only if nobody changed the counter since it was read
+    @Modifying
+    @Query("UPDATE StaffCapacity c SET c.activeOrders = :actual " +
+            "WHERE c.staffId = :staffId AND c.activeOrders = :observed")
+    int correct(@Param("staffId") Long staffId, @Param("observed") int observed, @Param("actual") int actual);
+
+    @Modifying
+    @Query("UPDATE StaffCapacity c SET c.maxActiveOrders = :max WHERE c.staffId = :staffId")
+    int updateMax(@Param("staffId") Long staffId, @Param("max") int max);
+
+    @Query("SELECT c.activeOrders FROM StaffCapacity c WHERE c.staffId = :staffId")
+    Optional<Integer> findActiveOrders(@Param("staffId") Long staffId);
+}
@@ -0,0 +1,39 @@
+package com.javabite.app.repository;
+
+import com.javabite.app.model.Role;
+import com.javabite.app.model.StaffRatingRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface StaffRatingRollupRepository extends JpaRepository<StaffRatingRollup, Long> {
+
+    // Create the bucket or add to it in one statement (no gap lock held ahead of a separate insert)
+    @Modifying
+    @Query("INSERT INTO StaffRatingRollup (staffId, role, day, ratingSum, ratingCount) " +
+            "VALUES (:staffId, :role, :day, :sum, :count) " +
+            "ON CONFLICT (staffId, role, day) DO UPDATE SET " +
+            "ratingSum = ratingSum + excluded.ratingSum, ratingCount = ratingCount + excluded.ratingCount")
+    int adjust(@Param("staffId") Long staffId, @Param("role") Role role, @Param("day") LocalDate day,
+               @Param("sum") long sum, @Param("count") long count);
+
+    /**
+     * Rating windows per staff member of a role:
+     * [staffId, sum and count since last7, sum and count since last30, sum and count all time]
+     */
+    @Query("SELECT r.staffId, " +
+            "SUM(CASE WHEN r.day >= :last7 THEN r.ratingSum ELSE 0 END), " +
+            "SUM(CASE WHEN r.day >= :last7 THEN r.ratingCount ELSE 0 END), " +
+            "SUM(CASE WHEN r.day >= :last30 THEN r.ratingSum ELSE 0 END), " +
+            "SUM(CASE WHEN r.day >= :last30 THEN r.ratingCount ELSE 0 END), " +
+            "SUM(r.ratingSum), SUM(r.ratingCount) " +
+            "FROM StaffRatingRollup r WHERE r.role = :role GROUP BY r.staffId")
+    List<Object[]> summarize(@Param("role") Role role,
+                             @Param("last7") LocalDate last7, @Param("last30") LocalDate last30);
+}
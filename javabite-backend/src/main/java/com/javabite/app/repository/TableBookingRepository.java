@@ -2,6 +2,7 @@ package com.javabite.app.repository;
 
 import com.javabite.app.model.BookingStatus;
 import com.javabite.app.model.TableBooking;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -9,10 +10,20 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TableBookingRepository extends JpaRepository<TableBooking, Long> {
 
+    // Bookings are rendered with their customer, so the by-id and list reads fetch it in the same select
+    @Override
+    @EntityGraph(TableBooking.CUSTOMER_GRAPH)
+    Optional<TableBooking> findById(Long id);
+
+    @Override
+    @EntityGraph(TableBooking.CUSTOMER_GRAPH)
+    List<TableBooking> findAll();
+
     // ============================================
     // CUSTOMER QUERIES (using customer.id)
     // ============================================
@@ -20,6 +31,7 @@ public interface TableBookingRepository extends JpaRepository<TableBooking, Long
     /**
      * Find bookings by customer ID, ordered by date/time descending
      */
+    @EntityGraph(TableBooking.CUSTOMER_GRAPH)
     List<TableBooking> findByCustomer_IdOrderByBookingDateDescBookingTimeDesc(Long customerId);
 
     // ============================================
@@ -29,11 +41,13 @@ public interface TableBookingRepository extends JpaRepository<TableBooking, Long
     /**
      * Find bookings by date
      */
+    @EntityGraph(TableBooking.CUSTOMER_GRAPH)
     List<TableBooking> findByBookingDate(LocalDate date);
 
     /**
      * Find bookings by status
      */
+    @EntityGraph(TableBooking.CUSTOMER_GRAPH)
     List<TableBooking> findByStatus(BookingStatus status);
 
     /**
@@ -55,10 +69,27 @@ public interface TableBookingRepository extends JpaRepository<TableBooking, Long
             @Param("time") String time
     );
 
+    /**
+     * Tables held by CONFIRMED / ACTIVE bookings: [bookingDate, bookingTime, tableNumber, joinedTableNumber]
+     * (rebuilds TableAvailabilityIndex)
+     */
+    @Query("SELECT b.bookingDate, b.bookingTime, b.tableNumber, b.joinedTableNumber FROM TableBooking b " +
+            "WHERE b.tableNumber IS NOT NULL AND (b.status = 'CONFIRMED' OR b.status = 'ACTIVE')")
+    List<Object[]> findOccupiedSlots();
+
+    /**
+     * Bookings holding a table but without table_slot_locks rows (startup backfill)
+     */
+    @Query("SELECT b FROM TableBooking b WHERE b.tableNumber IS NOT NULL " +
+            "AND (b.status = 'CONFIRMED' OR b.status = 'ACTIVE') AND NOT EXISTS (" +
+            "SELECT l.id FROM TableSlotLock l WHERE l.bookingId = b.id)")
+    List<TableBooking> findHoldingWithoutTableLocks();
+
     /**
      * Find bookings by table number, date, and status
      * Note: Pass null for tableNumber to get all tables for that date/status
      */
+    @EntityGraph(TableBooking.CUSTOMER_GRAPH)
     @Query("SELECT b FROM TableBooking b WHERE " +
             "(:tableNumber IS NULL OR b.tableNumber = :tableNumber) " +
             "AND b.bookingDate = :date " +
@@ -76,12 +107,14 @@ public interface TableBookingRepository extends JpaRepository<TableBooking, Long
     /**
      * Find bookings with pending refunds
      */
+    @EntityGraph(TableBooking.CUSTOMER_GRAPH)
     @Query("SELECT b FROM TableBooking b WHERE b.refundStatus = 'PENDING' ORDER BY b.cancelledAt ASC")
     List<TableBooking> findPendingRefunds();
 
     /**
      * Find cancelled bookings with refunds
      */
+    @EntityGraph(TableBooking.CUSTOMER_GRAPH)
     @Query("SELECT b FROM TableBooking b WHERE b.status = 'CANCELLED' " +
             "AND b.refundStatus IN ('PENDING', 'COMPLETED') " +
             "ORDER BY b.cancelledAt DESC")
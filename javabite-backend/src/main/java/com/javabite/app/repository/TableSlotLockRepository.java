@@ -0,0 +1,15 @@
+package com.javabite.app.repository;
+
+import com.javabite.app.model.TableSlotLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TableSlotLockRepository extends JpaRepository<TableSlotLock, Long> {
+
+    // Plain read, so it takes no gap locks
+    List<TableSlotLock> findBySlotKeyIn(Collection<String> slotKeys);
+}
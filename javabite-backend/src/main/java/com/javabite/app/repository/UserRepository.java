@@ -20,4 +20,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByRoleAndEnabled(Role role, boolean enabled);
 
     Long countByRoleAndEnabled(Role role, boolean enabled);
+
+    List<User> findByRoleIn(List<Role> roles);
+
+    List<User> findByInvitationTokenIsNotNullAndInvitationAcceptedAtIsNullOrderByInvitationSentAtDesc();
 }
\ No newline at end of file
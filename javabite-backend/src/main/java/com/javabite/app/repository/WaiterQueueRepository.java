@@ -3,7 +3,9 @@ package com.javabite.app.repository;
 import com.javabite.app.model.WaiterQueue;
 import com.javabite.app.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -20,4 +22,12 @@ public interface WaiterQueueRepository extends JpaRepository<WaiterQueue, Long>
 
     @Query("SELECT MAX(w.queuePosition) FROM WaiterQueue w")
     Integer findMaxQueuePosition();
-}
\ No newline at end of file
+
+    // Write-behind journal of KitchenDispatchEngine: [orderId, waiterId, queuePosition, createdAt]
+    @Query("SELECT w.order.id, w.waiter.id, w.queuePosition, w.createdAt FROM WaiterQueue w")
+    List<Object[]> findAllEntries();
+
+    @Modifying
+    @Query("DELETE FROM WaiterQueue w WHERE w.order.id = :orderId")
+    int deleteByOrderId(@Param("orderId") Long orderId);
+}
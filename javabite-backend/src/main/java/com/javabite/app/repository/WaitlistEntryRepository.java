@@ -0,0 +1,30 @@
+package com.javabite.app.repository;
+
+import com.javabite.app.model.WaitlistEntry;
+import com.javabite.app.model.WaitlistStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    /**
+     * Entries still waiting for today or later (rebuilds the in-memory waitlist)
+     */
+    List<WaitlistEntry> findByStatusAndBookingDateGreaterThanEqual(WaitlistStatus status, LocalDate date);
+
+    List<WaitlistEntry> findByCustomer_IdOrderByCreatedAtDesc(Long customerId);
+
+    boolean existsByCustomer_IdAndBookingDateAndBookingTimeAndStatus(
+            Long customerId, LocalDate bookingDate, String bookingTime, WaitlistStatus status);
+
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = 'EXPIRED' WHERE w.status = 'WAITING' AND w.bookingDate < :today")
+    int expireBefore(@Param("today") LocalDate today);
+}
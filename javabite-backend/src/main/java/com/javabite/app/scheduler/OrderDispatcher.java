@@ -0,0 +1,238 @@
+package com.javabite.app.scheduler;
+
+import com.javabite.app.event.OrderEvent;
+import com.javabite.app.event.StaffStatusChangedEvent;
+import com.javabite.app.model.Order;
+import com.javabite.app.model.OrderStatus;
+import com.javabite.app.model.Role;
+import com.javabite.app.service.OrderService;
+import com.javabite.app.service.StaffDirectory;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Event-driven auto-assignment (replaces the 60s/120s polling jobs).
+ *
+ * Triggers, all handled after the triggering transaction commits:
+ * - order created        → grace timer; admin has {@code app.dispatch.admin-grace-seconds} to assign
+ * - grace timer expired  → assign least-loaded chef/waiter (or queue behind a busy chef)
+ * - capacity freed       → order READY / COMPLETED / CANCELLED, or staff reassigned away:
+ *                          drain that staff member's queue, then pick up overdue orders
+ * - staff re-enabled     → same as capacity freed
+ *
+ * Steps triggered by an order event run right away on the outbox relay thread that delivers
+ * it, and a failure propagates: the relay then retries the event (up to its MAX_ATTEMPTS), so
+ * queue processing gets the relay's at-least-once delivery. Grace timers and staff triggers
+ * run on the dispatch thread. One lock serializes both threads, so two dispatch decisions
+ * never race each other, and request threads return without waiting for assignment.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderDispatcher {
+
+    private static final int MAX_OVERDUE_PER_TRIGGER = 20;
+
+    private final OrderService orderService;
+    private final StaffDirectory staffDirectory;
+
+    @Value("${app.dispatch.admin-grace-seconds:120}")
+    private long adminGraceSeconds;
+
+    private final ThreadPoolTaskScheduler dispatchThread = new ThreadPoolTaskScheduler();
+    private final Map<Long, ScheduledFuture<?>> graceTimers = new ConcurrentHashMap<>();
+    private final ReentrantLock dispatchLock = new ReentrantLock();
+
+    @PostConstruct
+    void start() {
+        dispatchThread.setPoolSize(1);
+        dispatchThread.setThreadNamePrefix("order-dispatch-");
+        dispatchThread.setRemoveOnCancelPolicy(true);
+        dispatchThread.initialize();
+    }
+
+    @PreDestroy
+    void stop() {
+        dispatchThread.shutdown();
+    }
+
+    /**
+     * Re-arm grace timers for orders left unassigned by a restart and drain queues
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        dispatchThread.execute(() -> {
+            try {
+                // Timers already past their deadline fire right away
+                List<Order> unassigned = orderService.getPendingOrders();
+                for (Order order : unassigned) {
+                    scheduleGraceTimer(order.getId(), order.getCreatedAt());
+                }
+                staffDirectory.enabled(Role.CHEF)
+                        .forEach(chef -> runSafely(() -> drainQueue(Role.CHEF, chef.id())));
+                staffDirectory.enabled(Role.WAITER)
+                        .forEach(waiter -> runSafely(() -> drainQueue(Role.WAITER, waiter.id())));
+                log.info("🚦 Order dispatcher ready ({} unassigned orders)", unassigned.size());
+            } catch (Exception e) {
+                log.error("❌ Order dispatcher recovery failed", e);
+            }
+        });
+    }
+
+    // ==================== TRIGGERS ====================
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        switch (event.getType()) {
+            case CREATED -> {
+                if (event.getChefId() == null || event.getWaiterId() == null) {
+                    scheduleGraceTimer(event.getOrderId(), event.getCreatedAt());
+                }
+            }
+            case CHEF_ASSIGNED, WAITER_ASSIGNED -> {
+                if (event.getChefId() != null && event.getWaiterId() != null) {
+                    cancelGraceTimer(event.getOrderId());
+                }
+            }
+            case STAFF_REASSIGNED -> {
+                if (event.getChefId() != null && event.getWaiterId() != null) {
+                    cancelGraceTimer(event.getOrderId());
+                }
+                if (event.getPreviousChefId() != null && !event.getPreviousChefId().equals(event.getChefId())) {
+                    dispatchNow(() -> onCapacityFreed(Role.CHEF, event.getPreviousChefId()));
+                }
+                if (event.getPreviousWaiterId() != null && !event.getPreviousWaiterId().equals(event.getWaiterId())) {
+                    dispatchNow(() -> onCapacityFreed(Role.WAITER, event.getPreviousWaiterId()));
+                }
+            }
+            case STATUS_CHANGED -> onStatusChanged(event);
+        }
+    }
+
+    private void onStatusChanged(OrderEvent event) {
+        OrderStatus status = event.getStatus();
+
+        if (status == OrderStatus.CANCELLED) {
+            cancelGraceTimer(event.getOrderId());
+        }
+
+        // Mirrors where OrderService releases capacity (a chef is done once the order is READY)
+        boolean chefFreed = status == OrderStatus.READY || status == OrderStatus.CANCELLED;
+        boolean waiterFreed = status == OrderStatus.COMPLETED || status == OrderStatus.CANCELLED;
+
+        if (chefFreed && event.getChefId() != null) {
+            dispatchNow(() -> onCapacityFreed(Role.CHEF, event.getChefId()));
+        }
+        if (waiterFreed && event.getWaiterId() != null) {
+            dispatchNow(() -> onCapacityFreed(Role.WAITER, event.getWaiterId()));
+        }
+        // A queued order that turns READY can become active for its waiter
+        if (status == OrderStatus.READY && event.getWaiterId() != null) {
+            dispatchNow(() -> orderService.processWaiterQueueForReadyOrder(event.getWaiterId()));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStaffStatusChanged(StaffStatusChangedEvent event) {
+        if (event.isEnabled() && (event.getRole() == Role.CHEF || event.getRole() == Role.WAITER)) {
+            submit(() -> onCapacityFreed(event.getRole(), event.getUserId()));
+        }
+    }
+
+    // ==================== DISPATCH ====================
+
+    private void scheduleGraceTimer(Long orderId, LocalDateTime createdAt) {
+        LocalDateTime deadline = (createdAt != null ? createdAt : LocalDateTime.now())
+                .plusSeconds(adminGraceSeconds);
+        Instant fireAt = deadline.atZone(ZoneId.systemDefault()).toInstant();
+
+        graceTimers.computeIfAbsent(orderId, id -> dispatchThread.schedule(() -> {
+            graceTimers.remove(id);
+            runSafely(() -> {
+                log.info("⏰ Admin grace period over for Order #{} - auto-assigning", id);
+                orderService.autoAssignOrder(id);
+            });
+        }, fireAt));
+    }
+
+    private void cancelGraceTimer(Long orderId) {
+        ScheduledFuture<?> timer = graceTimers.remove(orderId);
+        if (timer != null) {
+            timer.cancel(false);
+        }
+    }
+
+    /**
+     * Staff member has room again: their own queue first, then orders past the grace period.
+     * A failing queue step propagates; overdue orders are best effort (the next trigger retries them).
+     */
+    private void onCapacityFreed(Role role, Long staffId) {
+        drainQueue(role, staffId);
+
+        LocalDateTime graceCutoff = LocalDateTime.now().minus(Duration.ofSeconds(adminGraceSeconds));
+        List<Long> overdue = orderService.getOrdersAwaitingStaff(graceCutoff);
+        for (Long orderId : overdue.subList(0, Math.min(overdue.size(), MAX_OVERDUE_PER_TRIGGER))) {
+            if (!hasCapacity(staffId)) {
+                break;
+            }
+            runSafely(() -> orderService.autoAssignOrder(orderId));
+        }
+    }
+
+    private void drainQueue(Role role, Long staffId) {
+        if (role == Role.CHEF) {
+            orderService.processChefQueue(staffId);
+        } else {
+            orderService.processWaiterQueue(staffId);
+        }
+    }
+
+    private boolean hasCapacity(Long staffId) {
+        return staffDirectory.get(staffId)
+                .map(StaffDirectory.StaffMember::canAcceptOrder)
+                .orElse(false);
+    }
+
+    /**
+     * Run a step for an order event on the calling (relay) thread; failures reach the relay
+     */
+    private void dispatchNow(Runnable step) {
+        dispatchLock.lock();
+        try {
+            step.run();
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+
+    private void submit(Runnable task) {
+        dispatchThread.execute(() -> runSafely(task));
+    }
+
+    private void runSafely(Runnable task) {
+        try {
+            dispatchNow(task);
+        } catch (Exception e) {
+            log.warn("⚠️ Dispatch step failed: {}", e.getMessage());
+        }
+    }
+}
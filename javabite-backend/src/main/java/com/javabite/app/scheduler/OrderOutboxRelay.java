@@ -0,0 +1,217 @@
+package com.javabite.app.scheduler;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.javabite.app.event.OrderEvent;
+import com.javabite.app.model.OrderOutboxEvent;
+import com.javabite.app.repository.OrderOutboxRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Delivers order events from the order_outbox table to the in-process listeners
+ * (OrderDispatcher queue processing, OrderPipelineMetrics, OrderEventStreamService
+ * notifications, OrderStatsAggregator, BoardVersions).
+ *
+ * Triggers, all handled on one relay thread:
+ * - a transaction that wrote events committed → drain now
+ * - every {@code app.outbox.sweep-interval-ms} → drain whatever is left (retries, missed wake-ups)
+ * - startup                                   → replay events left by a crash or restart
+ *
+ * Events go out in id order; a row is marked dispatched only after every listener returned,
+ * so delivery is at least once: a crash between the two replays the event. A failing event
+ * stops the pass and is retried by the next one, up to MAX_ATTEMPTS, then logged and skipped.
+ * A retry reaches every listener again, so each event carries its row id and listeners that
+ * are not idempotent (OrderStatsAggregator, BoardVersions, OrderPipelineMetrics) skip ids they
+ * have already applied (AppliedOutboxEvents). Queue processing and SSE pushes are safe to repeat.
+ * Listeners run outside any transaction, exactly as they used to after commit.
+ * Like the dispatcher, this assumes one application instance owns the table.
+ */
+@Component
+@Slf4j
+public class OrderOutboxRelay {
+
+    private static final int BATCH_SIZE = 100;
+    private static final int MAX_ATTEMPTS = 5;
+    private static final int RETENTION_DAYS = 7;
+
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ThreadPoolTaskScheduler relayThread = new ThreadPoolTaskScheduler();
+    // Set while a drain is queued, so a burst of commits costs one pass
+    private final AtomicBoolean drainQueued = new AtomicBoolean();
+
+    public OrderOutboxRelay(OrderOutboxRepository orderOutboxRepository,
+                            ApplicationEventPublisher applicationEventPublisher,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager) {
+        this.orderOutboxRepository = orderOutboxRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    void start() {
+        relayThread.setPoolSize(1);
+        relayThread.setThreadNamePrefix("order-outbox-");
+        relayThread.initialize();
+    }
+
+    @PreDestroy
+    void stop() {
+        relayThread.shutdown();
+    }
+
+    // ==================== TRIGGERS ====================
+
+    /**
+     * Events were committed; drain them on the relay thread
+     */
+    public void wakeUp() {
+        if (drainQueued.compareAndSet(false, true)) {
+            relayThread.execute(() -> {
+                drainQueued.set(false);
+                drain();
+            });
+        }
+    }
+
+    /**
+     * Replay events left undispatched by a crash or restart. Runs before the other startup
+     * listeners and waits for the drain, so OrderStatsAggregator seeds from the database
+     * after the replay instead of counting those changes twice.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void recover() {
+        try {
+            relayThread.submit(this::drain).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("❌ Order outbox recovery failed", e.getCause());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.sweep-interval-ms:5000}")
+    public void sweep() {
+        wakeUp();
+    }
+
+    /**
+     * Run a task on the relay thread and wait for it. No event is delivered while it runs, so a
+     * listener can rebuild its state from the database without an event landing halfway.
+     */
+    public void runBetweenEvents(Runnable task) {
+        try {
+            relayThread.submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the order outbox relay", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Remove events dispatched more than RETENTION_DAYS ago (daily)
+     */
+    @Scheduled(cron = "0 30 3 * * *")
+    @Transactional
+    public void purgeDispatched() {
+        int deleted = orderOutboxRepository.deleteDispatchedBefore(LocalDateTime.now().minusDays(RETENTION_DAYS));
+        if (deleted > 0) {
+            log.info("🧹 Purged {} dispatched order events", deleted);
+        }
+    }
+
+    // ==================== DISPATCH ====================
+
+    private void drain() {
+        try {
+            List<OrderOutboxEvent> batch;
+            do {
+                batch = orderOutboxRepository.findByDispatchedAtIsNullOrderByIdAsc(PageRequest.of(0, BATCH_SIZE));
+                for (OrderOutboxEvent row : batch) {
+                    if (!dispatch(row)) {
+                        return;
+                    }
+                }
+            } while (batch.size() == BATCH_SIZE);
+        } catch (Exception e) {
+            log.error("❌ Order outbox drain failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return false if the event failed and should be retried by a later pass
+     */
+    private boolean dispatch(OrderOutboxEvent row) {
+        try {
+            applicationEventPublisher.publishEvent(readEvent(row));
+            markDispatched(row.getId());
+            return true;
+        } catch (Exception e) {
+            int attempts = row.getAttempts() + 1;
+            if (attempts >= MAX_ATTEMPTS) {
+                log.error("❌ Giving up on {} event #{} for Order #{} after {} attempts: {}",
+                        row.getEventType(), row.getId(), row.getOrderId(), attempts, e.getMessage());
+                transactionTemplate.executeWithoutResult(status -> {
+                    orderOutboxRepository.recordFailure(row.getId(), truncate(e.getMessage()));
+                    orderOutboxRepository.markDispatched(row.getId(), LocalDateTime.now());
+                });
+                return true;
+            }
+
+            log.warn("⚠️ {} event #{} for Order #{} failed (attempt {}), will retry: {}",
+                    row.getEventType(), row.getId(), row.getOrderId(), attempts, e.getMessage());
+            transactionTemplate.executeWithoutResult(status ->
+                    orderOutboxRepository.recordFailure(row.getId(), truncate(e.getMessage())));
+            return false;
+        }
+    }
+
+    private void markDispatched(Long id) {
+        transactionTemplate.executeWithoutResult(status ->
+                orderOutboxRepository.markDispatched(id, LocalDateTime.now()));
+    }
+
+    private OrderEvent readEvent(OrderOutboxEvent row) {
+        try {
+            return objectMapper.readValue(row.getPayload(), OrderEvent.class).toBuilder()
+                    .outboxId(row.getId())
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to read stored order event", e);
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+}
@@ -0,0 +1,165 @@
+package com.javabite.app.service;
+
+import com.javabite.app.model.Order;
+import com.javabite.app.model.OrderStatus;
+import com.javabite.app.model.User;
+import com.javabite.app.payload.OrderResponse;
+import com.javabite.app.repository.OrderRepository;
+import com.javabite.app.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Everything one role's dashboard shows, in one round trip, or just what changed since a version.
+ *
+ * The caller reads the board version from {@link BoardVersions} first and passes it in,
+ * so the snapshot is never tagged with a version newer than the data it holds.
+ *
+ * Changes are served from the BoardVersions log without touching the database (admin stats
+ * aside): the latest state of every order that changed, under "orders" if it is still on the
+ * board, or its id under "removed" if it left. They return null when the log no longer goes
+ * back far enough; the caller then sends a full snapshot instead.
+ */
+@Service
+@RequiredArgsConstructor
+public class BoardSnapshotService {
+
+    private static final List<OrderStatus> CHEF_OPEN_STATUSES =
+            List.of(OrderStatus.PENDING, OrderStatus.PREPARING);
+    private static final List<OrderStatus> WAITER_OPEN_STATUSES =
+            List.of(OrderStatus.PENDING, OrderStatus.PREPARING, OrderStatus.READY, OrderStatus.SERVED);
+
+    private final OrderRepository orderRepository;
+    private final UserRepository userRepository;
+    private final OrderService orderService;
+    private final BoardVersions boardVersions;
+
+    // ==================== SNAPSHOTS ====================
+
+    /**
+     * newOrders (PENDING), activeOrders (PREPARING), completedToday
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> chefBoard(Long chefId, long version) {
+        User chef = userRepository.getReferenceById(chefId);
+        List<OrderResponse> open = toResponses(
+                orderRepository.findByChefAndStatusInOrderByCreatedAtAsc(chef, CHEF_OPEN_STATUSES));
+        LocalDate today = LocalDate.now();
+        List<Order> completedToday = orderRepository.findByChefAndStatusAndCompletedAtBetween(
+                chef, OrderStatus.COMPLETED, today.atStartOfDay(), today.atTime(23, 59, 59));
+
+        Map<String, Object> board = new LinkedHashMap<>();
+        board.put("version", version);
+        board.put("newOrders", withStatus(open, OrderStatus.PENDING));
+        board.put("activeOrders", withStatus(open, OrderStatus.PREPARING));
+        board.put("completedToday", toResponses(completedToday));
+        return board;
+    }
+
+    /**
+     * ready (READY), preparing (PENDING / PREPARING), assigned (every open order), from one query
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> waiterBoard(Long waiterId, long version) {
+        User waiter = userRepository.getReferenceById(waiterId);
+        List<OrderResponse> assigned = toResponses(
+                orderRepository.findByWaiterAndStatusInOrderByCreatedAtAsc(waiter, WAITER_OPEN_STATUSES));
+
+        Map<String, Object> board = new LinkedHashMap<>();
+        board.put("version", version);
+        board.put("ready", withStatus(assigned, OrderStatus.READY));
+        board.put("preparing", assigned.stream()
+                .filter(o -> o.getStatus() == OrderStatus.PENDING || o.getStatus() == OrderStatus.PREPARING)
+                .toList());
+        board.put("assigned", assigned);
+        return board;
+    }
+
+    /**
+     * stats (as /api/admin/dashboard/stats) and pendingOrders (waiting for a chef)
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> adminBoard(long version) {
+        Map<String, Object> board = new LinkedHashMap<>();
+        board.put("version", version);
+        board.put("stats", orderService.getAdminDashboardStats());
+        board.put("pendingOrders", toResponses(orderService.getPendingOrders()));
+        return board;
+    }
+
+    // ==================== CHANGES ====================
+
+    public Map<String, Object> chefChanges(Long chefId, long since) {
+        LocalDate today = LocalDate.now();
+        return changes(BoardVersions.chefBoard(chefId), since, false, order ->
+                chefId.equals(order.getChefId())
+                        && (CHEF_OPEN_STATUSES.contains(order.getStatus())
+                        || (order.getStatus() == OrderStatus.COMPLETED && order.getCompletedAt() != null
+                        && order.getCompletedAt().toLocalDate().equals(today))));
+    }
+
+    public Map<String, Object> waiterChanges(Long waiterId, long since) {
+        return changes(BoardVersions.waiterBoard(waiterId), since, false, order ->
+                waiterId.equals(order.getWaiterId()) && WAITER_OPEN_STATUSES.contains(order.getStatus()));
+    }
+
+    /**
+     * Pending-order changes, plus fresh stats whenever anything on the board changed
+     */
+    public Map<String, Object> adminChanges(long since) {
+        return changes(BoardVersions.ADMIN_BOARD, since, true, order ->
+                order.getStatus() == OrderStatus.PENDING && order.getChefId() == null);
+    }
+
+    private Map<String, Object> changes(String board, long since, boolean withStats, Predicate<OrderResponse> onBoard) {
+        BoardVersions.Changes changes = boardVersions.changesSince(board, since);
+        if (changes == null) {
+            return null;
+        }
+
+        // Latest state per order, in the order they last changed
+        Map<Long, OrderResponse> latest = new LinkedHashMap<>();
+        for (BoardVersions.Change change : changes.changes()) {
+            if (change.order() != null) {
+                latest.remove(change.order().getId());
+                latest.put(change.order().getId(), change.order());
+            }
+        }
+
+        List<OrderResponse> orders = new ArrayList<>();
+        List<Long> removed = new ArrayList<>();
+        for (OrderResponse order : latest.values()) {
+            if (onBoard.test(order)) {
+                orders.add(order);
+            } else {
+                removed.add(order.getId());
+            }
+        }
+
+        Map<String, Object> delta = new LinkedHashMap<>();
+        delta.put("version", changes.version());
+        delta.put("full", false);
+        delta.put("orders", orders);
+        delta.put("removed", removed);
+        if (withStats && !changes.changes().isEmpty()) {
+            delta.put("stats", orderService.getAdminDashboardStats());
+        }
+        return delta;
+    }
+
+    private static List<OrderResponse> toResponses(List<Order> orders) {
+        return orders.stream().map(OrderResponse::fromEntity).toList();
+    }
+
+    private static List<OrderResponse> withStatus(List<OrderResponse> orders, OrderStatus status) {
+        return orders.stream().filter(o -> o.getStatus() == status).toList();
+    }
+}
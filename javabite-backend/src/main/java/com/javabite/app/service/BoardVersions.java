@@ -0,0 +1,159 @@
+package com.javabite.app.service;
+
+import com.javabite.app.event.AppliedOutboxEvents;
+import com.javabite.app.event.OrderEvent;
+import com.javabite.app.payload.OrderResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Version of each dashboard board, plus a bounded log of what changed, so a snapshot can be
+ * answered with 304 before any query and a client can catch up with just the changes.
+ *
+ * Boards (same names as the SSE channels):
+ * - chef:{id}    bumped by events on orders the chef has or had
+ * - waiter:{id}  bumped by events on orders the waiter has or had
+ * - admin        bumped by every order event, staff changes and bookings entering/leaving ACTIVE
+ *
+ * Versions come from one sequence and are bumped once the change commits, so they only go
+ * up and a snapshot that reads the version before querying is never tagged newer than its data.
+ * The sequence starts from the clock (ms * 1000), so versions also keep growing across
+ * restarts and a version from before a restart is simply older than the log.
+ */
+@Component
+public class BoardVersions {
+
+    public static final String ADMIN_BOARD = OrderEventStreamService.ADMIN_CHANNEL;
+
+    private static final int CHANGE_LOG_SIZE = 2000;
+
+    // Log, sequence and version writes are guarded by "lock"; version reads are lock-free
+    private final Object lock = new Object();
+    private final Deque<Change> changeLog = new ArrayDeque<>();
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+    private final long startVersion = System.currentTimeMillis() * 1000;
+    private long sequence = startVersion;
+    // Every change after this version is still in the log
+    private long truncatedAt = startVersion;
+    // A redelivered event must not be logged twice
+    private final AppliedOutboxEvents appliedEvents = new AppliedOutboxEvents();
+
+    public static String chefBoard(Long chefId) {
+        return OrderEventStreamService.chefChannel(chefId);
+    }
+
+    public static String waiterBoard(Long waiterId) {
+        return OrderEventStreamService.waiterChannel(waiterId);
+    }
+
+    // ==================== READ ====================
+
+    public long version(String board) {
+        return versions.getOrDefault(board, startVersion);
+    }
+
+    /**
+     * Strong ETag of a board version. Includes the day because "today" lists and counts
+     * roll over at midnight without any change event.
+     */
+    public String etag(String board, long version) {
+        return "\"" + board.replace(':', '-') + "." + version + "." + LocalDate.now() + "\"";
+    }
+
+    /**
+     * Changes to a board after a version, oldest first, or null if the log no longer goes
+     * back that far (or the version is not one this instance handed out)
+     */
+    public Changes changesSince(String board, long since) {
+        synchronized (lock) {
+            if (since < truncatedAt || since > sequence) {
+                return null;
+            }
+            List<Change> changes = new ArrayList<>();
+            for (Iterator<Change> it = changeLog.descendingIterator(); it.hasNext(); ) {
+                Change change = it.next();
+                if (change.version() <= since) {
+                    break;
+                }
+                if (change.boards().contains(board)) {
+                    changes.add(change);
+                }
+            }
+            Collections.reverse(changes);
+            return new Changes(version(board), changes);
+        }
+    }
+
+    // ==================== BUMP ====================
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        if (!appliedEvents.isNew(event)) {
+            return;
+        }
+        Set<String> boards = new HashSet<>();
+        boards.add(ADMIN_BOARD);
+        if (event.getChefId() != null) {
+            boards.add(chefBoard(event.getChefId()));
+        }
+        if (event.getPreviousChefId() != null) {
+            boards.add(chefBoard(event.getPreviousChefId()));
+        }
+        if (event.getWaiterId() != null) {
+            boards.add(waiterBoard(event.getWaiterId()));
+        }
+        if (event.getPreviousWaiterId() != null) {
+            boards.add(waiterBoard(event.getPreviousWaiterId()));
+        }
+        record(boards, event.getOrder());
+        appliedEvents.applied(event);
+    }
+
+    /**
+     * Something shown on a board changed outside an order event (after commit when called
+     * inside a transaction)
+     */
+    public void changed(String board) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(Set.of(board), null);
+                }
+            });
+        } else {
+            record(Set.of(board), null);
+        }
+    }
+
+    private void record(Set<String> boards, OrderResponse order) {
+        synchronized (lock) {
+            long version = ++sequence;
+            for (String board : boards) {
+                versions.put(board, version);
+            }
+            changeLog.addLast(new Change(version, boards, order));
+            if (changeLog.size() > CHANGE_LOG_SIZE) {
+                truncatedAt = changeLog.removeFirst().version();
+            }
+        }
+    }
+
+    /**
+     * One committed change. order is the order as committed, or null for a change that is
+     * not about one order (staff, bookings)
+     */
+    public record Change(long version, Set<String> boards, OrderResponse order) {}
+
+    /**
+     * A board's current version and its changes since the requested one
+     */
+    public record Changes(long version, List<Change> changes) {}
+}
@@ -22,6 +22,9 @@ public class BookingService {
     @Autowired
     private TableBookingRepository bookingRepository;
 
+    @Autowired
+    private TableAvailabilityIndex tableAvailabilityIndex;
+
     // ============================================
     // CUSTOMER BOOKING HISTORY METHODS
     // ============================================
@@ -87,8 +90,10 @@ public class BookingService {
         }
 
         BigDecimal refundAmount = calculateRefundAmount(booking);
+        BookingStatus previousStatus = booking.getStatus();
         booking.cancelWithRefund(reason, customerId, refundAmount);
         bookingRepository.save(booking);
+        tableAvailabilityIndex.statusChanged(booking, previousStatus);
     }
 
     /**
@@ -145,8 +150,10 @@ public class BookingService {
             throw new RuntimeException("Booking cannot be cancelled");
         }
 
+        BookingStatus previousStatus = booking.getStatus();
         booking.cancelWithRefund(reason, adminId, refundAmount);
         bookingRepository.save(booking);
+        tableAvailabilityIndex.statusChanged(booking, previousStatus);
     }
 
     /**
@@ -195,6 +202,7 @@ public class BookingService {
         BookingDTO dto = new BookingDTO();
         dto.setId(booking.getId());
         dto.setTableNumber(booking.getTableNumber());
+        dto.setJoinedTableNumber(booking.getJoinedTableNumber());
         dto.setBookingDate(booking.getBookingDate());
         dto.setBookingTime(booking.getBookingTime()); // String, not LocalTime
         dto.setNumberOfGuests(booking.getNumberOfGuests());
@@ -7,6 +7,8 @@ import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -130,4 +132,41 @@ public class EmailService {
             log.error("❌ Failed to send welcome email: {}", e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Tell a waitlisted customer that a table freed up and is now booked for them
+     */
+    public void sendWaitlistPromotedEmail(String toEmail, String name, LocalDate date, String time, String tables) {
+        try {
+            String bookingsLink = frontendUrl + "/customer/bookings";
+
+            String subject = "JavaBite Coffee - Your table is ready!";
+
+            String body = String.format(
+                    "Hello %s,\n\n" +
+                            "Good news! A table opened up and we've booked it for you from the waitlist.\n\n" +
+                            "Date: %s\n" +
+                            "Time: %s\n" +
+                            "Table: %s\n\n" +
+                            "View or cancel your booking here:\n" +
+                            "%s\n\n" +
+                            "Best regards,\n" +
+                            "JavaBite Coffee Team",
+                    name, date, time, tables, bookingsLink
+            );
+
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(fromEmail);
+            message.setTo(toEmail);
+            message.setSubject(subject);
+            message.setText(body);
+
+            mailSender.send(message);
+
+            log.info("✅ Waitlist promotion email sent to: {}", toEmail);
+
+        } catch (Exception e) {
+            log.error("❌ Failed to send waitlist promotion email to {}: {}", toEmail, e.getMessage());
+        }
+    }
+}
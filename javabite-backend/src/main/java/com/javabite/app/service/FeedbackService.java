@@ -5,26 +5,41 @@ import com.javabite.app.model.Order;
 import com.javabite.app.model.OrderStatus;
 import com.javabite.app.model.User;
 import com.javabite.app.payload.CreateFeedbackRequest;
+import com.javabite.app.payload.CursorPage;
+import com.javabite.app.payload.FeedbackFilter;
+import com.javabite.app.payload.FeedbackSummary;
+import com.javabite.app.payload.KeysetCursor;
 import com.javabite.app.repository.FeedbackRepository;
 import com.javabite.app.repository.OrderRepository;
 import com.javabite.app.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class FeedbackService {
 
+    private static final int PAGE_MAX_SIZE = 100;
+
     private final FeedbackRepository feedbackRepository;
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
+    private final StaffRatingService staffRatingService;
+
+    private final AtomicLong statsVersion = new AtomicLong(1);
+    private volatile StatsSnapshot statsSnapshot;
 
     /**
      * Create feedback for an order
@@ -36,7 +51,7 @@ public class FeedbackService {
                 .orElseThrow(() -> new RuntimeException("Customer not found"));
 
         // Validate order exists
-        Order order = orderRepository.findById(request.getOrderId())
+        Order order = orderRepository.findDetailedById(request.getOrderId())
                 .orElseThrow(() -> new RuntimeException("Order not found"));
 
         // Validate order belongs to customer
@@ -65,9 +80,13 @@ public class FeedbackService {
                 .valueRating(request.getValueRating())
                 .comment(request.getComment())
                 .wouldRecommend(request.getWouldRecommend() != null ? request.getWouldRecommend() : true)
+                .ratedChefId(order.getChef() != null ? order.getChef().getId() : null)
+                .ratedWaiterId(order.getWaiter() != null ? order.getWaiter().getId() : null)
                 .build();
 
         Feedback savedFeedback = feedbackRepository.save(feedback);
+        staffRatingService.feedbackCreated(savedFeedback);
+        invalidateStats();
         log.info("✅ Feedback created for Order #{} by Customer {}", order.getId(), customer.getEmail());
 
         return savedFeedback;
@@ -119,6 +138,44 @@ public class FeedbackService {
         return feedbackRepository.findAllByOrderByCreatedAtDesc();
     }
 
+    /**
+     * Keyset-paginated, filtered feedback listing (Admin).
+     * One projection query per page, regardless of how much feedback exists.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<FeedbackSummary> getFeedbackPage(FeedbackFilter filter, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, PAGE_MAX_SIZE));
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        // Fetch one extra row to know whether another page exists
+        List<FeedbackSummary> rows = feedbackRepository.findPage(
+                filter.getRating(),
+                filter.getFrom() != null ? filter.getFrom().atStartOfDay() : null,
+                filter.getTo() != null ? filter.getTo().plusDays(1).atStartOfDay() : null,
+                filter.getHasComment(),
+                filter.getWouldRecommend(),
+                after != null ? after.getCreatedAt() : null,
+                after != null ? after.getId() : null,
+                PageRequest.of(0, pageSize + 1)
+        );
+
+        boolean hasMore = rows.size() > pageSize;
+        List<FeedbackSummary> items = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            FeedbackSummary last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return CursorPage.<FeedbackSummary>builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .size(items.size())
+                .build();
+    }
+
     /**
      * Get feedback by rating (Admin)
      */
@@ -127,51 +184,99 @@ public class FeedbackService {
     }
 
     /**
-     * Get feedback statistics (Admin)
+     * Get feedback statistics (Admin).
+     * One grouped query, then served from a snapshot until feedback is created or deleted.
      */
     public Map<String, Object> getFeedbackStats() {
-        Map<String, Object> stats = new HashMap<>();
+        long version = statsVersion.get();
+        StatsSnapshot snapshot = statsSnapshot;
+        if (snapshot != null && snapshot.version == version) {
+            return snapshot.stats;
+        }
 
-        // Total feedback count
-        long totalFeedback = feedbackRepository.count();
-        stats.put("totalFeedback", totalFeedback);
+        Map<String, Object> stats = computeFeedbackStats();
+        // A write committed meanwhile has bumped the version, so this is never served as current
+        statsSnapshot = new StatsSnapshot(version, stats);
+        return stats;
+    }
 
-        // Average ratings
-        Double avgOverall = feedbackRepository.getAverageOverallRating();
-        Double avgFood = feedbackRepository.getAverageFoodRating();
-        Double avgService = feedbackRepository.getAverageServiceRating();
-        Double avgAmbiance = feedbackRepository.getAverageAmbianceRating();
-        Double avgValue = feedbackRepository.getAverageValueRating();
-
-        stats.put("averageOverallRating", avgOverall != null ? Math.round(avgOverall * 10.0) / 10.0 : 0.0);
-        stats.put("averageFoodRating", avgFood != null ? Math.round(avgFood * 10.0) / 10.0 : 0.0);
-        stats.put("averageServiceRating", avgService != null ? Math.round(avgService * 10.0) / 10.0 : 0.0);
-        stats.put("averageAmbianceRating", avgAmbiance != null ? Math.round(avgAmbiance * 10.0) / 10.0 : 0.0);
-        stats.put("averageValueRating", avgValue != null ? Math.round(avgValue * 10.0) / 10.0 : 0.0);
+    private Map<String, Object> computeFeedbackStats() {
+        long totalFeedback = 0;
+        long overallSum = 0;
+        long[] detailSums = new long[4];
+        long[] detailCounts = new long[4];
+        long wouldRecommend = 0;
+        long wouldNotRecommend = 0;
 
         // Rating distribution
-        Map<Integer, Long> ratingDistribution = new HashMap<>();
+        Map<Integer, Long> ratingDistribution = new LinkedHashMap<>();
         for (int i = 1; i <= 5; i++) {
-            Long count = feedbackRepository.countByOverallRating(i);
-            ratingDistribution.put(i, count);
+            ratingDistribution.put(i, 0L);
+        }
+
+        for (Object[] row : feedbackRepository.aggregateByOverallRating()) {
+            int rating = ((Number) row[0]).intValue();
+            long count = ((Number) row[1]).longValue();
+            ratingDistribution.put(rating, count);
+            totalFeedback += count;
+            overallSum += rating * count;
+            for (int d = 0; d < 4; d++) {
+                detailSums[d] += asLong(row[2 + 2 * d]);
+                detailCounts[d] += asLong(row[3 + 2 * d]);
+            }
+            wouldRecommend += asLong(row[10]);
+            wouldNotRecommend += asLong(row[11]);
         }
-        stats.put("ratingDistribution", ratingDistribution);
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("totalFeedback", totalFeedback);
+
+        // Average ratings
+        stats.put("averageOverallRating", average(overallSum, totalFeedback));
+        stats.put("averageFoodRating", average(detailSums[0], detailCounts[0]));
+        stats.put("averageServiceRating", average(detailSums[1], detailCounts[1]));
+        stats.put("averageAmbianceRating", average(detailSums[2], detailCounts[2]));
+        stats.put("averageValueRating", average(detailSums[3], detailCounts[3]));
+
+        stats.put("ratingDistribution", Collections.unmodifiableMap(ratingDistribution));
 
         // Recommendations
-        Long wouldRecommend = feedbackRepository.countByWouldRecommend(true);
-        Long wouldNotRecommend = feedbackRepository.countByWouldRecommend(false);
-        stats.put("wouldRecommend", wouldRecommend != null ? wouldRecommend : 0);
-        stats.put("wouldNotRecommend", wouldNotRecommend != null ? wouldNotRecommend : 0);
+        stats.put("wouldRecommend", wouldRecommend);
+        stats.put("wouldNotRecommend", wouldNotRecommend);
 
         // Recommendation percentage
         if (totalFeedback > 0) {
-            double recommendPercentage = ((double) (wouldRecommend != null ? wouldRecommend : 0) / totalFeedback) * 100;
+            double recommendPercentage = ((double) wouldRecommend / totalFeedback) * 100;
             stats.put("recommendationPercentage", Math.round(recommendPercentage * 10.0) / 10.0);
         } else {
             stats.put("recommendationPercentage", 0.0);
         }
 
-        return stats;
+        return Collections.unmodifiableMap(stats);
+    }
+
+    // Rounded to one decimal, 0.0 when nothing was rated
+    private static double average(long sum, long count) {
+        return count > 0 ? Math.round((double) sum / count * 10.0) / 10.0 : 0.0;
+    }
+
+    private static long asLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    /**
+     * Drop the stats snapshot (again after commit, so a read racing the commit can't keep stale stats)
+     */
+    private void invalidateStats() {
+        statsVersion.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    statsVersion.incrementAndGet();
+                }
+            });
+        }
     }
 
     /**
@@ -179,10 +284,13 @@ public class FeedbackService {
      */
     @Transactional
     public void deleteFeedback(Long feedbackId) {
-        if (!feedbackRepository.existsById(feedbackId)) {
-            throw new RuntimeException("Feedback not found");
-        }
-        feedbackRepository.deleteById(feedbackId);
+        Feedback feedback = feedbackRepository.findById(feedbackId)
+                .orElseThrow(() -> new RuntimeException("Feedback not found"));
+        feedbackRepository.delete(feedback);
+        staffRatingService.feedbackDeleted(feedback);
+        invalidateStats();
         log.info("✅ Feedback #{} deleted by admin", feedbackId);
     }
-}
\ No newline at end of file
+
+    private record StatsSnapshot(long version, Map<String, Object> stats) {}
+}
@@ -0,0 +1,176 @@
+package com.javabite.app.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.javabite.app.model.IdempotencyRecord;
+import com.javabite.app.model.Order;
+import com.javabite.app.payload.OrderResponse;
+import com.javabite.app.repository.IdempotencyRecordRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Idempotency-Key support for order submission.
+ *
+ * Key → original OrderResponse, per customer. Recent keys live in an in-memory LRU;
+ * the idempotency_keys table makes them survive restarts and is the arbiter for
+ * concurrent retries (unique customer + key, written in the order's transaction).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyService {
+
+    public static final int MAX_KEY_LENGTH = 100;
+    private static final int CACHE_SIZE = 10_000;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    // Guarded by itself
+    private final Map<String, IdempotencyRecord> recent = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Response of an earlier submission with this key, if any.
+     * Throws if the key was used for a different request.
+     */
+    @Transactional(readOnly = true)
+    public Optional<OrderResponse> findReplay(Long customerId, String key, Object request) {
+        validateKey(key);
+
+        IdempotencyRecord record = fromCache(customerId, key);
+        if (record == null) {
+            record = idempotencyRecordRepository.findByCustomerIdAndIdempotencyKey(customerId, key)
+                    .filter(r -> r.getExpiresAt().isAfter(LocalDateTime.now()))
+                    .orElse(null);
+            if (record == null) {
+                return Optional.empty();
+            }
+            cache(record);
+        }
+
+        if (!record.getRequestHash().equals(hash(request))) {
+            throw new RuntimeException("Idempotency-Key was already used for a different order");
+        }
+
+        log.info("🔁 Replaying Order #{} for Idempotency-Key {}", record.getOrderId(), key);
+        return Optional.of(readResponse(record));
+    }
+
+    /**
+     * Record key → order inside the order's transaction. A concurrent retry with the
+     * same key fails on the unique constraint and rolls its own order back.
+     */
+    public void remember(Long customerId, String key, Object request, Order order) {
+        validateKey(key);
+
+        IdempotencyRecord record = IdempotencyRecord.builder()
+                .customerId(customerId)
+                .idempotencyKey(key)
+                .requestHash(hash(request))
+                .orderId(order.getId())
+                .responseJson(writeResponse(OrderResponse.fromEntity(order)))
+                .expiresAt(LocalDateTime.now().plusHours(ttlHours))
+                .build();
+
+        // Flush now so a duplicate fails here, before the rest of the transaction commits
+        IdempotencyRecord saved = idempotencyRecordRepository.saveAndFlush(record);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache(saved);
+                }
+            });
+        } else {
+            cache(saved);
+        }
+    }
+
+    /**
+     * Remove expired keys (hourly)
+     */
+    @Scheduled(cron = "0 0 * * * *")
+    @Transactional
+    public void cleanupExpiredKeys() {
+        int deleted = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("🧹 Cleaned up {} expired idempotency keys", deleted);
+        }
+    }
+
+    private void validateKey(String key) {
+        if (key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new RuntimeException("Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    private IdempotencyRecord fromCache(Long customerId, String key) {
+        synchronized (recent) {
+            IdempotencyRecord record = recent.get(cacheKey(customerId, key));
+            if (record != null && !record.getExpiresAt().isAfter(LocalDateTime.now())) {
+                recent.remove(cacheKey(customerId, key));
+                return null;
+            }
+            return record;
+        }
+    }
+
+    private void cache(IdempotencyRecord record) {
+        synchronized (recent) {
+            recent.put(cacheKey(record.getCustomerId(), record.getIdempotencyKey()), record);
+        }
+    }
+
+    private static String cacheKey(Long customerId, String key) {
+        return customerId + ":" + key;
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new RuntimeException("Failed to hash request", e);
+        }
+    }
+
+    private String writeResponse(OrderResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to store order response", e);
+        }
+    }
+
+    private OrderResponse readResponse(IdempotencyRecord record) {
+        try {
+            return objectMapper.readValue(record.getResponseJson(), OrderResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to read stored order response", e);
+        }
+    }
+}
@@ -14,7 +14,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,6 +23,7 @@ public class InvitationService {
     private final UserRepository userRepository;
     private final EmailService emailService;
     private final PasswordEncoder passwordEncoder;
+    private final StaffDirectory staffDirectory;
 
     private static final int INVITATION_EXPIRY_HOURS = 48;
 
@@ -75,13 +75,13 @@ public class InvitationService {
                 .role(role)
                 .enabled(false) // ✅ CRITICAL: Disabled until invitation accepted
                 .maxActiveOrders(maxActiveOrders)
-                .currentActiveOrders(0)
                 .isAvailable(true)
                 .invitationToken(token)
                 .invitationSentAt(LocalDateTime.now())
                 .build();
 
         User savedUser = userRepository.save(user);
+        staffDirectory.update(savedUser);
 
         // Send invitation email
         emailService.sendInvitationEmail(
@@ -138,6 +138,7 @@ public class InvitationService {
         user.setInvitationToken(null); // Clear token after use
 
         User savedUser = userRepository.save(user);
+        staffDirectory.update(savedUser);
 
         // Send welcome email
         emailService.sendWelcomeEmail(user.getEmail(), user.getName(), user.getRole().name());
@@ -151,10 +152,7 @@ public class InvitationService {
      * Get all pending invitations (admin view)
      */
     public List<User> getPendingInvitations() {
-        return userRepository.findAll().stream()
-                .filter(u -> u.getInvitationToken() != null && u.getInvitationAcceptedAt() == null)
-                .sorted((a, b) -> b.getInvitationSentAt().compareTo(a.getInvitationSentAt()))
-                .collect(Collectors.toList());
+        return userRepository.findByInvitationTokenIsNotNullAndInvitationAcceptedAtIsNullOrderByInvitationSentAtDesc();
     }
 
     /**
@@ -224,6 +222,7 @@ public class InvitationService {
 
         // Delete user if invitation not accepted
         userRepository.delete(user);
+        staffDirectory.remove(userId);
 
         log.info("✅ Invitation cancelled and user deleted: {}", user.getEmail());
     }
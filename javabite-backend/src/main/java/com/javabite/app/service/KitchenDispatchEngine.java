@@ -0,0 +1,505 @@
+package com.javabite.app.service;
+
+import com.javabite.app.model.ChefQueue;
+import com.javabite.app.model.WaiterQueue;
+import com.javabite.app.repository.ChefQueueRepository;
+import com.javabite.app.repository.OrderRepository;
+import com.javabite.app.repository.UserRepository;
+import com.javabite.app.repository.WaiterQueueRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * In-memory chef/waiter queues.
+ *
+ * - One ordered queue per staff member plus a global chef overflow queue (orders no chef
+ *   could take). Enqueue, dequeue and remove-by-order are O(log n).
+ * - Positions come from one monotonic sequence, so concurrent arrivals keep their order
+ *   and positions never collide.
+ * - Inside a transaction, new entries stay private to it (only its own contains-checks see
+ *   them) and join the queues when it commits; taking an entry out is immediate, so no two
+ *   transactions get the same order, and undone if it rolls back.
+ * - Each transaction's changes are journaled in the order they were made, in one step at
+ *   commit, to chef_queue / waiter_queue (write-behind, flushed every second). An entry is
+ *   only visible once its add is journaled, so its remove can never be journaled first.
+ * - At startup the staff queues are rebuilt from those tables. The overflow queue is not
+ *   persisted: OrderDispatcher re-dispatches unassigned orders on startup.
+ */
+@Service
+@Slf4j
+public class KitchenDispatchEngine {
+
+    private final ChefQueueRepository chefQueueRepository;
+    private final WaiterQueueRepository waiterQueueRepository;
+    private final OrderRepository orderRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Everything below is guarded by "this"
+    private final StaffQueues chefQueues = new StaffQueues();
+    private final StaffQueues waiterQueues = new StaffQueues();
+    private final TreeSet<QueueEntry> overflow = new TreeSet<>();
+    private final Map<Long, QueueEntry> overflowIndex = new HashMap<>();
+    private long sequence;
+
+    // Appended under "this", in commit order
+    private final Queue<JournalOp> journal = new ConcurrentLinkedQueue<>();
+    private final Object flushLock = new Object();
+
+    public KitchenDispatchEngine(ChefQueueRepository chefQueueRepository,
+                                 WaiterQueueRepository waiterQueueRepository,
+                                 OrderRepository orderRepository,
+                                 UserRepository userRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.chefQueueRepository = chefQueueRepository;
+        this.waiterQueueRepository = waiterQueueRepository;
+        this.orderRepository = orderRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Rebuild staff queues from the journal tables
+     */
+    @PostConstruct
+    synchronized void rebuild() {
+        for (Object[] row : chefQueueRepository.findAllEntries()) {
+            chefQueues.add(toEntry(row));
+        }
+        for (Object[] row : waiterQueueRepository.findAllEntries()) {
+            waiterQueues.add(toEntry(row));
+        }
+        log.info("🍳 Kitchen queues rebuilt: {} chef, {} waiter entries",
+                chefQueues.size(), waiterQueues.size());
+    }
+
+    private QueueEntry toEntry(Object[] row) {
+        long position = row[2] != null ? ((Number) row[2]).longValue() : ++sequence;
+        sequence = Math.max(sequence, position);
+        return new QueueEntry((Long) row[0], (Long) row[1], position, (LocalDateTime) row[3]);
+    }
+
+    // ==================== CHEF QUEUES ====================
+
+    /**
+     * Queue an order behind a busy chef. Returns the queue position, or -1 if already queued.
+     */
+    public synchronized long enqueueChef(Long orderId, Long chefId) {
+        Pending pending = pending();
+        if (chefQueues.contains(orderId) || (pending != null && pending.chefAdds.containsKey(orderId))) {
+            return -1;
+        }
+        removeOverflowEntry(orderId, pending);
+        QueueEntry entry = new QueueEntry(orderId, chefId, ++sequence, LocalDateTime.now());
+        if (pending != null) {
+            pending.chefAdds.put(orderId, entry);
+            pending.ops.add(JournalOp.add(true, entry));
+        } else {
+            chefQueues.add(entry);
+            journal.add(JournalOp.add(true, entry));
+        }
+        return entry.position;
+    }
+
+    /**
+     * Next order for this chef: their own queue first, then the overflow queue
+     */
+    public synchronized Optional<Long> pollChef(Long chefId) {
+        QueueEntry entry = chefQueues.poll(chefId);
+        if (entry != null) {
+            taken(JournalOp.remove(true, entry.orderId), () -> addIfAbsent(chefQueues, entry));
+            return Optional.of(entry.orderId);
+        }
+        return pollOverflow();
+    }
+
+    public synchronized boolean isQueuedForChef(Long orderId) {
+        Pending pending = pending();
+        return chefQueues.contains(orderId) || overflowIndex.containsKey(orderId)
+                || (pending != null && (pending.chefAdds.containsKey(orderId)
+                || pending.overflowAdds.containsKey(orderId)));
+    }
+
+    public synchronized int chefQueueSize(Long chefId) {
+        return chefQueues.sizeOf(chefId);
+    }
+
+    // ==================== OVERFLOW ====================
+
+    /**
+     * Park an order no chef can take right now; the next chef with capacity picks it up
+     */
+    public synchronized boolean enqueueOverflow(Long orderId) {
+        if (isQueuedForChef(orderId)) {
+            return false;
+        }
+        QueueEntry entry = new QueueEntry(orderId, null, ++sequence, LocalDateTime.now());
+        Pending pending = pending();
+        if (pending != null) {
+            pending.overflowAdds.put(orderId, entry);
+        } else {
+            addOverflow(entry);
+        }
+        return true;
+    }
+
+    private Optional<Long> pollOverflow() {
+        QueueEntry entry = overflow.pollFirst();
+        if (entry == null) {
+            return Optional.empty();
+        }
+        overflowIndex.remove(entry.orderId);
+        taken(null, () -> restoreOverflow(entry));
+        return Optional.of(entry.orderId);
+    }
+
+    /**
+     * Drop an order from the overflow queue, or from this transaction's own additions to it
+     */
+    private void removeOverflowEntry(Long orderId, Pending pending) {
+        if (pending != null) {
+            pending.overflowAdds.remove(orderId);
+        }
+        QueueEntry entry = overflowIndex.remove(orderId);
+        if (entry != null) {
+            overflow.remove(entry);
+            taken(null, () -> restoreOverflow(entry));
+        }
+    }
+
+    private void addOverflow(QueueEntry entry) {
+        overflow.add(entry);
+        overflowIndex.put(entry.orderId, entry);
+    }
+
+    // Put an entry (back) in unless the order was queued again meanwhile
+    private void restoreOverflow(QueueEntry entry) {
+        if (!overflowIndex.containsKey(entry.orderId)) {
+            addOverflow(entry);
+        }
+    }
+
+    private static void addIfAbsent(StaffQueues queues, QueueEntry entry) {
+        if (!queues.contains(entry.orderId)) {
+            queues.add(entry);
+        }
+    }
+
+    // ==================== WAITER QUEUES ====================
+
+    public synchronized long enqueueWaiter(Long orderId, Long waiterId) {
+        Pending pending = pending();
+        if (waiterQueues.contains(orderId) || (pending != null && pending.waiterAdds.containsKey(orderId))) {
+            return -1;
+        }
+        QueueEntry entry = new QueueEntry(orderId, waiterId, ++sequence, LocalDateTime.now());
+        if (pending != null) {
+            pending.waiterAdds.put(orderId, entry);
+            pending.ops.add(JournalOp.add(false, entry));
+        } else {
+            waiterQueues.add(entry);
+            journal.add(JournalOp.add(false, entry));
+        }
+        return entry.position;
+    }
+
+    public synchronized Optional<Long> pollWaiter(Long waiterId) {
+        QueueEntry entry = waiterQueues.poll(waiterId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        taken(JournalOp.remove(false, entry.orderId), () -> addIfAbsent(waiterQueues, entry));
+        return Optional.of(entry.orderId);
+    }
+
+    /**
+     * Order ids queued for this waiter, in queue order (snapshot)
+     */
+    public synchronized List<Long> waiterQueue(Long waiterId) {
+        return waiterQueues.orderIdsOf(waiterId);
+    }
+
+    public synchronized boolean isQueuedForWaiter(Long orderId) {
+        Pending pending = pending();
+        return waiterQueues.contains(orderId) || (pending != null && pending.waiterAdds.containsKey(orderId));
+    }
+
+    // ==================== REMOVAL ====================
+
+    /**
+     * Drop an order from the chef side (own queue or overflow), e.g. when it is assigned directly
+     */
+    public synchronized void removeFromChefQueue(Long orderId) {
+        Pending pending = pending();
+        if (pending != null && pending.chefAdds.remove(orderId) != null) {
+            pending.ops.add(JournalOp.remove(true, orderId));
+        }
+        QueueEntry entry = chefQueues.remove(orderId);
+        if (entry != null) {
+            taken(JournalOp.remove(true, orderId), () -> addIfAbsent(chefQueues, entry));
+        }
+        removeOverflowEntry(orderId, pending);
+    }
+
+    public synchronized void removeFromWaiterQueue(Long orderId) {
+        Pending pending = pending();
+        if (pending != null && pending.waiterAdds.remove(orderId) != null) {
+            pending.ops.add(JournalOp.remove(false, orderId));
+        }
+        QueueEntry entry = waiterQueues.remove(orderId);
+        if (entry != null) {
+            taken(JournalOp.remove(false, orderId), () -> addIfAbsent(waiterQueues, entry));
+        }
+    }
+
+    /**
+     * Order is finished or cancelled - drop it from every queue
+     */
+    public synchronized void removeOrder(Long orderId) {
+        removeFromChefQueue(orderId);
+        removeFromWaiterQueue(orderId);
+    }
+
+    // ==================== TRANSACTIONS ====================
+
+    /**
+     * Changes of the current transaction, or null outside one (changes then apply at once)
+     */
+    private Pending pending() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new Pending();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    /**
+     * An entry was taken out of a queue: journal the removal on commit, put it back on rollback
+     */
+    private void taken(JournalOp op, Runnable restore) {
+        Pending pending = pending();
+        if (pending == null) {
+            if (op != null) {
+                journal.add(op);
+            }
+            return;
+        }
+        if (op != null) {
+            pending.ops.add(op);
+        }
+        pending.restores.add(restore);
+    }
+
+    /**
+     * One transaction's queue changes. Applied to the queues and journal in one step at commit.
+     */
+    private final class Pending implements TransactionSynchronization {
+        private final Map<Long, QueueEntry> chefAdds = new LinkedHashMap<>();
+        private final Map<Long, QueueEntry> waiterAdds = new LinkedHashMap<>();
+        private final Map<Long, QueueEntry> overflowAdds = new LinkedHashMap<>();
+        private final List<JournalOp> ops = new ArrayList<>();
+        private final List<Runnable> restores = new ArrayList<>();
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(KitchenDispatchEngine.this);
+            synchronized (KitchenDispatchEngine.this) {
+                if (status == STATUS_COMMITTED) {
+                    journal.addAll(ops);
+                    chefAdds.values().forEach(entry -> addIfAbsent(chefQueues, entry));
+                    waiterAdds.values().forEach(entry -> addIfAbsent(waiterQueues, entry));
+                    overflowAdds.values().forEach(entry -> {
+                        if (!chefQueues.contains(entry.orderId) && !overflowIndex.containsKey(entry.orderId)) {
+                            addOverflow(entry);
+                        }
+                    });
+                } else {
+                    for (int i = restores.size() - 1; i >= 0; i--) {
+                        restores.get(i).run();
+                    }
+                }
+            }
+        }
+    }
+
+    // ==================== WRITE-BEHIND FLUSH ====================
+
+    @Scheduled(fixedDelay = 1000)
+    public void flushJournal() {
+        // One flush at a time, so ops reach the tables in journal order
+        synchronized (flushLock) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        List<JournalOp> batch = new ArrayList<>();
+        JournalOp op;
+        while ((op = journal.poll()) != null) {
+            batch.add(op);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> batch.forEach(this::apply));
+        } catch (RuntimeException e) {
+            // One bad op (e.g. order deleted meanwhile) must not block the rest
+            log.warn("⚠️ Queue journal batch failed, applying one by one: {}", e.getMessage());
+            for (JournalOp single : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> apply(single));
+                } catch (RuntimeException ex) {
+                    log.warn("⚠️ Dropped queue journal entry for Order #{}: {}", single.orderId, ex.getMessage());
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flushJournal();
+    }
+
+    private void apply(JournalOp op) {
+        if (op.add) {
+            if (op.chef) {
+                chefQueueRepository.saveAndFlush(ChefQueue.builder()
+                        .order(orderRepository.getReferenceById(op.orderId))
+                        .chef(userRepository.getReferenceById(op.staffId))
+                        .queuePosition((int) op.position)
+                        .createdAt(op.createdAt)
+                        .build());
+            } else {
+                waiterQueueRepository.saveAndFlush(WaiterQueue.builder()
+                        .order(orderRepository.getReferenceById(op.orderId))
+                        .waiter(userRepository.getReferenceById(op.staffId))
+                        .queuePosition((int) op.position)
+                        .createdAt(op.createdAt)
+                        .build());
+            }
+        } else if (op.chef) {
+            chefQueueRepository.deleteByOrderId(op.orderId);
+        } else {
+            waiterQueueRepository.deleteByOrderId(op.orderId);
+        }
+    }
+
+    // ==================== INTERNALS ====================
+
+    private static final class QueueEntry implements Comparable<QueueEntry> {
+        private final Long orderId;
+        private final Long staffId;
+        private final long position;
+        private final LocalDateTime createdAt;
+
+        private QueueEntry(Long orderId, Long staffId, long position, LocalDateTime createdAt) {
+            this.orderId = orderId;
+            this.staffId = staffId;
+            this.position = position;
+            this.createdAt = createdAt;
+        }
+
+        @Override
+        public int compareTo(QueueEntry other) {
+            int byPosition = Long.compare(position, other.position);
+            return byPosition != 0 ? byPosition : orderId.compareTo(other.orderId);
+        }
+    }
+
+    /**
+     * Per-staff ordered sets plus an orderId index for O(log n) removal
+     */
+    private static final class StaffQueues {
+        private final Map<Long, TreeSet<QueueEntry>> byStaff = new HashMap<>();
+        private final Map<Long, QueueEntry> byOrder = new HashMap<>();
+
+        void add(QueueEntry entry) {
+            byStaff.computeIfAbsent(entry.staffId, id -> new TreeSet<>()).add(entry);
+            byOrder.put(entry.orderId, entry);
+        }
+
+        QueueEntry poll(Long staffId) {
+            TreeSet<QueueEntry> queue = byStaff.get(staffId);
+            QueueEntry entry = queue != null ? queue.pollFirst() : null;
+            if (entry != null) {
+                byOrder.remove(entry.orderId);
+            }
+            return entry;
+        }
+
+        QueueEntry remove(Long orderId) {
+            QueueEntry entry = byOrder.remove(orderId);
+            if (entry != null) {
+                byStaff.get(entry.staffId).remove(entry);
+            }
+            return entry;
+        }
+
+        boolean contains(Long orderId) {
+            return byOrder.containsKey(orderId);
+        }
+
+        int sizeOf(Long staffId) {
+            TreeSet<QueueEntry> queue = byStaff.get(staffId);
+            return queue != null ? queue.size() : 0;
+        }
+
+        int size() {
+            return byOrder.size();
+        }
+
+        List<Long> orderIdsOf(Long staffId) {
+            TreeSet<QueueEntry> queue = byStaff.get(staffId);
+            if (queue == null) {
+                return List.of();
+            }
+            List<Long> ids = new ArrayList<>(queue.size());
+            queue.forEach(entry -> ids.add(entry.orderId));
+            return ids;
+        }
+    }
+
+    private static final class JournalOp {
+        private final boolean add;
+        private final boolean chef;
+        private final Long orderId;
+        private final Long staffId;
+        private final long position;
+        private final LocalDateTime createdAt;
+
+        private JournalOp(boolean add, boolean chef, Long orderId, Long staffId, long position, LocalDateTime createdAt) {
+            this.add = add;
+            this.chef = chef;
+            this.orderId = orderId;
+            this.staffId = staffId;
+            this.position = position;
+            this.createdAt = createdAt;
+        }
+
+        static JournalOp add(boolean chef, QueueEntry entry) {
+            return new JournalOp(true, chef, entry.orderId, entry.staffId, entry.position, entry.createdAt);
+        }
+
+        static JournalOp remove(boolean chef, Long orderId) {
+            return new JournalOp(false, chef, orderId, null, 0, null);
+        }
+    }
+}
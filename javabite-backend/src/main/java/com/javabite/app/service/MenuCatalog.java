@@ -0,0 +1,157 @@
+package com.javabite.app.service;
+
+import com.javabite.app.model.MenuItem;
+import com.javabite.app.repository.MenuItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versioned in-memory snapshot of the menu.
+ *
+ * Loaded with one query on first use and rebuilt lazily after {@link #invalidate()}
+ * (called by MenuService on every change, effective once the change commits).
+ * Callers get copies, never the shared snapshot objects.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MenuCatalog {
+
+    private final MenuItemRepository menuItemRepository;
+
+    private final AtomicLong version = new AtomicLong(1);
+    private volatile Snapshot snapshot;
+
+    /**
+     * Current snapshot, loading it if it was invalidated
+     */
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null && current.version == version.get()) {
+            return current;
+        }
+        return reload();
+    }
+
+    private synchronized Snapshot reload() {
+        long loadingVersion = version.get();
+        if (snapshot != null && snapshot.version == loadingVersion) {
+            return snapshot;
+        }
+
+        Map<Long, MenuItem> items = new LinkedHashMap<>();
+        for (MenuItem item : menuItemRepository.findAll(Sort.by("id"))) {
+            items.put(item.getId(), copyOf(item));
+        }
+
+        Snapshot loaded = new Snapshot(loadingVersion, Collections.unmodifiableMap(items));
+        // A change committed while loading bumps the version; the next caller reloads again
+        snapshot = loaded;
+        log.info("📖 Menu snapshot v{} loaded ({} items)", loadingVersion, items.size());
+        return loaded;
+    }
+
+    /**
+     * Drop the snapshot. Inside a transaction this takes effect after commit,
+     * so a concurrent reload can't capture uncommitted data.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+        } else {
+            version.incrementAndGet();
+        }
+    }
+
+    /**
+     * Resolve all requested menu items for an order, all-or-nothing.
+     * Served from the snapshot; ids it doesn't know (e.g. just created) are fetched
+     * with a single findAllById. Unknown or unavailable items are rejected.
+     */
+    public Map<Long, MenuItem> resolveForOrder(Collection<Long> menuItemIds) {
+        Snapshot current = current();
+        Map<Long, MenuItem> resolved = new HashMap<>();
+        Set<Long> missing = new HashSet<>();
+
+        for (Long id : menuItemIds) {
+            MenuItem item = current.items.get(id);
+            if (item != null) {
+                resolved.put(id, copyOf(item));
+            } else {
+                missing.add(id);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            for (MenuItem item : menuItemRepository.findAllById(missing)) {
+                resolved.put(item.getId(), item);
+                missing.remove(item.getId());
+            }
+            if (!missing.isEmpty()) {
+                throw new RuntimeException("Menu item not found: " + missing.iterator().next());
+            }
+            // Snapshot was behind the database
+            invalidate();
+        }
+
+        for (MenuItem item : resolved.values()) {
+            if (!item.isAvailable()) {
+                throw new RuntimeException("Menu item is currently unavailable: " + item.getName());
+            }
+        }
+
+        return resolved;
+    }
+
+    static MenuItem copyOf(MenuItem item) {
+        return MenuItem.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .price(item.getPrice())
+                .imageUrl(item.getImageUrl())
+                .category(item.getCategory())
+                .available(item.isAvailable())
+                .createdAt(item.getCreatedAt())
+                .updatedAt(item.getUpdatedAt())
+                .build();
+    }
+
+    /**
+     * Immutable menu as of one version
+     */
+    public static final class Snapshot {
+        private final long version;
+        private final Map<Long, MenuItem> items;
+
+        private Snapshot(long version, Map<Long, MenuItem> items) {
+            this.version = version;
+            this.items = items;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        /**
+         * Copies of all items, in id order
+         */
+        public List<MenuItem> getItems() {
+            List<MenuItem> copies = new ArrayList<>(items.size());
+            items.values().forEach(item -> copies.add(copyOf(item)));
+            return copies;
+        }
+    }
+}
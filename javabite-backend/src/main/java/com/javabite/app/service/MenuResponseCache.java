@@ -0,0 +1,121 @@
+package com.javabite.app.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.javabite.app.model.Category;
+import com.javabite.app.payload.ApiResponse;
+import com.javabite.app.payload.MenuItemResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Ready-to-send menu list responses.
+ *
+ * One entry per view (category or whole menu, available only or all), rendered from the
+ * MenuCatalog snapshot once per menu version: JSON bytes, a gzipped copy and a content
+ * hash ETag. Every menu change goes through MenuService, which bumps the catalog version,
+ * so a view is re-rendered at most once per change and reads never touch the database.
+ * A matching If-None-Match is answered with 304 by Spring (ResponseEntity ETag handling).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MenuResponseCache {
+
+    private static final String MESSAGE = "Menu items retrieved successfully";
+
+    private final MenuCatalog menuCatalog;
+    private final ObjectMapper objectMapper;
+
+    private final Map<View, Rendered> views = new ConcurrentHashMap<>();
+
+    /**
+     * Menu list response for a view; category null = all categories
+     */
+    public ResponseEntity<byte[]> respond(Category category, boolean availableOnly, String acceptEncoding) {
+        Rendered rendered = get(category, availableOnly);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            // Already compressed - server compression leaves responses with a Content-Encoding alone
+            return response.eTag(rendered.etag + "-gz")
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(rendered.gzip);
+        }
+        return response.eTag(rendered.etag).body(rendered.json);
+    }
+
+    Rendered get(Category category, boolean availableOnly) {
+        MenuCatalog.Snapshot snapshot = menuCatalog.current();
+        View view = new View(category, availableOnly);
+
+        Rendered cached = views.get(view);
+        if (cached != null && cached.version == snapshot.getVersion()) {
+            return cached;
+        }
+
+        Rendered fresh = render(snapshot, view);
+        // A slower render of an older version must not replace a newer one
+        return views.merge(view, fresh, (old, candidate) -> candidate.version >= old.version ? candidate : old);
+    }
+
+    private Rendered render(MenuCatalog.Snapshot snapshot, View view) {
+        List<MenuItemResponse> items = snapshot.getItems().stream()
+                .filter(item -> !view.availableOnly || item.isAvailable())
+                .filter(item -> view.category == null || item.getCategory() == view.category)
+                .map(MenuItemResponse::fromEntity)
+                .toList();
+
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(new ApiResponse(true, MESSAGE, items));
+            log.debug("📖 Rendered menu view {} for v{} ({} items, {} bytes)",
+                    view, snapshot.getVersion(), items.size(), json.length);
+            return new Rendered(snapshot.getVersion(), etagOf(json), json, gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to render menu", e);
+        }
+    }
+
+    // Content hash, so every node hands out the same ETag for the same menu
+    private static String etagOf(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private record View(Category category, boolean availableOnly) {}
+
+    record Rendered(long version, String etag, byte[] json, byte[] gzip) {}
+}
@@ -0,0 +1,449 @@
+package com.javabite.app.service;
+
+import com.javabite.app.model.MenuItem;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory inverted index over menu item name, description and category.
+ *
+ * - terms are lowercased, accent-stripped words; each posting keeps the best field the
+ *   term appears in (name > category > description)
+ * - a query word matches a term exactly, as a prefix, or within one edit (words of 4+
+ *   letters); fuzzy candidates come from a one-deletion index, so no term scan
+ * - every query word must match; items are ranked by field weight x match quality
+ * - items live in int slots and postings are int arrays, so a query scores into reused
+ *   per-thread arrays instead of boxed maps
+ *
+ * Built from the MenuCatalog snapshot on first use. MenuService pushes every change
+ * through {@link #indexed(MenuItem)} / {@link #removed(Long)}, applied once it commits.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MenuSearchIndex {
+
+    public static final int MAX_RESULTS = 50;
+
+    private static final int NAME = 3;
+    private static final int CATEGORY = 2;
+    private static final int DESCRIPTION = 1;
+
+    private static final double EXACT = 1.0;
+    private static final double PREFIX = 0.6;
+    private static final double FUZZY = 0.4;
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    private final MenuCatalog menuCatalog;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Doc> slots = new ArrayList<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final Map<Long, Integer> slotOf = new HashMap<>();
+    private final NavigableMap<String, Posting> postings = new TreeMap<>();
+    // term with one letter deleted (and the term itself) -> terms
+    private final Map<String, Set<String>> deletions = new HashMap<>();
+    private volatile boolean loaded;
+
+    private final ThreadLocal<Scores> scratch = ThreadLocal.withInitial(Scores::new);
+
+    // ==================== QUERIES ====================
+
+    /**
+     * Best matches first; unavailable items are left out unless asked for
+     */
+    public List<MenuItem> search(String query, boolean availableOnly, int limit) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        ensureLoaded();
+
+        lock.readLock().lock();
+        try {
+            Scores scores = scratch.get().reset(slots.size());
+            for (int w = 0; w < words.size(); w++) {
+                match(words.get(w), scores);
+                // Every word must match
+                if (scores.combine(w) == 0) {
+                    return List.of();
+                }
+            }
+
+            String phrase = String.join(" ", words);
+            PriorityQueue<Hit> top = new PriorityQueue<>(Hit.WORST_FIRST);
+            int max = Math.max(1, Math.min(limit, MAX_RESULTS));
+            for (int i = 0; i < scores.candidates; i++) {
+                int slot = scores.candidate[i];
+                Doc doc = slots.get(slot);
+                if (scores.matched[slot] != words.size() || (availableOnly && !doc.item.isAvailable())) {
+                    continue;
+                }
+                double score = scores.total[slot];
+                if (doc.normalizedName.startsWith(phrase)) {
+                    score += NAME;
+                }
+                if (top.size() == max && Hit.compare(score, doc, top.peek()) <= 0) {
+                    continue;
+                }
+                top.add(new Hit(doc, score));
+                if (top.size() > max) {
+                    top.poll();
+                }
+            }
+
+            List<Hit> ranked = new ArrayList<>(top);
+            ranked.sort(Hit.WORST_FIRST.reversed());
+            List<MenuItem> results = new ArrayList<>(ranked.size());
+            ranked.forEach(hit -> results.add(MenuCatalog.copyOf(hit.doc.item)));
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Item names for a partly typed query
+     */
+    public List<String> suggest(String prefix, boolean availableOnly, int limit) {
+        return search(prefix, availableOnly, limit).stream().map(MenuItem::getName).toList();
+    }
+
+    // Best score of one query word per slot, over all terms it matches
+    private void match(String word, Scores scores) {
+        for (Map.Entry<String, Posting> term : postings.subMap(word, true, word + Character.MAX_VALUE, false).entrySet()) {
+            double quality = term.getKey().length() == word.length() ? EXACT : PREFIX;
+            scores.collect(term.getValue(), quality);
+        }
+
+        if (word.length() >= MIN_FUZZY_LENGTH) {
+            Set<String> candidates = new HashSet<>();
+            addAll(candidates, deletions.get(word));
+            for (int i = 0; i < word.length(); i++) {
+                addAll(candidates, deletions.get(deleteAt(word, i)));
+            }
+            for (String term : candidates) {
+                if (!term.startsWith(word) && withinOneEdit(word, term)) {
+                    scores.collect(postings.get(term), FUZZY);
+                }
+            }
+        }
+    }
+
+    private static void addAll(Set<String> target, Set<String> terms) {
+        if (terms != null) {
+            target.addAll(terms);
+        }
+    }
+
+    // ==================== UPDATES ====================
+
+    /**
+     * (Re)index a saved item (after commit when called inside a transaction)
+     */
+    public void indexed(MenuItem item) {
+        MenuItem copy = MenuCatalog.copyOf(item);
+        afterCommit(() -> apply(copy.getId(), copy));
+    }
+
+    public void removed(Long itemId) {
+        afterCommit(() -> apply(itemId, null));
+    }
+
+    private void apply(Long itemId, MenuItem item) {
+        lock.writeLock().lock();
+        try {
+            // Not loaded yet: the first load reads the committed menu anyway
+            if (!loaded) {
+                return;
+            }
+            unindex(itemId);
+            if (item != null) {
+                index(item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ==================== INTERNALS ====================
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            menuCatalog.current().getItems().forEach(this::index);
+            loaded = true;
+            log.info("🔎 Menu search index built ({} items, {} terms)", slotOf.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(MenuItem item) {
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, item.getName(), NAME);
+        addTerms(terms, item.getCategory() != null ? item.getCategory().name() : null, CATEGORY);
+        addTerms(terms, item.getDescription(), DESCRIPTION);
+
+        Doc doc = new Doc(item, String.join(" ", tokenize(item.getName())), terms.keySet());
+        Integer free = freeSlots.poll();
+        int slot;
+        if (free != null) {
+            slot = free;
+            slots.set(slot, doc);
+        } else {
+            slot = slots.size();
+            slots.add(doc);
+        }
+        slotOf.put(item.getId(), slot);
+
+        terms.forEach((term, weight) -> {
+            Posting posting = postings.get(term);
+            if (posting == null) {
+                posting = new Posting();
+                postings.put(term, posting);
+                forEachDeletion(term, key -> deletions.computeIfAbsent(key, k -> new HashSet<>()).add(term));
+            }
+            posting.add(slot, weight);
+        });
+    }
+
+    private void unindex(Long itemId) {
+        Integer slot = slotOf.remove(itemId);
+        if (slot == null) {
+            return;
+        }
+        Doc doc = slots.set(slot, null);
+        freeSlots.push(slot);
+
+        for (String term : doc.terms) {
+            Posting posting = postings.get(term);
+            posting.remove(slot);
+            if (posting.size == 0) {
+                postings.remove(term);
+                forEachDeletion(term, key -> {
+                    // A key can come up twice for one term (double letters)
+                    Set<String> terms = deletions.get(key);
+                    if (terms != null && terms.remove(term) && terms.isEmpty()) {
+                        deletions.remove(key);
+                    }
+                });
+            }
+        }
+    }
+
+    private static void addTerms(Map<String, Integer> terms, String text, int weight) {
+        for (String term : tokenize(text)) {
+            terms.merge(term, weight, Math::max);
+        }
+    }
+
+    private static void forEachDeletion(String term, Consumer<String> action) {
+        action.accept(term);
+        if (term.length() >= MIN_FUZZY_LENGTH) {
+            for (int i = 0; i < term.length(); i++) {
+                action.accept(deleteAt(term, i));
+            }
+        }
+    }
+
+    private static String deleteAt(String word, int index) {
+        return word.substring(0, index) + word.substring(index + 1);
+    }
+
+    /**
+     * Lowercase, accent-free words of letters and digits ("Crème Brûlée" -> creme, brulee)
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String plain = Normalizer.normalize(text, Normalizer.Form.NFD);
+        List<String> words = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < plain.length(); i++) {
+            char c = plain.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (Character.getType(c) != Character.NON_SPACING_MARK && word.length() > 0) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+        }
+        if (word.length() > 0) {
+            words.add(word.toString());
+        }
+        return words;
+    }
+
+    /**
+     * Levenshtein distance <= 1, counting a swap of neighbours as one edit
+     */
+    static boolean withinOneEdit(String a, String b) {
+        int lengthDiff = a.length() - b.length();
+        if (Math.abs(lengthDiff) > 1) {
+            return false;
+        }
+        int i = 0;
+        while (i < a.length() && i < b.length() && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        if (lengthDiff > 0) {
+            return a.regionMatches(i + 1, b, i, b.length() - i);
+        }
+        if (lengthDiff < 0) {
+            return b.regionMatches(i + 1, a, i, a.length() - i);
+        }
+        if (i == a.length()) {
+            return true;
+        }
+        if (a.regionMatches(i + 1, b, i + 1, a.length() - i - 1)) {
+            return true;
+        }
+        // Transposed neighbours
+        return i + 1 < a.length()
+                && a.charAt(i) == b.charAt(i + 1) && a.charAt(i + 1) == b.charAt(i)
+                && a.regionMatches(i + 2, b, i + 2, a.length() - i - 2);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record Doc(MenuItem item, String normalizedName, Set<String> terms) {}
+
+    /**
+     * Slots holding a term, with the term's field weight in each
+     */
+    private static final class Posting {
+        private int[] slots = new int[4];
+        private int[] weights = new int[4];
+        private int size;
+
+        void add(int slot, int weight) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            slots[size] = slot;
+            weights[size] = weight;
+            size++;
+        }
+
+        void remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    size--;
+                    slots[i] = slots[size];
+                    weights[i] = weights[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Per-thread scoring arrays, indexed by slot and reused across queries
+     */
+    private static final class Scores {
+        private double[] total = new double[0];
+        private int[] matched = new int[0];
+        private double[] wordBest = new double[0];
+        // Slots the current word hit, and slots the first word hit (the only possible results)
+        private int[] touched = new int[0];
+        private int touchedCount;
+        private int[] candidate = new int[0];
+        private int candidates;
+
+        Scores reset(int capacity) {
+            if (total.length < capacity) {
+                total = new double[capacity];
+                matched = new int[capacity];
+                wordBest = new double[capacity];
+                touched = new int[capacity];
+                candidate = new int[capacity];
+            } else {
+                for (int i = 0; i < candidates; i++) {
+                    total[candidate[i]] = 0;
+                    matched[candidate[i]] = 0;
+                }
+            }
+            touchedCount = 0;
+            candidates = 0;
+            return this;
+        }
+
+        void collect(Posting posting, double quality) {
+            for (int i = 0; i < posting.size; i++) {
+                int slot = posting.slots[i];
+                double score = posting.weights[i] * quality;
+                if (wordBest[slot] == 0) {
+                    touched[touchedCount++] = slot;
+                }
+                if (score > wordBest[slot]) {
+                    wordBest[slot] = score;
+                }
+            }
+        }
+
+        /**
+         * Fold the current word into the totals; returns how many slots matched every word so far
+         */
+        int combine(int wordIndex) {
+            int stillMatching = 0;
+            for (int i = 0; i < touchedCount; i++) {
+                int slot = touched[i];
+                if (wordIndex == 0) {
+                    candidate[candidates++] = slot;
+                }
+                if (matched[slot] == wordIndex) {
+                    matched[slot] = wordIndex + 1;
+                    total[slot] += wordBest[slot];
+                    stillMatching++;
+                }
+                wordBest[slot] = 0;
+            }
+            touchedCount = 0;
+            return stillMatching;
+        }
+    }
+
+    private record Hit(Doc doc, double score) {
+        // Lowest score first, then later name, so the queue drops the weakest hit
+        static final Comparator<Hit> WORST_FIRST = (a, b) -> compare(a.score, a.doc, b);
+
+        // > 0 if (score, doc) ranks above the hit
+        static int compare(double score, Doc doc, Hit hit) {
+            int byScore = Double.compare(score, hit.score);
+            if (byScore != 0) {
+                return byScore;
+            }
+            int byName = hit.doc.item.getName().compareTo(doc.item.getName());
+            return byName != 0 ? byName : hit.doc.item.getId().compareTo(doc.item.getId());
+        }
+    }
+}
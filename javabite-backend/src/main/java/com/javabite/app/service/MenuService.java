@@ -15,6 +15,8 @@ import java.util.List;
 @Slf4j
 public class MenuService {
     private final MenuItemRepository menuItemRepository;
+    private final MenuCatalog menuCatalog;
+    private final MenuSearchIndex menuSearchIndex;
 
     public List<MenuItem> getAllMenuItems() {
         return menuItemRepository.findAll();
@@ -45,6 +47,8 @@ public class MenuService {
                 .build();
 
         MenuItem saved = menuItemRepository.save(menuItem);
+        menuCatalog.invalidate();
+        menuSearchIndex.indexed(saved);
         log.info("Created menu item: {}", saved.getName());
         return saved;
     }
@@ -61,14 +65,30 @@ public class MenuService {
         // available field stays unchanged
 
         MenuItem updated = menuItemRepository.save(menuItem);
+        menuCatalog.invalidate();
+        menuSearchIndex.indexed(updated);
         log.info("Updated menu item: {}", updated.getName());
         return updated;
     }
 
+    @Transactional
+    public MenuItem toggleAvailability(Long id) {
+        MenuItem menuItem = getMenuItemById(id);
+        menuItem.setAvailable(!menuItem.isAvailable());
+
+        MenuItem updated = menuItemRepository.save(menuItem);
+        menuCatalog.invalidate();
+        menuSearchIndex.indexed(updated);
+        log.info("Menu item {} is now {}", updated.getName(), updated.isAvailable() ? "available" : "unavailable");
+        return updated;
+    }
+
     @Transactional
     public void deleteMenuItem(Long id) {
         MenuItem menuItem = getMenuItemById(id);
         menuItemRepository.delete(menuItem);
+        menuCatalog.invalidate();
+        menuSearchIndex.removed(id);
         log.info("Deleted menu item: {}", menuItem.getName());
     }
 
@@ -0,0 +1,297 @@
+package com.javabite.app.service;
+
+import com.javabite.app.event.OrderEvent;
+import com.javabite.app.payload.OrderStreamEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Server-Sent Events push for order changes.
+ *
+ * Channels:
+ * - chef:{id}     orders assigned to (or taken away from) a chef
+ * - waiter:{id}   orders assigned to (or taken away from) a waiter
+ * - admin         every order change
+ * - order:{id}    one order, for the customer who placed it
+ *
+ * Every event gets an id "{epoch}-{sequence}". The last REPLAY_BUFFER_SIZE events are
+ * kept in memory so a reconnecting client (Last-Event-ID header) receives what it missed.
+ * If that is no longer possible (buffer overrun or server restart) the client gets a
+ * "resync" event and should refetch once.
+ *
+ * Each subscriber has its own queue, filled in sequence order under the global lock and
+ * sent outside it, so a slow or stalled client only ever holds up itself. A client that
+ * falls more than MAX_PENDING events behind is dropped and catches up by reconnecting.
+ */
+@Service
+@Slf4j
+public class OrderEventStreamService {
+
+    public static final String ADMIN_CHANNEL = "admin";
+    public static final String RESYNC_EVENT = "resync";
+
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+    private static final int REPLAY_BUFFER_SIZE = 500;
+    private static final int MAX_PENDING = 1000;
+
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    // Replay buffer, sequence and queueing onto subscribers are guarded by "lock", so every
+    // subscriber queues events in sequence order and a reconnecting client gets the
+    // replayed ones first. Sending happens outside it.
+    private final Object lock = new Object();
+    private final Deque<BufferedEvent> replayBuffer = new ArrayDeque<>();
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private long sequence;
+
+    public static String chefChannel(Long chefId) {
+        return "chef:" + chefId;
+    }
+
+    public static String waiterChannel(Long waiterId) {
+        return "waiter:" + waiterId;
+    }
+
+    public static String orderChannel(Long orderId) {
+        return "order:" + orderId;
+    }
+
+    // ==================== SUBSCRIBE ====================
+
+    /**
+     * Open a stream on one channel, replaying anything after lastEventId
+     */
+    public SseEmitter subscribe(String channel, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        Subscriber subscriber = new Subscriber(channel, emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        synchronized (lock) {
+            replay(channel, lastEventId, subscriber);
+            subscribers.computeIfAbsent(channel, c -> new CopyOnWriteArraySet<>()).add(subscriber);
+        }
+        subscriber.flush();
+
+        log.info("📡 SSE subscriber on {} ({} open)", channel, subscribers.get(channel).size());
+        return emitter;
+    }
+
+    private void replay(String channel, String lastEventId, Subscriber subscriber) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return;
+        }
+
+        long lastSequence = parseSequence(lastEventId);
+        long oldestBuffered = replayBuffer.isEmpty() ? sequence + 1 : replayBuffer.peekFirst().sequence;
+
+        // Unknown epoch, or the client missed events that already fell out of the buffer
+        if (lastSequence < 0 || lastSequence + 1 < oldestBuffered) {
+            subscriber.enqueue(() -> SseEmitter.event().name(RESYNC_EVENT).data("refetch"));
+            return;
+        }
+
+        for (BufferedEvent event : replayBuffer) {
+            if (event.sequence > lastSequence && event.channels.contains(channel)) {
+                subscriber.enqueue(event::toSse);
+            }
+        }
+    }
+
+    private long parseSequence(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        Set<Subscriber> channelSubscribers = subscribers.get(subscriber.channel);
+        if (channelSubscribers != null) {
+            channelSubscribers.remove(subscriber);
+        }
+    }
+
+    // ==================== PUBLISH ====================
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        if (event.getOrder() == null) {
+            return;
+        }
+
+        Set<String> channels = channelsFor(event);
+        OrderStreamEvent data = OrderStreamEvent.builder()
+                .type(event.getType())
+                .previousStatus(event.getPreviousStatus())
+                .previousChefId(event.getPreviousChefId())
+                .previousWaiterId(event.getPreviousWaiterId())
+                .occurredAt(event.getOccurredAt())
+                .order(event.getOrder())
+                .build();
+
+        List<Subscriber> recipients = new ArrayList<>();
+        synchronized (lock) {
+            BufferedEvent buffered = new BufferedEvent(++sequence, epoch, channels, data);
+            replayBuffer.addLast(buffered);
+            if (replayBuffer.size() > REPLAY_BUFFER_SIZE) {
+                replayBuffer.removeFirst();
+            }
+
+            for (String channel : channels) {
+                for (Subscriber subscriber : subscribers.getOrDefault(channel, Set.of())) {
+                    subscriber.enqueue(buffered::toSse);
+                    recipients.add(subscriber);
+                }
+            }
+        }
+        recipients.forEach(Subscriber::flush);
+    }
+
+    private Set<String> channelsFor(OrderEvent event) {
+        Set<String> channels = new HashSet<>();
+        channels.add(ADMIN_CHANNEL);
+        channels.add(orderChannel(event.getOrderId()));
+        if (event.getChefId() != null) {
+            channels.add(chefChannel(event.getChefId()));
+        }
+        if (event.getPreviousChefId() != null) {
+            channels.add(chefChannel(event.getPreviousChefId()));
+        }
+        if (event.getWaiterId() != null) {
+            channels.add(waiterChannel(event.getWaiterId()));
+        }
+        if (event.getPreviousWaiterId() != null) {
+            channels.add(waiterChannel(event.getPreviousWaiterId()));
+        }
+        return channels;
+    }
+
+    /**
+     * Comment line every 25s so proxies don't close idle streams
+     */
+    @Scheduled(fixedRate = 25000)
+    public void heartbeat() {
+        for (Set<Subscriber> channelSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : channelSubscribers) {
+                subscriber.enqueue(() -> SseEmitter.event().comment("ping"));
+                subscriber.flush();
+            }
+        }
+    }
+
+    /**
+     * One open stream with its queue of unsent events. SseEventBuilder is single-use,
+     * so events are queued as suppliers and built at send time.
+     */
+    private final class Subscriber {
+        private final String channel;
+        private final SseEmitter emitter;
+        // Guarded by itself
+        private final Deque<Supplier<SseEmitter.SseEventBuilder>> pending = new ArrayDeque<>();
+        // Held while sending, so events go out one at a time and in queue order
+        private final ReentrantLock sendLock = new ReentrantLock();
+        private volatile boolean closed;
+
+        private Subscriber(String channel, SseEmitter emitter) {
+            this.channel = channel;
+            this.emitter = emitter;
+        }
+
+        private void enqueue(Supplier<SseEmitter.SseEventBuilder> sseEvent) {
+            boolean overflow;
+            synchronized (pending) {
+                pending.addLast(sseEvent);
+                overflow = pending.size() > MAX_PENDING;
+            }
+            if (overflow) {
+                close(new IOException("SSE client fell too far behind"));
+            }
+        }
+
+        /**
+         * Send everything queued. If another thread is already sending to this client it
+         * picks up the new events, so the caller never waits on a slow client twice.
+         */
+        private void flush() {
+            do {
+                if (!sendLock.tryLock()) {
+                    return;
+                }
+                try {
+                    Supplier<SseEmitter.SseEventBuilder> next;
+                    while (!closed && (next = poll()) != null) {
+                        emitter.send(next.get());
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away
+                    close(e);
+                } finally {
+                    sendLock.unlock();
+                }
+            } while (!closed && hasPending());
+        }
+
+        private Supplier<SseEmitter.SseEventBuilder> poll() {
+            synchronized (pending) {
+                return pending.pollFirst();
+            }
+        }
+
+        private boolean hasPending() {
+            synchronized (pending) {
+                return !pending.isEmpty();
+            }
+        }
+
+        private void close(Exception cause) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            remove(this);
+            synchronized (pending) {
+                pending.clear();
+            }
+            emitter.completeWithError(cause);
+        }
+    }
+
+    private static final class BufferedEvent {
+        private final long sequence;
+        private final String id;
+        private final Set<String> channels;
+        private final OrderStreamEvent data;
+
+        private BufferedEvent(long sequence, String epoch, Set<String> channels, OrderStreamEvent data) {
+            this.sequence = sequence;
+            this.id = epoch + "-" + sequence;
+            this.channels = channels;
+            this.data = data;
+        }
+
+        private SseEmitter.SseEventBuilder toSse() {
+            return SseEmitter.event()
+                    .id(id)
+                    .name(data.getType().name())
+                    .data(data);
+        }
+    }
+}
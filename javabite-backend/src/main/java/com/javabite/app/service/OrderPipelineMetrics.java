@@ -0,0 +1,111 @@
+package com.javabite.app.service;
+
+import com.javabite.app.event.AppliedOutboxEvents;
+import com.javabite.app.event.OrderEvent;
+import com.javabite.app.event.OrderEventType;
+import com.javabite.app.model.Category;
+import com.javabite.app.model.OrderStatus;
+import com.javabite.app.payload.OrderItemResponse;
+import com.javabite.app.payload.OrderResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Latency histograms for each stage of the order pipeline, scraped at /actuator/prometheus.
+ *
+ * Timer "javabite.order.stage", tagged stage / category:
+ * - assignment        : createdAt           → chefAssignedAt
+ * - waiter_assignment : createdAt           → waiterAssignedAt
+ * - queue_wait        : chefAssignedAt      → preparationStartedAt
+ * - prep              : preparationStartedAt → readyAt
+ * - pickup            : readyAt             → servedAt
+ * - total             : createdAt           → completedAt
+ *
+ * category is the order's dominant menu category (most items), so each order counts once.
+ * Both tags are bounded enums; per-staff figures would grow the series count with headcount
+ * and belong in the staff rating rollups instead.
+ * Recorded from order events once they commit, so rolled-back changes are never measured.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderPipelineMetrics {
+
+    private static final String METRIC = "javabite.order.stage";
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+    // A redelivered event must not be measured twice
+    private final AppliedOutboxEvents appliedEvents = new AppliedOutboxEvents();
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        OrderResponse order = event.getOrder();
+        if (order == null || !appliedEvents.isNew(event)) {
+            return;
+        }
+
+        boolean chefAssigned = event.getType() == OrderEventType.CHEF_ASSIGNED
+                || (event.getType() == OrderEventType.CREATED && event.getChefId() != null);
+        boolean waiterAssigned = event.getType() == OrderEventType.WAITER_ASSIGNED
+                || (event.getType() == OrderEventType.CREATED && event.getWaiterId() != null);
+        if (chefAssigned) {
+            record("assignment", order, event.getCreatedAt(), event.getChefAssignedAt());
+        }
+        if (waiterAssigned) {
+            record("waiter_assignment", order, event.getCreatedAt(), event.getWaiterAssignedAt());
+        }
+        if (event.getType() == OrderEventType.STATUS_CHANGED) {
+            if (event.getStatus() == OrderStatus.PREPARING) {
+                record("queue_wait", order, event.getChefAssignedAt(), event.getPreparationStartedAt());
+            } else if (event.getStatus() == OrderStatus.READY) {
+                record("prep", order, event.getPreparationStartedAt(), order.getReadyAt());
+            } else if (event.getStatus() == OrderStatus.COMPLETED) {
+                record("pickup", order, order.getReadyAt(), order.getServedAt());
+                record("total", order, event.getCreatedAt(), order.getCompletedAt());
+            }
+        }
+        appliedEvents.applied(event);
+    }
+
+    private void record(String stage, OrderResponse order, LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            return;
+        }
+
+        Timer.builder(METRIC)
+                .description("Time an order spends in each pipeline stage")
+                .tag("stage", stage)
+                .tag("category", categoryTag(order))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(Duration.between(from, to));
+    }
+
+    private static String categoryTag(OrderResponse order) {
+        if (order.getItems() == null || order.getItems().isEmpty()) {
+            return NONE;
+        }
+
+        Map<Category, Integer> quantities = new EnumMap<>(Category.class);
+        for (OrderItemResponse item : order.getItems()) {
+            if (item.getMenuItem() != null && item.getMenuItem().getCategory() != null) {
+                int quantity = item.getQuantity() != null ? item.getQuantity() : 1;
+                quantities.merge(item.getMenuItem().getCategory(), quantity, Integer::sum);
+            }
+        }
+
+        return quantities.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(entry -> entry.getKey().name().toLowerCase())
+                .orElse(NONE);
+    }
+}
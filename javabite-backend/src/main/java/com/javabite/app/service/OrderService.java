@@ -1,15 +1,22 @@
 package com.javabite.app.service;
 
+import com.javabite.app.dto.OrderDTO;
+import com.javabite.app.event.OrderEventPublisher;
 import com.javabite.app.model.*;
 import com.javabite.app.payload.CreateOrderRequest;
+import com.javabite.app.payload.CursorPage;
+import com.javabite.app.payload.KeysetCursor;
+import com.javabite.app.payload.OrderHistoryFilter;
 import com.javabite.app.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -22,14 +29,33 @@ import java.util.stream.Collectors;
 public class OrderService {
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
-    private final MenuItemRepository menuItemRepository;
+    private final MenuCatalog menuCatalog;
     private final TableBookingRepository bookingRepository;
-    private final ChefQueueRepository chefQueueRepository;
-    private final WaiterQueueRepository waiterQueueRepository;
+    private final KitchenDispatchEngine kitchenDispatchEngine;
+    private final OrderEventPublisher orderEventPublisher;
+    private final OrderStatsAggregator orderStatsAggregator;
+    private final IdempotencyService idempotencyService;
+    private final TableAvailabilityIndex tableAvailabilityIndex;
+    private final StaffDirectory staffDirectory;
+    private final StaffCapacityService staffCapacityService;
 
+    private static final int HISTORY_MAX_PAGE_SIZE = 100;
+
+    // Orders a waiter still has to deal with
+    private static final List<OrderStatus> WAITER_OPEN_STATUSES =
+            List.of(OrderStatus.PENDING, OrderStatus.PREPARING, OrderStatus.READY, OrderStatus.SERVED);
 
     @Transactional
     public Order createOrder(Long customerId, CreateOrderRequest request) {
+        return createOrder(customerId, request, null);
+    }
+
+    /**
+     * Create an order; with an idempotency key the key is recorded in the same transaction
+     * (a concurrent duplicate fails with DataIntegrityViolationException and rolls back)
+     */
+    @Transactional
+    public Order createOrder(Long customerId, CreateOrderRequest request, String idempotencyKey) {
         User customer = userRepository.findById(customerId)
                 .orElseThrow(() -> new RuntimeException("Customer not found"));
 
@@ -61,10 +87,14 @@ public class OrderService {
                 .paidAt(LocalDateTime.now())
                 .build();
 
+        // Resolve every menu item up front (snapshot, one bulk query at most);
+        // any unknown or unavailable item rejects the whole order
+        Map<Long, MenuItem> menuItems = menuCatalog.resolveForOrder(
+                request.getItems().stream().map(CreateOrderRequest.OrderItemRequest::getMenuItemId).collect(Collectors.toSet()));
+
         // Add order items
         request.getItems().forEach(itemRequest -> {
-            MenuItem menuItem = menuItemRepository.findById(itemRequest.getMenuItemId())
-                    .orElseThrow(() -> new RuntimeException("Menu item not found"));
+            MenuItem menuItem = menuItems.get(itemRequest.getMenuItemId());
 
             OrderItem orderItem = OrderItem.builder()
                     .order(order)
@@ -120,6 +150,12 @@ public class OrderService {
         log.info("✅ Order created: #{} for Table {} (Booking #{})",
                 savedOrder.getId(), booking.getTableNumber(), booking.getId());
 
+        if (idempotencyKey != null) {
+            idempotencyService.remember(customerId, idempotencyKey, request, savedOrder);
+        }
+
+        orderEventPublisher.created(savedOrder);
+
         return savedOrder;
     }
 
@@ -147,9 +183,13 @@ public class OrderService {
             throw new RuntimeException("Order has no table booking");
         }
 
-        List<Order> tableOrders = orderRepository.findByTableBooking(booking);
+        List<Order> tableOrders = orderRepository.findDetailedByTableBooking(booking);
+        if (tableOrders.stream().noneMatch(o -> o.getChef() == null)) {
+            return order;
+        }
 
-        if (!chef.canAcceptOrder()) {
+        // One unit of capacity per table; none needed if the chef already cooks for it
+        if (!chefWorksTable(chefId, tableOrders, null) && !staffCapacityService.tryAcquire(chefId)) {
             for (Order tableOrder : tableOrders) {
                 if (tableOrder.getChef() == null && !isOrderInChefQueue(tableOrder.getId())) {
                     addToChefQueue(tableOrder, chef);
@@ -161,6 +201,9 @@ public class OrderService {
 
         for (Order tableOrder : tableOrders) {
             if (tableOrder.getChef() == null) {
+                // Assigned directly - it must not be picked from a chef queue later
+                kitchenDispatchEngine.removeFromChefQueue(tableOrder.getId());
+
                 tableOrder.setChef(chef);
                 tableOrder.setChefAssignedAt(LocalDateTime.now());
                 // ✅ FIX: Set auto-assigned flag if this is auto-assignment
@@ -168,16 +211,14 @@ public class OrderService {
                     tableOrder.setAutoAssigned(true);
                 }
                 orderRepository.save(tableOrder);
+                orderEventPublisher.chefAssigned(tableOrder);
                 log.info("✅ Assigned Chef {} to Order #{}{}",
                         chef.getName(), tableOrder.getId(),
                         isAutoAssignment ? " (AUTO)" : "");
             }
         }
 
-        chef.incrementActiveOrders();
-        userRepository.save(chef);
-
-        return orderRepository.findById(orderId)
+        return orderRepository.findDetailedById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
     }
 
@@ -209,7 +250,8 @@ public class OrderService {
             throw new RuntimeException("Order has no table booking");
         }
 
-        List<Order> tableOrders = orderRepository.findByTableBooking(booking);
+        List<Order> tableOrders = orderRepository.findDetailedByTableBooking(booking);
+        boolean alreadyAtTable = waiterWorksTable(waiterId, tableOrders, null);
 
         for (Order tableOrder : tableOrders) {
             if (tableOrder.getWaiter() == null) {
@@ -220,13 +262,14 @@ public class OrderService {
                     tableOrder.setAutoAssigned(true);
                 }
                 orderRepository.save(tableOrder);
+                orderEventPublisher.waiterAssigned(tableOrder);
                 log.info("✅ Assigned Waiter {} to Order #{}{}",
                         waiter.getName(), tableOrder.getId(),
                         isAutoAssignment ? " (AUTO)" : "");
             }
         }
 
-        if (!waiter.canAcceptOrder()) {
+        if (!alreadyAtTable && !staffCapacityService.tryAcquire(waiterId)) {
             for (Order tableOrder : tableOrders) {
                 if (!isOrderInWaiterQueue(tableOrder.getId())) {
                     addToWaiterQueue(tableOrder, waiter);
@@ -235,17 +278,14 @@ public class OrderService {
             log.info("⏳ Table {} orders assigned to Waiter {} and added to queue (waiter busy)",
                     booking.getTableNumber(), waiter.getName());
 
-            return orderRepository.findById(orderId)
+            return orderRepository.findDetailedById(orderId)
                     .orElseThrow(() -> new RuntimeException("Order not found"));
         }
 
-        waiter.incrementActiveOrders();
-        userRepository.save(waiter);
-
         log.info("✅ Waiter {} assigned to all orders on Table {} (immediate capacity)",
                 waiter.getName(), booking.getTableNumber());
 
-        return orderRepository.findById(orderId)
+        return orderRepository.findDetailedById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
     }
 
@@ -264,14 +304,14 @@ public class OrderService {
      * ✅ Check if order is in chef queue
      */
     public boolean isOrderInChefQueue(Long orderId) {
-        return chefQueueRepository.findByOrderId(orderId).isEmpty();
+        return kitchenDispatchEngine.isQueuedForChef(orderId);
     }
 
     /**
      * ✅ Check if order is in waiter queue
      */
     public boolean isOrderInWaiterQueue(Long orderId) {
-        return waiterQueueRepository.findByOrderId(orderId).isPresent();
+        return kitchenDispatchEngine.isQueuedForWaiter(orderId);
     }
 
     /**
@@ -283,22 +323,12 @@ public class OrderService {
             throw new RuntimeException("Cannot add to queue: Order has no table booking");
         }
 
-        Optional<ChefQueue> existing = chefQueueRepository.findByOrderId(order.getId());
-        if (existing.isPresent()) {
+        long queuePosition = kitchenDispatchEngine.enqueueChef(order.getId(), chef.getId());
+        if (queuePosition < 0) {
             log.warn("⚠️ Order #{} already in chef queue, skipping", order.getId());
             return;
         }
 
-        long queuePosition = chefQueueRepository.countByChef(chef) + 1;
-
-        ChefQueue queueEntry = ChefQueue.builder()
-                .order(order)
-                .chef(chef)
-                .queuePosition((int) queuePosition)
-                .createdAt(LocalDateTime.now())
-                .build();
-
-        chefQueueRepository.save(queueEntry);
         log.info("➕ Added Order #{} to Chef {} queue (position {})",
                 order.getId(), chef.getName(), queuePosition);
     }
@@ -312,26 +342,129 @@ public class OrderService {
             throw new RuntimeException("Cannot add to queue: Order has no table booking");
         }
 
-        Optional<WaiterQueue> existing = waiterQueueRepository.findByOrderId(order.getId());
-        if (existing.isPresent()) {
+        long queuePosition = kitchenDispatchEngine.enqueueWaiter(order.getId(), waiter.getId());
+        if (queuePosition < 0) {
             log.warn("⚠️ Order #{} already in waiter queue, skipping", order.getId());
             return;
         }
 
-        long queuePosition = waiterQueueRepository.countByWaiter(waiter) + 1;
-
-        WaiterQueue queueEntry = WaiterQueue.builder()
-                .order(order)
-                .waiter(waiter)
-                .queuePosition((int) queuePosition)
-                .createdAt(LocalDateTime.now())
-                .build();
-
-        waiterQueueRepository.save(queueEntry);
         log.info("➕ Added Order #{} to Waiter {} queue (position {})",
                 order.getId(), waiter.getName(), queuePosition);
     }
 
+    // ==================== AUTO-ASSIGNMENT (driven by OrderDispatcher) ====================
+
+    /**
+     * ✅ Auto-assign chef and waiter once the admin grace period is over.
+     * Least-loaded staff with capacity wins; if every chef is busy the order goes to the
+     * overflow queue for the next chef that frees up. No-op when handled meanwhile.
+     */
+    @Transactional
+    public void autoAssignOrder(Long orderId) {
+        Order order = orderRepository.findById(orderId).orElse(null);
+        if (order == null || order.getStatus() == OrderStatus.COMPLETED
+                || order.getStatus() == OrderStatus.CANCELLED) {
+            return;
+        }
+
+        if (order.getChef() == null && order.getStatus() == OrderStatus.PENDING) {
+            Optional<StaffDirectory.StaffMember> available = staffDirectory.leastLoadedAvailable(Role.CHEF);
+
+            if (available.isPresent()) {
+                assignChefToOrder(orderId, available.get().id(), true);
+            } else if (kitchenDispatchEngine.enqueueOverflow(orderId)) {
+                log.info("⏳ All chefs busy - Order #{} waits for the next free chef", orderId);
+            }
+        }
+
+        if (order.getWaiter() == null) {
+            staffDirectory.leastLoadedAvailable(Role.WAITER)
+                    .or(() -> staffDirectory.leastLoadedEnabled(Role.WAITER))
+                    .ifPresentOrElse(
+                            // Busy waiter is still assigned; the order waits in their queue
+                            waiter -> assignWaiterToOrder(orderId, waiter.id(), true),
+                            () -> log.warn("⚠️ No enabled waiters - Order #{} has no waiter", orderId));
+        }
+    }
+
+    /**
+     * ✅ Orders past the grace period that still miss a chef or waiter, oldest first
+     */
+    public List<Long> getOrdersAwaitingStaff(LocalDateTime createdBefore) {
+        return orderRepository.findUnstaffedOrderIds(
+                List.of(OrderStatus.PENDING, OrderStatus.PREPARING, OrderStatus.READY), createdBefore);
+    }
+
+    // ==================== STAFF CAPACITY (one unit per table, see StaffCapacityService) ====================
+
+    private List<Order> tableOrdersOf(Order order) {
+        return order.getTableBooking() != null
+                ? orderRepository.findByTableBooking(order.getTableBooking())
+                : List.of();
+    }
+
+    /**
+     * Chef still cooks another PENDING / PREPARING order of this table
+     */
+    private boolean chefWorksTable(Long chefId, List<Order> tableOrders, Long exceptOrderId) {
+        return tableOrders.stream().anyMatch(o -> !o.getId().equals(exceptOrderId)
+                && o.getChef() != null && o.getChef().getId().equals(chefId)
+                && StaffCapacityService.CHEF_ACTIVE.contains(o.getStatus()));
+    }
+
+    /**
+     * Waiter still serves another unfinished, non-queued order of this table
+     */
+    private boolean waiterWorksTable(Long waiterId, List<Order> tableOrders, Long exceptOrderId) {
+        return tableOrders.stream().anyMatch(o -> !o.getId().equals(exceptOrderId)
+                && o.getWaiter() != null && o.getWaiter().getId().equals(waiterId)
+                && StaffCapacityService.WAITER_ACTIVE.contains(o.getStatus())
+                && !kitchenDispatchEngine.isQueuedForWaiter(o.getId()));
+    }
+
+    /**
+     * Order stops counting for its chef; frees the chef's unit if it was their last one at the table
+     */
+    private void releaseChef(Order order) {
+        if (order.getChef() == null) {
+            return;
+        }
+        Long chefId = order.getChef().getId();
+        if (!chefWorksTable(chefId, tableOrdersOf(order), order.getId())) {
+            staffCapacityService.release(chefId);
+        }
+    }
+
+    /**
+     * Same for the waiter; an order still waiting in the waiter's queue never held a unit
+     */
+    private void releaseWaiter(Order order) {
+        if (order.getWaiter() == null || kitchenDispatchEngine.isQueuedForWaiter(order.getId())) {
+            return;
+        }
+        Long waiterId = order.getWaiter().getId();
+        if (!waiterWorksTable(waiterId, tableOrdersOf(order), order.getId())) {
+            staffCapacityService.release(waiterId);
+        }
+    }
+
+    /**
+     * A queued order just became active for its waiter (unit already taken): the rest of its
+     * table leaves the queue too, and the unit goes back if the waiter already serves the table
+     */
+    private void activateWaiterTable(Long waiterId, Long orderId) {
+        Order order = orderRepository.findById(orderId).orElse(null);
+        List<Order> tableOrders = order != null ? tableOrdersOf(order) : List.of();
+        if (order == null || waiterWorksTable(waiterId, tableOrders, orderId)) {
+            staffCapacityService.release(waiterId);
+        }
+        for (Order tableOrder : tableOrders) {
+            if (tableOrder.getWaiter() != null && tableOrder.getWaiter().getId().equals(waiterId)) {
+                kitchenDispatchEngine.removeFromWaiterQueue(tableOrder.getId());
+            }
+        }
+    }
+
     /**
      * ✅ Get pending orders (no chef assigned)
      */
@@ -352,7 +485,7 @@ public class OrderService {
      * ✅ Get order by ID
      */
     public Order getOrderById(Long orderId) {
-        return orderRepository.findById(orderId)
+        return orderRepository.findDetailedById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
     }
 
@@ -361,7 +494,7 @@ public class OrderService {
      */
     @Transactional
     public Order cancelOrder(Long orderId, Long customerId) {
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findDetailedById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
 
         User customer = userRepository.findById(customerId)
@@ -375,20 +508,19 @@ public class OrderService {
             throw new RuntimeException("Can only cancel PENDING orders");
         }
 
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(OrderStatus.CANCELLED);
         order.setCancelledAt(LocalDateTime.now());
 
         // Free up staff
-        if (order.getChef() != null) {
-            order.getChef().decrementActiveOrders();
-            userRepository.save(order.getChef());
-        }
-        if (order.getWaiter() != null) {
-            order.getWaiter().decrementActiveOrders();
-            userRepository.save(order.getWaiter());
-        }
+        releaseChef(order);
+        releaseWaiter(order);
 
-        return orderRepository.save(order);
+        kitchenDispatchEngine.removeOrder(orderId);
+
+        Order saved = orderRepository.save(order);
+        orderEventPublisher.statusChanged(saved, previousStatus);
+        return saved;
     }
 
     // ==================== CHEF METHODS ====================
@@ -430,7 +562,7 @@ public class OrderService {
      */
     @Transactional
     public Order startPreparation(Long orderId, Long chefId) {
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findDetailedById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
 
         User chef = userRepository.findById(chefId)
@@ -448,7 +580,9 @@ public class OrderService {
         order.setPreparationStartedAt(LocalDateTime.now());
 
         log.info("✅ Chef {} started preparing Order #{}", chef.getName(), orderId);
-        return orderRepository.save(order);
+        Order saved = orderRepository.save(order);
+        orderEventPublisher.statusChanged(saved, OrderStatus.PENDING);
+        return saved;
     }
 
     /**
@@ -459,30 +593,43 @@ public class OrderService {
         User chef = userRepository.findById(chefId)
                 .orElseThrow(() -> new RuntimeException("Chef not found"));
 
-        if (!chef.canAcceptOrder()) {
+        // Capacity first: it decides whether this chef takes anything at all
+        if (!staffCapacityService.tryAcquire(chefId)) {
             log.info("⏭️ Chef {} is still busy, skipping queue processing", chef.getName());
             return;
         }
 
-        List<ChefQueue> queue = chefQueueRepository.findByChefOrderByQueuePositionAsc(chef);
-
-        if (queue.isEmpty()) {
-            log.info("📭 No orders in queue for Chef {}", chef.getName());
-            return;
+        // Own queue first, then the overflow queue; skip orders handled in the meantime
+        Order order = null;
+        while (order == null) {
+            Optional<Long> nextId = kitchenDispatchEngine.pollChef(chefId);
+            if (nextId.isEmpty()) {
+                staffCapacityService.release(chefId);
+                log.info("📭 No orders in queue for Chef {}", chef.getName());
+                return;
+            }
+            order = orderRepository.findById(nextId.get())
+                    .filter(o -> o.getStatus() == OrderStatus.PENDING && o.getChef() == null)
+                    .orElse(null);
         }
 
-        ChefQueue nextInQueue = queue.get(0);
-        Order order = nextInQueue.getOrder();
+        // The rest of the table comes along, as with a direct assignment
+        List<Order> tableOrders = tableOrdersOf(order);
+        if (chefWorksTable(chefId, tableOrders, null)) {
+            staffCapacityService.release(chefId);
+        }
+        List<Order> toAssign = tableOrders.isEmpty() ? List.of(order) : tableOrders.stream()
+                .filter(o -> o.getStatus() == OrderStatus.PENDING && o.getChef() == null)
+                .toList();
 
         try {
-            order.setChef(chef);
-            order.setChefAssignedAt(LocalDateTime.now());
-            orderRepository.save(order);
-
-            chefQueueRepository.delete(nextInQueue);
-
-            chef.incrementActiveOrders();
-            userRepository.save(chef);
+            for (Order tableOrder : toAssign) {
+                kitchenDispatchEngine.removeFromChefQueue(tableOrder.getId());
+                tableOrder.setChef(chef);
+                tableOrder.setChefAssignedAt(LocalDateTime.now());
+                orderRepository.save(tableOrder);
+                orderEventPublisher.chefAssigned(tableOrder);
+            }
 
             log.info("✅ Auto-assigned queued Order #{} to Chef {} from queue",
                     order.getId(), chef.getName());
@@ -496,7 +643,7 @@ public class OrderService {
      */
     @Transactional
     public Order markOrderReady(Long orderId, Long chefId) {
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findDetailedById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
 
         User chef = userRepository.findById(chefId)
@@ -514,22 +661,14 @@ public class OrderService {
         order.setReadyAt(LocalDateTime.now());
 
         // ✅ Free up chef capacity when marking ready
-        if (order.getChef() != null) {
-            order.getChef().decrementActiveOrders();
-            userRepository.save(order.getChef());
-        }
+        releaseChef(order);
 
         orderRepository.save(order);
+        orderEventPublisher.statusChanged(order, OrderStatus.PREPARING);
 
         log.info("✅ Chef {} marked Order #{} as READY", chef.getName(), orderId);
 
-        // ✅ Process chef queue after marking order ready
-        processChefQueue(chefId);
-
-        // ✅✅✅ NEW: Process waiter queue when order becomes READY
-        if (order.getWaiter() != null) {
-            processWaiterQueueForReadyOrder(order.getWaiter().getId());
-        }
+        // Chef and waiter queues are processed by OrderDispatcher once this commits
 
         return order;
     }
@@ -550,7 +689,7 @@ public class OrderService {
      */
     @Transactional
     public Order waiterMarkServed(Long orderId, Long waiterId) {
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findDetailedById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
 
         User waiter = userRepository.findById(waiterId)
@@ -564,21 +703,16 @@ public class OrderService {
             throw new RuntimeException("Order must be READY to mark as served");
         }
 
+        // Free up the waiter; the chef's capacity was already freed when the order went READY
+        releaseWaiter(order);
+
         order.setStatus(OrderStatus.COMPLETED);
         order.setServedAt(LocalDateTime.now());
+        kitchenDispatchEngine.removeOrder(orderId);
         order.setCompletedAt(LocalDateTime.now());
 
-        // Free up staff
-        if (order.getChef() != null) {
-            order.getChef().decrementActiveOrders();
-            userRepository.save(order.getChef());
-        }
-        if (order.getWaiter() != null) {
-            order.getWaiter().decrementActiveOrders();
-            userRepository.save(order.getWaiter());
-        }
-
         orderRepository.save(order);
+        orderEventPublisher.statusChanged(order, OrderStatus.READY);
 
         // ✅ Check if all orders for this table are completed
         TableBooking booking = order.getTableBooking();
@@ -589,8 +723,10 @@ public class OrderService {
                             o.getStatus() == OrderStatus.CANCELLED);
 
             if (allCompleted) {
+                BookingStatus previousStatus = booking.getStatus();
                 booking.setStatus(BookingStatus.COMPLETED);
                 bookingRepository.save(booking);
+                tableAvailabilityIndex.statusChanged(booking, previousStatus);
                 log.info("✅ All orders completed - Table {} booking COMPLETED",
                         booking.getTableNumber());
             }
@@ -598,8 +734,7 @@ public class OrderService {
 
         log.info("✅ Waiter {} marked Order #{} as SERVED & COMPLETED", waiter.getName(), orderId);
 
-        // ✅ Process waiter queue after completing order
-        processWaiterQueue(waiterId);
+        // Waiter queue is processed by OrderDispatcher once this commits
 
         return order;
     }
@@ -612,27 +747,29 @@ public class OrderService {
         User waiter = userRepository.findById(waiterId)
                 .orElseThrow(() -> new RuntimeException("Waiter not found"));
 
-        if (!waiter.canAcceptOrder()) {
+        if (!staffCapacityService.tryAcquire(waiterId)) {
             log.info("⏭️ Waiter {} is still busy, skipping queue processing", waiter.getName());
             return;
         }
 
-        List<WaiterQueue> queue = waiterQueueRepository.findByWaiterOrderByQueuePositionAsc(waiter);
-
-        if (queue.isEmpty()) {
-            log.info("📭 No orders in queue for Waiter {}", waiter.getName());
-            return;
+        // Skip orders finished, cancelled or reassigned while they waited in the queue
+        Order order = null;
+        while (order == null) {
+            Optional<Long> nextId = kitchenDispatchEngine.pollWaiter(waiterId);
+            if (nextId.isEmpty()) {
+                staffCapacityService.release(waiterId);
+                log.info("📭 No orders in queue for Waiter {}", waiter.getName());
+                return;
+            }
+            order = orderRepository.findById(nextId.get())
+                    .filter(o -> StaffCapacityService.WAITER_ACTIVE.contains(o.getStatus())
+                            && o.getWaiter() != null && o.getWaiter().getId().equals(waiterId))
+                    .orElse(null);
         }
 
-        WaiterQueue nextInQueue = queue.get(0);
-        Order order = nextInQueue.getOrder();
-
         try {
-            // ✅ Order already has waiter assigned, just remove from queue and increment capacity
-            waiterQueueRepository.delete(nextInQueue);
-
-            waiter.incrementActiveOrders();
-            userRepository.save(waiter);
+            // ✅ Order already has waiter assigned, just take it (and its table) out of the queue
+            activateWaiterTable(waiterId, order.getId());
 
             log.info("✅ Removed Order #{} from Waiter {} queue - now active",
                     order.getId(), waiter.getName());
@@ -651,16 +788,21 @@ public class OrderService {
                 .orElseThrow(() -> new RuntimeException("Waiter not found"));
 
         // Get queued orders that are now READY
-        List<WaiterQueue> queue = waiterQueueRepository.findByWaiterOrderByQueuePositionAsc(waiter);
+        List<Long> queue = kitchenDispatchEngine.waiterQueue(waiterId);
 
-        for (WaiterQueue queueEntry : queue) {
-            Order order = queueEntry.getOrder();
+        for (Long queuedOrderId : queue) {
+            Order order = orderRepository.findById(queuedOrderId).orElse(null);
+            if (order == null) {
+                continue;
+            }
 
             // If order in queue is now READY and waiter has capacity, activate it
-            if (order.getStatus() == OrderStatus.READY && waiter.canAcceptOrder()) {
-                waiterQueueRepository.delete(queueEntry);
-                waiter.incrementActiveOrders();
-                userRepository.save(waiter);
+            if (order.getStatus() == OrderStatus.READY) {
+                if (!staffCapacityService.tryAcquire(waiterId)) {
+                    return;
+                }
+                kitchenDispatchEngine.removeFromWaiterQueue(queuedOrderId);
+                activateWaiterTable(waiterId, queuedOrderId);
 
                 log.info("✅ Activated READY order #{} from Waiter {} queue",
                         order.getId(), waiter.getName());
@@ -676,11 +818,7 @@ public class OrderService {
         User waiter = userRepository.findById(waiterId)
                 .orElseThrow(() -> new RuntimeException("Waiter not found"));
 
-        return orderRepository.findByWaiter(waiter).stream()
-                .filter(o -> o.getStatus() != OrderStatus.COMPLETED &&
-                        o.getStatus() != OrderStatus.CANCELLED)
-                .sorted((a, b) -> a.getCreatedAt().compareTo(b.getCreatedAt()))
-                .collect(Collectors.toList());
+        return orderRepository.findByWaiterAndStatusInOrderByCreatedAtAsc(waiter, WAITER_OPEN_STATUSES);
     }
 
     /**
@@ -690,11 +828,8 @@ public class OrderService {
         User waiter = userRepository.findById(waiterId)
                 .orElseThrow(() -> new RuntimeException("Waiter not found"));
 
-        return orderRepository.findByWaiter(waiter).stream()
-                .filter(o -> o.getStatus() == OrderStatus.PENDING ||
-                        o.getStatus() == OrderStatus.PREPARING)
-                .sorted((a, b) -> a.getCreatedAt().compareTo(b.getCreatedAt()))
-                .collect(Collectors.toList());
+        return orderRepository.findByWaiterAndStatusInOrderByCreatedAtAsc(
+                waiter, List.of(OrderStatus.PENDING, OrderStatus.PREPARING));
     }
 
     /**
@@ -704,10 +839,7 @@ public class OrderService {
         User waiter = userRepository.findById(waiterId)
                 .orElseThrow(() -> new RuntimeException("Waiter not found"));
 
-        return orderRepository.findByWaiter(waiter).stream()
-                .filter(o -> o.getStatus() != OrderStatus.COMPLETED &&
-                        o.getStatus() != OrderStatus.CANCELLED)
-                .collect(Collectors.toList());
+        return orderRepository.findByWaiterAndStatusInOrderByCreatedAtAsc(waiter, WAITER_OPEN_STATUSES);
     }
 
     // ==================== ADMIN METHODS ====================
@@ -724,8 +856,8 @@ public class OrderService {
         stats.put("completedToday", orderRepository.countByStatusAndCompletedAtAfter(
                 OrderStatus.COMPLETED, LocalDate.now().atStartOfDay()));
 
-        stats.put("activeChefs", userRepository.countByRoleAndEnabled(Role.CHEF, true));
-        stats.put("activeWaiters", userRepository.countByRoleAndEnabled(Role.WAITER, true));
+        stats.put("activeChefs", staffDirectory.countEnabled(Role.CHEF));
+        stats.put("activeWaiters", staffDirectory.countEnabled(Role.WAITER));
         stats.put("activeBookings", bookingRepository.countByStatus(BookingStatus.ACTIVE));
 
         return stats;
@@ -739,13 +871,58 @@ public class OrderService {
         return orderRepository.findAllByOrderByCreatedAtDesc();
     }
 
+    /**
+     * Keyset-paginated order history (admin history page).
+     * Costs one id query plus one graph fetch per page, regardless of how many orders exist.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<OrderDTO> getOrderHistoryPage(OrderHistoryFilter filter, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, HISTORY_MAX_PAGE_SIZE));
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        // Fetch one extra id to know whether another page exists
+        List<Long> ids = orderRepository.findHistoryPageIds(
+                filter.getStatus(),
+                filter.getFrom() != null ? filter.getFrom().atStartOfDay() : null,
+                filter.getTo() != null ? filter.getTo().plusDays(1).atStartOfDay() : null,
+                filter.getChefId(),
+                filter.getWaiterId(),
+                filter.getTableNumber(),
+                after != null ? after.getCreatedAt() : null,
+                after != null ? after.getId() : null,
+                PageRequest.of(0, pageSize + 1)
+        );
+
+        boolean hasMore = ids.size() > pageSize;
+        if (hasMore) {
+            ids = ids.subList(0, pageSize);
+        }
+
+        List<Order> orders = ids.isEmpty() ? List.of() : orderRepository.findByIdIn(ids).stream()
+                .sorted(Comparator.comparing(Order::getCreatedAt).thenComparing(Order::getId).reversed())
+                .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (hasMore && !orders.isEmpty()) {
+            Order last = orders.get(orders.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return CursorPage.<OrderDTO>builder()
+                .items(orders.stream().map(OrderDTO::fromEntity).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .size(orders.size())
+                .build();
+    }
+
     /**
      * Get order by ID (for admin - different from customer getOrderById)
      * Note: If you already have a getOrderById method, keep it and use this one
      * OR rename this to getOrderByIdAdmin()
      */
     public Order getOrderByIdForAdmin(Long orderId) {
-        return orderRepository.findById(orderId)
+        return orderRepository.findDetailedById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
     }
 
@@ -754,7 +931,7 @@ public class OrderService {
      */
     @Transactional
     public void cancelOrderByAdmin(Long orderId) {
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findDetailedById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
 
         if (order.getStatus() == OrderStatus.COMPLETED) {
@@ -765,23 +942,20 @@ public class OrderService {
             throw new RuntimeException("Order is already cancelled");
         }
 
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(OrderStatus.CANCELLED);
         order.setCancelledAt(LocalDateTime.now());
 
-        // Free up chef and waiter if assigned
-        if (order.getChef() != null) {
-            User chef = order.getChef();
-            chef.decrementActiveOrders();
-            userRepository.save(chef);
+        // Free up chef and waiter if assigned (a READY order's chef is already free)
+        if (StaffCapacityService.CHEF_ACTIVE.contains(previousStatus)) {
+            releaseChef(order);
         }
+        releaseWaiter(order);
 
-        if (order.getWaiter() != null) {
-            User waiter = order.getWaiter();
-            waiter.decrementActiveOrders();
-            userRepository.save(waiter);
-        }
+        kitchenDispatchEngine.removeOrder(orderId);
 
         orderRepository.save(order);
+        orderEventPublisher.statusChanged(order, previousStatus);
         log.info("Order {} cancelled by admin", orderId);
     }
 
@@ -823,98 +997,61 @@ public class OrderService {
      */
     @Transactional
     public void reassignStaff(Long orderId, Long chefId, Long waiterId) {
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findDetailedById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
 
-        // Remove from current staff if assigned
-        if (order.getChef() != null) {
-            User currentChef = order.getChef();
-            currentChef.decrementActiveOrders();
-            userRepository.save(currentChef);
-        }
+        Long previousChefId = order.getChef() != null ? order.getChef().getId() : null;
+        Long previousWaiterId = order.getWaiter() != null ? order.getWaiter().getId() : null;
 
-        if (order.getWaiter() != null) {
-            User currentWaiter = order.getWaiter();
-            currentWaiter.decrementActiveOrders();
-            userRepository.save(currentWaiter);
-        }
+        List<Order> tableOrders = tableOrdersOf(order);
 
-        // Assign new staff
-        if (chefId != null) {
+        // Capacity moves only while the staff member is still working on the order.
+        // Admin reassignment may push the new staff member past their limit.
+        if (chefId != null && !chefId.equals(previousChefId)) {
             User newChef = userRepository.findById(chefId)
                     .orElseThrow(() -> new RuntimeException("Chef not found"));
+            if (StaffCapacityService.CHEF_ACTIVE.contains(order.getStatus())) {
+                releaseChef(order);
+                if (!chefWorksTable(chefId, tableOrders, null)) {
+                    staffCapacityService.forceAcquire(chefId);
+                }
+            }
             order.setChef(newChef);
             order.setChefAssignedAt(LocalDateTime.now());
-            newChef.incrementActiveOrders();
-            userRepository.save(newChef);
         }
 
-        if (waiterId != null) {
+        if (waiterId != null && !waiterId.equals(previousWaiterId)) {
             User newWaiter = userRepository.findById(waiterId)
                     .orElseThrow(() -> new RuntimeException("Waiter not found"));
+            if (StaffCapacityService.WAITER_ACTIVE.contains(order.getStatus())) {
+                releaseWaiter(order);
+                kitchenDispatchEngine.removeFromWaiterQueue(orderId);
+                if (!waiterWorksTable(waiterId, tableOrders, null)) {
+                    staffCapacityService.forceAcquire(waiterId);
+                }
+            }
             order.setWaiter(newWaiter);
             order.setWaiterAssignedAt(LocalDateTime.now());
-            newWaiter.incrementActiveOrders();
-            userRepository.save(newWaiter);
         }
 
         orderRepository.save(order);
+        orderEventPublisher.staffReassigned(order, previousChefId, previousWaiterId);
         log.info("Order {} staff reassigned", orderId);
     }
 
     /**
-     * Get order statistics - FIXED VERSION (handles BigDecimal)
+     * Get order statistics - served from the maintained aggregate, no table scan
      */
     public Map<String, Object> getOrderStatistics() {
-        List<Order> allOrders = orderRepository.findAll();
-
-        long pending = allOrders.stream()
-                .filter(o -> o.getStatus() == OrderStatus.PENDING)
-                .count();
-
-        long preparing = allOrders.stream()
-                .filter(o -> o.getStatus() == OrderStatus.PREPARING)
-                .count();
-
-        long ready = allOrders.stream()
-                .filter(o -> o.getStatus() == OrderStatus.READY)
-                .count();
-
-        long completed = allOrders.stream()
-                .filter(o -> o.getStatus() == OrderStatus.COMPLETED)
-                .count();
-
-        long cancelled = allOrders.stream()
-                .filter(o -> o.getStatus() == OrderStatus.CANCELLED)
-                .count();
-
-        LocalDate today = LocalDate.now();
-
-        // FIXED: Convert BigDecimal to double properly
-        double todaySales = allOrders.stream()
-                .filter(o -> o.getCreatedAt().toLocalDate().equals(today))
-                .filter(o -> o.getTotal() != null)
-                .mapToDouble(o -> o.getTotal().doubleValue())  // ← FIXED: .doubleValue()
-                .sum();
-
-        // FIXED: Convert BigDecimal to double properly
-        double avgOrderValue = allOrders.stream()
-                .filter(o -> o.getTotal() != null)
-                .mapToDouble(o -> o.getTotal().doubleValue())  // ← FIXED: .doubleValue()
-                .average()
-                .orElse(0.0);
-
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("pending", pending);
-        stats.put("preparing", preparing);
-        stats.put("ready", ready);
-        stats.put("completed", completed);
-        stats.put("cancelled", cancelled);
-        stats.put("total", allOrders.size());
-        stats.put("todaySales", todaySales);
-        stats.put("avgOrderValue", avgOrderValue);
+        return orderStatsAggregator.getStatistics();
+    }
 
-        return stats;
+    /**
+     * Re-derive order statistics from the database (admin, on demand)
+     */
+    public Map<String, Object> reconcileOrderStatistics() {
+        orderStatsAggregator.reconcile();
+        return orderStatsAggregator.getStatistics();
     }
 
 }
\ No newline at end of file
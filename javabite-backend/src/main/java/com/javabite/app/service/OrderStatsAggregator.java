@@ -0,0 +1,187 @@
+package com.javabite.app.service;
+
+import com.javabite.app.event.AppliedOutboxEvents;
+import com.javabite.app.event.OrderEvent;
+import com.javabite.app.event.OrderEventType;
+import com.javabite.app.model.OrderStatus;
+import com.javabite.app.repository.OrderOutboxRepository;
+import com.javabite.app.repository.OrderRepository;
+import com.javabite.app.scheduler.OrderOutboxRelay;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintained order statistics for /api/admin/orders/stats.
+ *
+ * Seeded once from the database at startup, then kept current from order events,
+ * so reading the stats never touches the orders table. {@link #reconcile()} re-derives
+ * everything from the database (nightly, or on demand from the admin API).
+ */
+@Service
+@Slf4j
+public class OrderStatsAggregator {
+
+    private final OrderRepository orderRepository;
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final OrderOutboxRelay orderOutboxRelay;
+    private final TransactionTemplate snapshotTransaction;
+
+    // All fields below are guarded by "this"
+    private final Map<OrderStatus, Long> statusCounts = new EnumMap<>(OrderStatus.class);
+    private long totalOrders;
+    private BigDecimal totalRevenue = BigDecimal.ZERO;
+    private LocalDate salesDay = LocalDate.now();
+    private BigDecimal todaySales = BigDecimal.ZERO;
+    private LocalDateTime lastReconciledAt;
+    // A redelivered event must not be counted twice
+    private final AppliedOutboxEvents appliedEvents = new AppliedOutboxEvents();
+
+    public OrderStatsAggregator(OrderRepository orderRepository,
+                                OrderOutboxRepository orderOutboxRepository,
+                                OrderOutboxRelay orderOutboxRelay,
+                                PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.orderOutboxRepository = orderOutboxRepository;
+        this.orderOutboxRelay = orderOutboxRelay;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        // Both snapshot queries must see the same commits
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    /**
+     * Rebuild all counters from the database (single grouped query).
+     *
+     * Runs on the outbox relay thread, so no event is applied while the counters are replaced.
+     * Events committed but not delivered yet are already in the snapshot: their ids are read in
+     * the same transaction and marked applied, so the relay delivering them later is a no-op.
+     * Events committed after the snapshot are not in it and still count when they arrive.
+     */
+    @Scheduled(cron = "${app.stats.reconcile-cron:0 5 0 * * *}")
+    public void reconcile() {
+        orderOutboxRelay.runBetweenEvents(() -> snapshotTransaction.executeWithoutResult(status -> rebuild()));
+    }
+
+    private void rebuild() {
+        LocalDate today = LocalDate.now();
+        List<Object[]> rows = orderRepository.aggregateByStatus(today.atStartOfDay());
+        List<Long> undelivered = orderOutboxRepository.findUndispatchedIds();
+
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        long total = 0;
+        BigDecimal revenue = BigDecimal.ZERO;
+        BigDecimal sales = BigDecimal.ZERO;
+
+        for (Object[] row : rows) {
+            long count = ((Number) row[1]).longValue();
+            counts.put((OrderStatus) row[0], count);
+            total += count;
+            revenue = revenue.add(toBigDecimal(row[2]));
+            sales = sales.add(toBigDecimal(row[3]));
+        }
+
+        synchronized (this) {
+            statusCounts.clear();
+            statusCounts.putAll(counts);
+            totalOrders = total;
+            totalRevenue = revenue;
+            salesDay = today;
+            todaySales = sales;
+            lastReconciledAt = LocalDateTime.now();
+            appliedEvents.applied(undelivered);
+        }
+
+        log.info("📊 Order statistics reconciled: {} orders", total);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onOrderEvent(OrderEvent event) {
+        if (!appliedEvents.isNew(event)) {
+            return;
+        }
+        rollDayIfNeeded();
+
+        if (event.getType() == OrderEventType.CREATED) {
+            increment(event.getStatus(), 1);
+            totalOrders++;
+
+            BigDecimal orderTotal = event.getTotal() != null ? event.getTotal() : BigDecimal.ZERO;
+            totalRevenue = totalRevenue.add(orderTotal);
+            if (event.getCreatedAt() != null && event.getCreatedAt().toLocalDate().equals(salesDay)) {
+                todaySales = todaySales.add(orderTotal);
+            }
+        } else if (event.getType() == OrderEventType.STATUS_CHANGED
+                && event.getPreviousStatus() != event.getStatus()) {
+            increment(event.getPreviousStatus(), -1);
+            increment(event.getStatus(), 1);
+        }
+        appliedEvents.applied(event);
+    }
+
+    /**
+     * Current statistics - O(1), no database access
+     */
+    public synchronized Map<String, Object> getStatistics() {
+        rollDayIfNeeded();
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("pending", countOf(OrderStatus.PENDING));
+        stats.put("preparing", countOf(OrderStatus.PREPARING));
+        stats.put("ready", countOf(OrderStatus.READY));
+        stats.put("completed", countOf(OrderStatus.COMPLETED));
+        stats.put("cancelled", countOf(OrderStatus.CANCELLED));
+        stats.put("total", totalOrders);
+        stats.put("todaySales", todaySales.doubleValue());
+        stats.put("avgOrderValue", totalOrders > 0
+                ? totalRevenue.doubleValue() / totalOrders
+                : 0.0);
+        stats.put("lastReconciledAt", lastReconciledAt);
+        return stats;
+    }
+
+    private void increment(OrderStatus status, long delta) {
+        if (status != null) {
+            statusCounts.merge(status, delta, Long::sum);
+        }
+    }
+
+    private long countOf(OrderStatus status) {
+        return statusCounts.getOrDefault(status, 0L);
+    }
+
+    private void rollDayIfNeeded() {
+        LocalDate today = LocalDate.now();
+        if (!today.equals(salesDay)) {
+            salesDay = today;
+            todaySales = BigDecimal.ZERO;
+        }
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(value.toString());
+    }
+}
@@ -0,0 +1,273 @@
+package com.javabite.app.service;
+
+import com.javabite.app.model.OrderStatus;
+import com.javabite.app.model.Role;
+import com.javabite.app.model.StaffCapacity;
+import com.javabite.app.repository.OrderRepository;
+import com.javabite.app.repository.StaffCapacityRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Chef / waiter capacity counters (staff_capacity), one unit per table a staff member works on.
+ *
+ * - acquire is one conditional UPDATE (increment only while below max), so concurrent
+ *   assignments can't oversubscribe anyone
+ * - acquire and release run in the caller's transaction, commit or roll back with it, and
+ *   never take a second pooled connection; concurrent assignments of the same staff member
+ *   wait on that one counter row
+ * - drift is reconciled against the orders themselves at startup and every few minutes:
+ *   a chef works a table while one of their orders on it is PENDING or PREPARING, a waiter
+ *   while one of their orders on it is not finished and not waiting in their queue
+ *
+ * Every change is pushed to StaffDirectory, which assignment reads, once it has committed.
+ */
+@Service
+@Slf4j
+public class StaffCapacityService {
+
+    static final List<OrderStatus> CHEF_ACTIVE = List.of(OrderStatus.PENDING, OrderStatus.PREPARING);
+    static final List<OrderStatus> WAITER_ACTIVE = List.of(OrderStatus.PENDING, OrderStatus.PREPARING, OrderStatus.READY);
+
+    private static final int PUBLISH_LOCK_STRIPES = 16;
+
+    private final StaffCapacityRepository capacityRepository;
+    private final OrderRepository orderRepository;
+    private final StaffDirectory staffDirectory;
+    private final KitchenDispatchEngine kitchenDispatchEngine;
+    private final TransactionTemplate counterTransaction;
+
+    // Mismatches seen by the last periodic run; corrected only if still there on the next one
+    private final Map<Long, Drift> suspectedDrift = new HashMap<>();
+
+    // Serialize read-and-publish per staff member so an older load never overwrites a newer one
+    private final Lock[] publishStripes = createStripes();
+
+    private static Lock[] createStripes() {
+        Lock[] stripes = new Lock[PUBLISH_LOCK_STRIPES];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        return stripes;
+    }
+
+    public StaffCapacityService(StaffCapacityRepository capacityRepository,
+                                OrderRepository orderRepository,
+                                StaffDirectory staffDirectory,
+                                KitchenDispatchEngine kitchenDispatchEngine,
+                                PlatformTransactionManager transactionManager) {
+        this.capacityRepository = capacityRepository;
+        this.orderRepository = orderRepository;
+        this.staffDirectory = staffDirectory;
+        this.kitchenDispatchEngine = kitchenDispatchEngine;
+        this.counterTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Capacity for staff created without one
+     */
+    public static int defaultMaxActiveOrders(Role role) {
+        return switch (role) {
+            case ADMIN -> 999;
+            case CHEF -> 10;
+            case WAITER -> 1;
+            default -> 5;
+        };
+    }
+
+    // ==================== COUNTERS ====================
+
+    /**
+     * Take one unit of the staff member's capacity. False if they are at capacity.
+     */
+    public boolean tryAcquire(Long staffId) {
+        return change(staffId, () -> capacityRepository.incrementIfBelowMax(staffId));
+    }
+
+    /**
+     * Take one unit even at capacity (admin reassignment overrides the limit)
+     */
+    public void forceAcquire(Long staffId) {
+        change(staffId, () -> capacityRepository.increment(staffId));
+    }
+
+    /**
+     * Give one unit back
+     */
+    public void release(Long staffId) {
+        change(staffId, () -> capacityRepository.decrement(staffId));
+    }
+
+    public int activeOrders(Long staffId) {
+        return capacityRepository.findActiveOrders(staffId).orElse(0);
+    }
+
+    /**
+     * Run one counter UPDATE in the caller's transaction (or a short one of its own),
+     * creating the counter on first use. True if the UPDATE hit the row.
+     */
+    private boolean change(Long staffId, UpdateStatement update) {
+        Boolean changed = counterTransaction.execute(status -> {
+            if (update.execute() == 1) {
+                return true;
+            }
+            if (capacityRepository.existsById(staffId)) {
+                return false;
+            }
+            // No counter yet for this staff member
+            createCounter(staffId);
+            return update.execute() == 1;
+        });
+        if (!Boolean.TRUE.equals(changed)) {
+            return false;
+        }
+        afterCommit(() -> publishLoad(staffId));
+        return true;
+    }
+
+    // Fresh read of the committed value: a late publish never overwrites a newer load
+    private void publishLoad(Long staffId) {
+        Lock lock = publishStripes[Math.floorMod(staffId.hashCode(), publishStripes.length)];
+        lock.lock();
+        try {
+            staffDirectory.loadChanged(staffId, activeOrders(staffId));
+        } catch (RuntimeException e) {
+            // Left for the next reconciliation
+            log.warn("⚠️ Could not publish load of staff {}: {}", staffId, e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void createCounter(Long staffId) {
+        StaffDirectory.StaffMember member = staffDirectory.get(staffId)
+                .orElseThrow(() -> new RuntimeException("Staff member not found: " + staffId));
+        capacityRepository.create(staffId, member.role(), member.maxActiveOrders());
+    }
+
+    // Ahead of after-commit event listeners, so the dispatcher sees the new load
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public int getOrder() {
+                    return Ordered.HIGHEST_PRECEDENCE;
+                }
+
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // ==================== RECONCILIATION ====================
+
+    // Before OrderDispatcher starts draining queues on the same event
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void seed() {
+        reconcile(true);
+    }
+
+    /**
+     * Recompute counters from active orders. Only drift seen on two consecutive runs is
+     * corrected, so units taken by assignments still in flight are left alone.
+     */
+    @Scheduled(fixedDelayString = "${app.capacity.reconcile-interval-ms:300000}",
+            initialDelayString = "${app.capacity.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        reconcile(false);
+    }
+
+    private synchronized void reconcile(boolean startup) {
+        Map<Long, Integer> actual = new HashMap<>();
+        actual.putAll(tablesWorked(orderRepository.findChefWork(CHEF_ACTIVE), false));
+        actual.putAll(tablesWorked(orderRepository.findWaiterWork(WAITER_ACTIVE), true));
+
+        Map<Long, StaffCapacity> counters = new HashMap<>();
+        capacityRepository.findAll().forEach(counter -> counters.put(counter.getStaffId(), counter));
+
+        List<StaffDirectory.StaffMember> staff = new ArrayList<>(staffDirectory.byRole(Role.CHEF));
+        staff.addAll(staffDirectory.byRole(Role.WAITER));
+
+        int corrected = 0;
+        Map<Long, Drift> drifts = new HashMap<>();
+        for (StaffDirectory.StaffMember member : staff) {
+            Long staffId = member.id();
+            int expected = actual.getOrDefault(staffId, 0);
+            StaffCapacity counter = counters.get(staffId);
+
+            if (counter == null) {
+                counterTransaction.executeWithoutResult(status -> createCounter(staffId));
+                counter = StaffCapacity.builder().staffId(staffId).maxActiveOrders(member.maxActiveOrders()).build();
+            }
+            if (counter.getMaxActiveOrders() != member.maxActiveOrders()) {
+                counterTransaction.executeWithoutResult(status ->
+                        capacityRepository.updateMax(staffId, member.maxActiveOrders()));
+            }
+
+            int observed = counter.getActiveOrders();
+            if (observed != expected) {
+                Drift drift = new Drift(observed, expected);
+                if (startup || drift.equals(suspectedDrift.get(staffId))) {
+                    Integer updated = counterTransaction.execute(status ->
+                            capacityRepository.correct(staffId, observed, expected));
+                    if (updated != null && updated == 1) {
+                        corrected++;
+                        log.warn("⚖️ Capacity drift for {} {}: counter {} → {}", member.role(), member.name(), observed, expected);
+                    }
+                } else {
+                    drifts.put(staffId, drift);
+                }
+            }
+            publishLoad(staffId);
+        }
+
+        suspectedDrift.clear();
+        suspectedDrift.putAll(drifts);
+        log.info("⚖️ Staff capacity reconciled: {} counters, {} corrected, {} suspected",
+                staff.size(), corrected, drifts.size());
+    }
+
+    /**
+     * Distinct tables per staff member; rows are [staffId, bookingId, orderId].
+     * Orders without a booking count on their own.
+     */
+    private Map<Long, Integer> tablesWorked(List<Object[]> rows, boolean skipWaiterQueue) {
+        Map<Long, Set<String>> tables = new HashMap<>();
+        for (Object[] row : rows) {
+            Long orderId = (Long) row[2];
+            if (skipWaiterQueue && kitchenDispatchEngine.isQueuedForWaiter(orderId)) {
+                continue;
+            }
+            String table = row[1] != null ? "b" + row[1] : "o" + orderId;
+            tables.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add(table);
+        }
+        Map<Long, Integer> counts = new HashMap<>();
+        tables.forEach((staffId, worked) -> counts.put(staffId, worked.size()));
+        return counts;
+    }
+
+    private interface UpdateStatement {
+        int execute();
+    }
+
+    private record Drift(int observed, int actual) {}
+}
@@ -0,0 +1,256 @@
+package com.javabite.app.service;
+
+import com.javabite.app.model.Role;
+import com.javabite.app.model.StaffCapacity;
+import com.javabite.app.model.User;
+import com.javabite.app.repository.StaffCapacityRepository;
+import com.javabite.app.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory directory of staff (CHEF / WAITER / ADMIN) with their capacity fields.
+ *
+ * Indexed by role, and per role an "available" set ordered by current load holding only
+ * staff that can take another order, so the least-loaded pick is the head of a set.
+ * Loaded with one query on first use; UserService and InvitationService push every staff
+ * change through {@link #update(User)} / {@link #remove(Long)}, applied once the change
+ * commits (and bump the admin board), and StaffCapacityService pushes load changes
+ * through {@link #loadChanged}.
+ * Customers are never held here.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StaffDirectory {
+
+    private static final List<Role> STAFF_ROLES = List.of(Role.CHEF, Role.WAITER, Role.ADMIN);
+
+    private static final Comparator<StaffMember> BY_LOAD = Comparator
+            .comparingInt(StaffMember::currentActiveOrders)
+            .thenComparing(StaffMember::id);
+
+    private final UserRepository userRepository;
+    private final StaffCapacityRepository capacityRepository;
+    private final BoardVersions boardVersions;
+
+    private final Map<Long, StaffMember> byId = new ConcurrentHashMap<>();
+    private final Map<Role, Map<Long, StaffMember>> byRole = new EnumMap<>(Role.class);
+    private final Map<Role, NavigableSet<StaffMember>> availableByRole = new EnumMap<>(Role.class);
+    private volatile boolean loaded;
+
+    {
+        for (Role role : STAFF_ROLES) {
+            byRole.put(role, new ConcurrentHashMap<>());
+            availableByRole.put(role, new ConcurrentSkipListSet<>(BY_LOAD));
+        }
+    }
+
+    // ==================== QUERIES ====================
+
+    public Optional<StaffMember> get(Long userId) {
+        ensureLoaded();
+        return Optional.ofNullable(byId.get(userId));
+    }
+
+    /**
+     * All staff of a role (enabled or not), by id
+     */
+    public List<StaffMember> byRole(Role role) {
+        ensureLoaded();
+        List<StaffMember> members = new ArrayList<>(roleMap(role).values());
+        members.sort(Comparator.comparing(StaffMember::id));
+        return members;
+    }
+
+    public List<StaffMember> enabled(Role role) {
+        return byRole(role).stream().filter(StaffMember::enabled).toList();
+    }
+
+    public long countEnabled(Role role) {
+        ensureLoaded();
+        return roleMap(role).values().stream().filter(StaffMember::enabled).count();
+    }
+
+    /**
+     * Enabled and available staff with spare capacity, least loaded first
+     */
+    public List<StaffMember> available(Role role) {
+        ensureLoaded();
+        NavigableSet<StaffMember> available = availableByRole.get(role);
+        return available != null ? List.copyOf(available) : List.of();
+    }
+
+    /**
+     * Least-loaded staff member that can take another order
+     */
+    public Optional<StaffMember> leastLoadedAvailable(Role role) {
+        ensureLoaded();
+        NavigableSet<StaffMember> available = availableByRole.get(role);
+        return available == null || available.isEmpty() ? Optional.empty() : Optional.of(available.first());
+    }
+
+    /**
+     * Least-loaded enabled staff member, even if at capacity
+     */
+    public Optional<StaffMember> leastLoadedEnabled(Role role) {
+        ensureLoaded();
+        return roleMap(role).values().stream()
+                .filter(StaffMember::enabled)
+                .min(BY_LOAD);
+    }
+
+    // ==================== UPDATES ====================
+
+    /**
+     * Record a saved user's current state (after commit when called inside a transaction).
+     * Non-staff users are ignored; a user moved out of a staff role is dropped.
+     */
+    public void update(User user) {
+        if (user == null || user.getId() == null) {
+            return;
+        }
+        StaffMember member = STAFF_ROLES.contains(user.getRole()) ? StaffMember.of(user, 0) : null;
+        afterCommit(() -> {
+            if (member != null) {
+                putKeepingLoad(member);
+            } else {
+                drop(user.getId());
+            }
+        });
+        boardVersions.changed(BoardVersions.ADMIN_BOARD);
+    }
+
+    public void remove(Long userId) {
+        afterCommit(() -> drop(userId));
+        boardVersions.changed(BoardVersions.ADMIN_BOARD);
+    }
+
+    /**
+     * Current load of a staff member, as just written to their capacity counter
+     */
+    public synchronized void loadChanged(Long userId, int activeOrders) {
+        StaffMember member = byId.get(userId);
+        if (member != null && member.currentActiveOrders() != activeOrders) {
+            put(member.withLoad(activeOrders));
+        }
+    }
+
+    // ==================== INTERNALS ====================
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            load();
+        }
+    }
+
+    private synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        List<User> staff = userRepository.findByRoleIn(STAFF_ROLES);
+        Map<Long, Integer> loads = new HashMap<>();
+        for (StaffCapacity counter : capacityRepository.findAll()) {
+            loads.put(counter.getStaffId(), counter.getActiveOrders());
+        }
+        // Entries pushed by update() before the first load are at least as fresh as this read
+        staff.forEach(user -> {
+            if (!byId.containsKey(user.getId())) {
+                index(StaffMember.of(user, loads.getOrDefault(user.getId(), 0)));
+            }
+        });
+        loaded = true;
+        log.info("👥 Staff directory loaded ({} staff)", staff.size());
+    }
+
+    private synchronized void put(StaffMember member) {
+        unindex(byId.get(member.id()));
+        index(member);
+    }
+
+    // Load is owned by the capacity counters, not the user row
+    private synchronized void putKeepingLoad(StaffMember member) {
+        StaffMember existing = byId.get(member.id());
+        put(existing != null ? member.withLoad(existing.currentActiveOrders()) : member);
+    }
+
+    private synchronized void drop(Long userId) {
+        unindex(byId.get(userId));
+    }
+
+    private void index(StaffMember member) {
+        byId.put(member.id(), member);
+        roleMap(member.role()).put(member.id(), member);
+        if (member.canAcceptOrder()) {
+            availableByRole.get(member.role()).add(member);
+        }
+    }
+
+    private void unindex(StaffMember member) {
+        if (member == null) {
+            return;
+        }
+        byId.remove(member.id());
+        roleMap(member.role()).remove(member.id());
+        availableByRole.get(member.role()).remove(member);
+    }
+
+    private Map<Long, StaffMember> roleMap(Role role) {
+        return byRole.getOrDefault(role, Map.of());
+    }
+
+    // Runs ahead of after-commit event listeners, so the dispatcher sees the new load
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public int getOrder() {
+                    return Ordered.HIGHEST_PRECEDENCE;
+                }
+
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Immutable copy of a staff user's directory fields
+     */
+    public record StaffMember(Long id, String name, String email, Role role, boolean enabled,
+                              boolean available, int maxActiveOrders, int currentActiveOrders) {
+
+        static StaffMember of(User user, int activeOrders) {
+            return new StaffMember(user.getId(), user.getName(), user.getEmail(), user.getRole(),
+                    user.isEnabled(),
+                    !Boolean.FALSE.equals(user.getIsAvailable()),
+                    user.getMaxActiveOrders() != null
+                            ? user.getMaxActiveOrders()
+                            : StaffCapacityService.defaultMaxActiveOrders(user.getRole()),
+                    activeOrders);
+        }
+
+        StaffMember withLoad(int activeOrders) {
+            return new StaffMember(id, name, email, role, enabled, available, maxActiveOrders, activeOrders);
+        }
+
+        /**
+         * Enabled, available and below max
+         */
+        public boolean canAcceptOrder() {
+            return enabled && available && currentActiveOrders < maxActiveOrders;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.javabite.app.service;
+
+import com.javabite.app.model.Feedback;
+import com.javabite.app.model.Role;
+import com.javabite.app.model.StaffRatingRollup;
+import com.javabite.app.model.User;
+import com.javabite.app.repository.FeedbackRepository;
+import com.javabite.app.repository.StaffRatingRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Per-staff rating rollups (staff_rating_rollups): chefs are rated by the food rating,
+ * waiters by the service rating of feedback on orders they worked.
+ *
+ * - one bucket per staff member per day, created or adjusted by a single upsert in the
+ *   feedback transaction itself (+ on create, - on delete), so rollups commit or roll back
+ *   with the feedback
+ * - a deletion is taken back out of the staff the feedback was counted for, even if the
+ *   order has been reassigned since
+ * - rebuilt from feedback at startup if there are no rollups yet
+ * - windows (last 7 days, last 30 days, all time) are one grouped query over the buckets
+ */
+@Service
+@Slf4j
+public class StaffRatingService {
+
+    private final StaffRatingRollupRepository rollupRepository;
+    private final FeedbackRepository feedbackRepository;
+    private final TransactionTemplate rebuildTransaction;
+
+    public StaffRatingService(StaffRatingRollupRepository rollupRepository,
+                              FeedbackRepository feedbackRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.feedbackRepository = feedbackRepository;
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    // ==================== UPDATES ====================
+
+    /**
+     * Count a new feedback's ratings towards its order's chef and waiter
+     */
+    public void feedbackCreated(Feedback feedback) {
+        apply(feedback, 1);
+    }
+
+    /**
+     * Take a deleted feedback's ratings back out
+     */
+    public void feedbackDeleted(Feedback feedback) {
+        apply(feedback, -1);
+    }
+
+    private void apply(Feedback feedback, int sign) {
+        LocalDate day = dayOf(feedback.getCreatedAt());
+        Long chefId = ratedStaff(feedback.getRatedChefId(), feedback.getOrder().getChef());
+        Long waiterId = ratedStaff(feedback.getRatedWaiterId(), feedback.getOrder().getWaiter());
+        if (chefId != null && feedback.getFoodRating() != null) {
+            rollupRepository.adjust(chefId, Role.CHEF, day, sign * feedback.getFoodRating(), sign);
+        }
+        if (waiterId != null && feedback.getServiceRating() != null) {
+            rollupRepository.adjust(waiterId, Role.WAITER, day, sign * feedback.getServiceRating(), sign);
+        }
+    }
+
+    // Feedback given before the rated staff were recorded was counted for the order's staff
+    private static Long ratedStaff(Long ratedId, User orderStaff) {
+        if (ratedId != null) {
+            return ratedId;
+        }
+        return orderStaff != null ? orderStaff.getId() : null;
+    }
+
+    // ==================== QUERIES ====================
+
+    /**
+     * Rating windows of every rated staff member of a role, by staff id
+     */
+    public Map<Long, StaffRatings> getRatings(Role role) {
+        LocalDate today = LocalDate.now();
+        Map<Long, StaffRatings> ratings = new HashMap<>();
+        for (Object[] row : rollupRepository.summarize(role, today.minusDays(6), today.minusDays(29))) {
+            ratings.put((Long) row[0], new StaffRatings(
+                    Window.of(row[1], row[2]),
+                    Window.of(row[3], row[4]),
+                    Window.of(row[5], row[6])));
+        }
+        return ratings;
+    }
+
+    // ==================== REBUILD ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (rollupRepository.count() > 0) {
+            return;
+        }
+
+        Map<BucketKey, long[]> buckets = new HashMap<>();
+        for (Object[] row : feedbackRepository.findStaffRatings()) {
+            LocalDate day = dayOf((LocalDateTime) row[4]);
+            if (row[0] != null && row[2] != null) {
+                add(buckets, new BucketKey((Long) row[0], Role.CHEF, day), (Integer) row[2]);
+            }
+            if (row[1] != null && row[3] != null) {
+                add(buckets, new BucketKey((Long) row[1], Role.WAITER, day), (Integer) row[3]);
+            }
+        }
+        if (buckets.isEmpty()) {
+            return;
+        }
+
+        List<StaffRatingRollup> rollups = new ArrayList<>();
+        buckets.forEach((key, totals) -> rollups.add(StaffRatingRollup.builder()
+                .staffId(key.staffId)
+                .role(key.role)
+                .day(key.day)
+                .ratingSum(totals[0])
+                .ratingCount(totals[1])
+                .build()));
+        try {
+            // All or nothing: another node rebuilding at the same time hits the unique key
+            rebuildTransaction.executeWithoutResult(status -> rollupRepository.saveAll(rollups));
+            log.info("⭐ Staff rating rollups rebuilt ({} buckets)", rollups.size());
+        } catch (DataIntegrityViolationException e) {
+            log.info("⭐ Staff rating rollups already rebuilt by another instance");
+        }
+    }
+
+    private static void add(Map<BucketKey, long[]> buckets, BucketKey key, int rating) {
+        long[] totals = buckets.computeIfAbsent(key, k -> new long[2]);
+        totals[0] += rating;
+        totals[1]++;
+    }
+
+    private static LocalDate dayOf(LocalDateTime createdAt) {
+        return createdAt != null ? createdAt.toLocalDate() : LocalDate.now();
+    }
+
+    private record BucketKey(Long staffId, Role role, LocalDate day) {}
+
+    /**
+     * Average (one decimal, null if unrated) and number of ratings in a window
+     */
+    public record Window(Double average, long count) {
+        static final Window EMPTY = new Window(null, 0);
+
+        static Window of(Object sum, Object count) {
+            long n = count != null ? ((Number) count).longValue() : 0;
+            if (n <= 0) {
+                return EMPTY;
+            }
+            double average = ((Number) sum).doubleValue() / n;
+            return new Window(Math.round(average * 10.0) / 10.0, n);
+        }
+    }
+
+    public record StaffRatings(Window last7Days, Window last30Days, Window allTime) {
+        public static final StaffRatings NONE = new StaffRatings(Window.EMPTY, Window.EMPTY, Window.EMPTY);
+    }
+}
@@ -0,0 +1,92 @@
+package com.javabite.app.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Best-fit table choice for a party, from the in-memory occupancy bitmap.
+ *
+ * Smallest free table that seats the party wins (ties: lowest number). If none does and
+ * joining is allowed, the adjacent free pair with the fewest combined seats wins.
+ * One bitmap read and a scan over 20 tables - no database, no allocation beyond the result.
+ */
+@Component
+@RequiredArgsConstructor
+public class TableAllocator {
+
+    private final TableInventory tableInventory;
+    private final TableAvailabilityIndex tableAvailabilityIndex;
+
+    /**
+     * One table, or two adjacent tables pushed together
+     */
+    public record Allocation(int tableNumber, Integer joinedTableNumber, int seats) {
+        public boolean isJoined() {
+            return joinedTableNumber != null;
+        }
+    }
+
+    public Optional<Allocation> bestFit(LocalDate date, String time, int partySize, boolean allowJoin) {
+        return bestFit(tableAvailabilityIndex.occupancy(date, time), partySize, allowJoin);
+    }
+
+    Optional<Allocation> bestFit(long occupied, int partySize, boolean allowJoin) {
+        for (TableInventory.DiningTable table : tableInventory.bySeats()) {
+            if (table.seats() >= partySize && isFree(occupied, table.number())) {
+                return Optional.of(new Allocation(table.number(), null, table.seats()));
+            }
+        }
+
+        if (!allowJoin) {
+            return Optional.empty();
+        }
+
+        Allocation best = null;
+        for (int[] pair : tableInventory.adjacentPairs()) {
+            if (!isFree(occupied, pair[0]) || !isFree(occupied, pair[1])) {
+                continue;
+            }
+            int seats = tableInventory.seats(pair[0]) + tableInventory.seats(pair[1]);
+            if (seats >= partySize && (best == null || seats < best.seats())) {
+                best = new Allocation(pair[0], pair[1], seats);
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    /**
+     * Seat a party using one specific (just freed) table: alone if it is big enough,
+     * otherwise joined with a free neighbour
+     */
+    public Optional<Allocation> fitUsing(LocalDate date, String time, int tableNumber, int partySize) {
+        long occupied = tableAvailabilityIndex.occupancy(date, time);
+        if (!isFree(occupied, tableNumber)) {
+            return Optional.empty();
+        }
+
+        int seats = tableInventory.seats(tableNumber);
+        if (seats >= partySize) {
+            return Optional.of(new Allocation(tableNumber, null, seats));
+        }
+
+        Allocation best = null;
+        for (int neighbour : new int[]{tableNumber - 1, tableNumber + 1}) {
+            if (neighbour < 1 || neighbour > TableAvailabilityIndex.TOTAL_TABLES
+                    || !tableInventory.areAdjacent(tableNumber, neighbour) || !isFree(occupied, neighbour)) {
+                continue;
+            }
+            int combined = seats + tableInventory.seats(neighbour);
+            if (combined >= partySize && (best == null || combined < best.seats())) {
+                best = new Allocation(Math.min(tableNumber, neighbour), Math.max(tableNumber, neighbour), combined);
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    private static boolean isFree(long occupied, int tableNumber) {
+        return (occupied & (1L << (tableNumber - 1))) == 0;
+    }
+}
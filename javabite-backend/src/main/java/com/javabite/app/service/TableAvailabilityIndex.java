@@ -0,0 +1,280 @@
+package com.javabite.app.service;
+
+import com.javabite.app.event.TableReleasedEvent;
+import com.javabite.app.model.BookingStatus;
+import com.javabite.app.model.TableBooking;
+import com.javabite.app.repository.TableBookingRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory table occupancy per (date, time slot).
+ *
+ * One bitset per slot, bit (table - 1) set while a CONFIRMED or ACTIVE booking holds the
+ * table. Reserve and release are compare-and-set on that word, so two bookings for the
+ * same table can't both win and availability checks never hit the database.
+ *
+ * - reserve inside a transaction is undone if it rolls back
+ * - release inside a transaction is applied only after it commits
+ * - rebuilt from table_bookings at startup
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TableAvailabilityIndex {
+
+    public static final int TOTAL_TABLES = 20;
+
+    // Bookable slots, every 30 minutes from 11:00 to 21:00
+    public static final List<String> TIME_SLOTS = List.of(
+            "11:00", "11:30", "12:00", "12:30", "13:00", "13:30",
+            "14:00", "14:30", "15:00", "15:30", "16:00", "16:30",
+            "17:00", "17:30", "18:00", "18:30", "19:00", "19:30",
+            "20:00", "20:30", "21:00");
+
+    private final TableBookingRepository bookingRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BoardVersions boardVersions;
+
+    private final Map<SlotKey, AtomicLong> slots = new ConcurrentHashMap<>();
+
+    /**
+     * Load every CONFIRMED / ACTIVE booking
+     */
+    @PostConstruct
+    void rebuild() {
+        slots.clear();
+        int loaded = 0;
+        for (Object[] row : bookingRepository.findOccupiedSlots()) {
+            Integer table = (Integer) row[2];
+            Integer joinedTable = (Integer) row[3];
+            if (!isValidTable(table) || (joinedTable != null && !isValidTable(joinedTable))) {
+                log.warn("⚠️ Ignoring booking for unknown table {} on {} at {}", table, row[0], row[1]);
+                continue;
+            }
+            long mask = mask(table, joinedTable);
+            slot((LocalDate) row[0], (String) row[1]).getAndUpdate(bits -> bits | mask);
+            loaded += Long.bitCount(mask);
+        }
+        log.info("🪑 Table availability rebuilt: {} occupied table slots", loaded);
+    }
+
+    // ==================== QUERIES ====================
+
+    public boolean isTableFree(LocalDate date, String time, Integer tableNumber) {
+        if (!isValidTable(tableNumber)) {
+            return false;
+        }
+        return (occupancy(date, time) & bit(tableNumber)) == 0;
+    }
+
+    /**
+     * Free table numbers for a slot, ascending
+     */
+    public List<Integer> freeTables(LocalDate date, String time) {
+        long occupied = occupancy(date, time);
+        List<Integer> free = new ArrayList<>();
+        for (int table = 1; table <= TOTAL_TABLES; table++) {
+            if ((occupied & bit(table)) == 0) {
+                free.add(table);
+            }
+        }
+        return free;
+    }
+
+    public int occupiedCount(LocalDate date, String time) {
+        return Long.bitCount(occupancy(date, time));
+    }
+
+    /**
+     * Occupancy bitset of a slot (bit table-1 set = taken)
+     */
+    public long occupancy(LocalDate date, String time) {
+        AtomicLong bits = slots.get(new SlotKey(date, normalizeTime(time)));
+        return bits != null ? bits.get() : 0L;
+    }
+
+    /**
+     * Occupancy bitsets of one day, in TIME_SLOTS order
+     */
+    public long[] dayOccupancy(LocalDate date) {
+        long[] row = new long[TIME_SLOTS.size()];
+        for (int i = 0; i < row.length; i++) {
+            row[i] = occupancy(date, TIME_SLOTS.get(i));
+        }
+        return row;
+    }
+
+    // ==================== UPDATES ====================
+
+    /**
+     * Claim a table for a slot. False if it is already taken.
+     */
+    public boolean tryReserve(LocalDate date, String time, Integer tableNumber) {
+        return tryReserve(date, time, tableNumber, null);
+    }
+
+    /**
+     * Claim a table, plus a joined table if given, all-or-nothing (one CAS on the slot's word).
+     * Inside a transaction the claim is undone if it rolls back.
+     */
+    public boolean tryReserve(LocalDate date, String time, Integer tableNumber, Integer joinedTableNumber) {
+        if (!isValidTable(tableNumber) || (joinedTableNumber != null && !isValidTable(joinedTableNumber))) {
+            throw new RuntimeException("Invalid table number: " + tableNumber);
+        }
+
+        AtomicLong bits = slot(date, time);
+        long mask = mask(tableNumber, joinedTableNumber);
+        long current;
+        do {
+            current = bits.get();
+            if ((current & mask) != 0) {
+                return false;
+            }
+        } while (!bits.compareAndSet(current, current | mask));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        clear(date, time, mask);
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    /**
+     * Free a table (and joined table) for a slot (after commit when called inside a transaction)
+     */
+    public void release(LocalDate date, String time, Integer tableNumber, Integer joinedTableNumber) {
+        if (!isValidTable(tableNumber)) {
+            return;
+        }
+        long mask = mask(tableNumber, isValidTable(joinedTableNumber) ? joinedTableNumber : null);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear(date, time, mask);
+                }
+            });
+        } else {
+            clear(date, time, mask);
+        }
+    }
+
+    /**
+     * Keep the index in step with a booking status change.
+     * Re-activating a booking whose table was taken meanwhile is rejected.
+     */
+    public void statusChanged(TableBooking booking, BookingStatus previousStatus) {
+        // Active bookings are counted on the admin board
+        if (previousStatus == BookingStatus.ACTIVE || booking.getStatus() == BookingStatus.ACTIVE) {
+            boardVersions.changed(BoardVersions.ADMIN_BOARD);
+        }
+
+        boolean wasOccupying = holdsTable(previousStatus);
+        boolean isOccupying = holdsTable(booking.getStatus());
+        if (wasOccupying == isOccupying || booking.getTableNumber() == null) {
+            return;
+        }
+
+        if (isOccupying) {
+            if (!tryReserve(booking.getBookingDate(), booking.getBookingTime(),
+                    booking.getTableNumber(), booking.getJoinedTableNumber())) {
+                throw new RuntimeException(String.format("Table %d is already booked for %s at %s",
+                        booking.getTableNumber(), booking.getBookingDate(), booking.getBookingTime()));
+            }
+        } else {
+            release(booking.getBookingDate(), booking.getBookingTime(),
+                    booking.getTableNumber(), booking.getJoinedTableNumber());
+            // Waitlist promotion runs once this commits
+            eventPublisher.publishEvent(new TableReleasedEvent(
+                    booking.getBookingDate(), booking.getBookingTime(), booking.getTableNumber()));
+            if (booking.getJoinedTableNumber() != null) {
+                eventPublisher.publishEvent(new TableReleasedEvent(
+                        booking.getBookingDate(), booking.getBookingTime(), booking.getJoinedTableNumber()));
+            }
+        }
+    }
+
+    public static boolean holdsTable(BookingStatus status) {
+        return status == BookingStatus.CONFIRMED || status == BookingStatus.ACTIVE;
+    }
+
+    /**
+     * Drop slots of past days (just after midnight)
+     */
+    @Scheduled(cron = "0 1 0 * * *")
+    public void evictPastDays() {
+        LocalDate today = LocalDate.now();
+        slots.keySet().removeIf(key -> key.date.isBefore(today));
+    }
+
+    // ==================== INTERNALS ====================
+
+    private void clear(LocalDate date, String time, long mask) {
+        slot(date, time).getAndUpdate(bits -> bits & ~mask);
+    }
+
+    private AtomicLong slot(LocalDate date, String time) {
+        return slots.computeIfAbsent(new SlotKey(date, normalizeTime(time)), key -> new AtomicLong());
+    }
+
+    private static boolean isValidTable(Integer tableNumber) {
+        return tableNumber != null && tableNumber >= 1 && tableNumber <= TOTAL_TABLES;
+    }
+
+    private static long bit(int tableNumber) {
+        return 1L << (tableNumber - 1);
+    }
+
+    private static long mask(Integer tableNumber, Integer joinedTableNumber) {
+        return joinedTableNumber != null ? bit(tableNumber) | bit(joinedTableNumber) : bit(tableNumber);
+    }
+
+    // "18:00" and "18:00:00" are the same slot
+    private static String normalizeTime(String time) {
+        return time != null ? TableBooking.normalizeTime(time) : "";
+    }
+
+    private static final class SlotKey {
+        private final LocalDate date;
+        private final String time;
+
+        private SlotKey(LocalDate date, String time) {
+            this.date = date;
+            this.time = time;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof SlotKey other)) return false;
+            return Objects.equals(date, other.date) && time.equals(other.time);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(date, time);
+        }
+    }
+}
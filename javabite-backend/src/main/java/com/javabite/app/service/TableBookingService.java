@@ -2,18 +2,27 @@ package com.javabite.app.service;
 
 import com.javabite.app.model.BookingStatus;
 import com.javabite.app.model.TableBooking;
+import com.javabite.app.model.TableSlotLock;
 import com.javabite.app.model.User;
+import com.javabite.app.model.WaitlistEntry;
+import com.javabite.app.payload.AvailabilityGrid;
 import com.javabite.app.payload.CreateBookingRequest;
 import com.javabite.app.repository.TableBookingRepository;
+import com.javabite.app.repository.TableSlotLockRepository;
 import com.javabite.app.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,9 +31,25 @@ import java.util.stream.Collectors;
 public class TableBookingService {
 
     private final TableBookingRepository bookingRepository;
+    private final TableSlotLockRepository tableSlotLockRepository;
     private final UserRepository userRepository;
+    private final TableAvailabilityIndex tableAvailabilityIndex;
+    private final TableInventory tableInventory;
+    private final TableAllocator tableAllocator;
 
-    private static final int TOTAL_TABLES = 20;
+    private static final int TOTAL_TABLES = TableAvailabilityIndex.TOTAL_TABLES;
+    private static final int SLOT_LOCK_STRIPES = 64;
+    private static final int MAX_GRID_DAYS = 31;
+
+    private final Lock[] slotStripes = createStripes();
+
+    private static Lock[] createStripes() {
+        Lock[] stripes = new Lock[SLOT_LOCK_STRIPES];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        return stripes;
+    }
 
     // ==================== BOOKING CREATION ====================
 
@@ -36,33 +61,7 @@ public class TableBookingService {
         User customer = userRepository.findById(customerId)
                 .orElseThrow(() -> new RuntimeException("Customer not found"));
 
-        // ✅ CRITICAL FIX: Check for duplicate booking BEFORE creating
-        // Use optimized query instead of loading all bookings
-        List<TableBooking> existingBookings = bookingRepository.findByBookingDate(request.getBookingDate());
-
-        boolean isDuplicate = existingBookings.stream()
-                .anyMatch(b ->
-                        b.getTableNumber().equals(request.getTableNumber()) &&
-                                b.getBookingTime().equals(request.getBookingTime()) &&
-                                (b.getStatus() == BookingStatus.CONFIRMED || b.getStatus() == BookingStatus.ACTIVE)
-                );
-
-        if (isDuplicate) {
-            log.error("❌ Duplicate booking attempt - Table {} already booked for {} at {}",
-                    request.getTableNumber(), request.getBookingDate(), request.getBookingTime());
-            throw new RuntimeException(
-                    String.format("Table %d is already booked for %s at %s. Please select a different table or time.",
-                            request.getTableNumber(), request.getBookingDate(), request.getBookingTime())
-            );
-        }
-
-        // Double-check availability using optimized method
-        if (!isTableAvailable(request.getTableNumber(), request.getBookingDate(), request.getBookingTime())) {
-            throw new RuntimeException(
-                    String.format("Table %d is not available for the selected time. Please refresh and try again.",
-                            request.getTableNumber())
-            );
-        }
+        TableAllocator.Allocation allocation = resolveTables(request);
 
         TableBooking booking = TableBooking.builder()
                 .customer(customer)
@@ -70,81 +69,242 @@ public class TableBookingService {
                 .bookingDate(request.getBookingDate())
                 .bookingTime(request.getBookingTime())
                 .numberOfGuests(request.getNumberOfGuests())
-                .tableNumber(request.getTableNumber())
+                .tableNumber(allocation.tableNumber())
+                .joinedTableNumber(allocation.joinedTableNumber())
                 .specialRequests(request.getSpecialRequests())
                 .status(BookingStatus.CONFIRMED)
                 .build();
 
-        TableBooking savedBooking = bookingRepository.save(booking);
-        log.info("✅ Booking created: #{} for customer {} at table {} on {} at {}",
-                savedBooking.getId(), customer.getEmail(), request.getTableNumber(),
+        TableBooking savedBooking = reserveAndSave(booking);
+
+        log.info("✅ Booking created: #{} for customer {} at table {}{} on {} at {}",
+                savedBooking.getId(), customer.getEmail(), allocation.tableNumber(),
+                allocation.isJoined() ? "+" + allocation.joinedTableNumber() : "",
                 request.getBookingDate(), request.getBookingTime());
 
         return savedBooking;
     }
 
-    // ==================== AVAILABILITY CHECKING ====================
+    /**
+     * Customer's chosen table(s) checked against the party size, or the best fit if none chosen
+     */
+    private TableAllocator.Allocation resolveTables(CreateBookingRequest request) {
+        int partySize = request.getNumberOfGuests();
+
+        if (request.getTableNumber() == null) {
+            return tableAllocator.bestFit(request.getBookingDate(), request.getBookingTime(), partySize, true)
+                    .orElseThrow(() -> new RuntimeException(String.format(
+                            "No free table seats %d guests on %s at %s. Please pick another time or join the waitlist.",
+                            partySize, request.getBookingDate(), request.getBookingTime())));
+        }
+
+        int table = request.getTableNumber();
+        Integer joined = request.getJoinedTableNumber();
+        if (joined != null && !tableInventory.areAdjacent(table, joined)) {
+            throw new RuntimeException(String.format("Tables %d and %d are not next to each other", table, joined));
+        }
+
+        int seats = tableInventory.seats(table) + (joined != null ? tableInventory.seats(joined) : 0);
+        if (seats < partySize) {
+            throw new RuntimeException(String.format("Table %s seats %d - not enough for %d guests",
+                    joined != null ? table + "+" + joined : String.valueOf(table), seats, partySize));
+        }
+        return new TableAllocator.Allocation(table, joined, seats);
+    }
 
     /**
-     * ✅ FIXED: Get available tables for a specific date and time slot
-     * Optimized to only fetch bookings for specific date
+     * Book freed table(s) for a promoted waitlist entry (same reservation path as createBooking)
      */
-    public List<Integer> getAvailableTablesForSlot(LocalDate date, String time) {
-        log.info("🔍 Checking availability for date: {}, time: {}", date, time);
+    @Transactional
+    public TableBooking createBookingFromWaitlist(WaitlistEntry entry, TableAllocator.Allocation allocation) {
+        TableBooking booking = TableBooking.builder()
+                .customer(entry.getCustomer())
+                .user(entry.getCustomer())
+                .bookingDate(entry.getBookingDate())
+                .bookingTime(entry.getBookingTime())
+                .numberOfGuests(entry.getNumberOfGuests())
+                .tableNumber(allocation.tableNumber())
+                .joinedTableNumber(allocation.joinedTableNumber())
+                .specialRequests(entry.getSpecialRequests())
+                .status(BookingStatus.CONFIRMED)
+                .build();
 
-        // All table numbers
-        List<Integer> allTables = new ArrayList<>();
-        for (int i = 1; i <= TOTAL_TABLES; i++) {
-            allTables.add(i);
+        return reserveAndSave(booking);
+    }
+
+    /**
+     * Atomic reservation of one table slot (or two joined tables).
+     *
+     * Callers for the same slot serialize on its lock stripe (other slots are unaffected);
+     * the in-memory claim rejects duplicates on this node, and one table_slot_locks row per
+     * table rejects another node's booking of either table, alone or joined, when flushed.
+     */
+    private TableBooking reserveAndSave(TableBooking booking) {
+        LocalDate date = booking.getBookingDate();
+        String time = booking.getBookingTime();
+        Integer table = booking.getTableNumber();
+        Integer joined = booking.getJoinedTableNumber();
+
+        // Both stripes for a joined booking, always in index order
+        int first = stripeIndex(date, time, table);
+        int second = joined != null ? stripeIndex(date, time, joined) : first;
+        Lock low = slotStripes[Math.min(first, second)];
+        Lock high = slotStripes[Math.max(first, second)];
+
+        low.lock();
+        if (high != low) {
+            high.lock();
+        }
+        try {
+            // Undone automatically if this transaction rolls back
+            if (!tableAvailabilityIndex.tryReserve(date, time, table, joined)) {
+                throw slotTaken(booking);
+            }
+
+            try {
+                TableBooking saved = bookingRepository.saveAndFlush(booking);
+                claimTableLocks(saved);
+                return saved;
+            } catch (DataIntegrityViolationException e) {
+                tableAvailabilityIndex.release(date, time, table, joined);
+                throw slotTaken(booking);
+            }
+        } finally {
+            if (high != low) {
+                high.unlock();
+            }
+            low.unlock();
         }
+    }
 
-        // ✅ FIXED: Only get bookings for this specific date (optimized)
-        List<TableBooking> bookingsForDate = bookingRepository.findByBookingDate(date);
+    /**
+     * Insert the booking's table_slot_locks rows, first clearing stale rows for the same keys
+     * (the booking that wrote them was cancelled, completed or moved). Stale rows are found with
+     * plain reads and deleted by id, so no gap locks are taken.
+     */
+    private void claimTableLocks(TableBooking booking) {
+        List<String> keys = new ArrayList<>(2);
+        keys.add(booking.currentSlotKey());
+        if (booking.currentJoinedSlotKey() != null) {
+            keys.add(booking.currentJoinedSlotKey());
+        }
 
-        // Filter for specific time and active statuses
-        Set<Integer> bookedTables = bookingsForDate.stream()
-                .filter(b -> b.getBookingTime().equals(time))
-                .filter(b -> b.getStatus() == BookingStatus.CONFIRMED || b.getStatus() == BookingStatus.ACTIVE)
-                .map(TableBooking::getTableNumber)
-                .collect(Collectors.toSet());
+        List<TableSlotLock> held = tableSlotLockRepository.findBySlotKeyIn(keys);
+        if (!held.isEmpty()) {
+            Map<Long, TableBooking> holders = bookingRepository.findAllById(
+                            held.stream().map(TableSlotLock::getBookingId).toList())
+                    .stream()
+                    .collect(Collectors.toMap(TableBooking::getId, holder -> holder));
+            List<Long> stale = held.stream()
+                    .filter(lock -> {
+                        TableBooking holder = holders.get(lock.getBookingId());
+                        return holder == null || !holder.holdsSlotKey(lock.getSlotKey());
+                    })
+                    .map(TableSlotLock::getId)
+                    .toList();
+            if (!stale.isEmpty()) {
+                tableSlotLockRepository.deleteAllByIdInBatch(stale);
+            }
+        }
+        tableSlotLockRepository.saveAllAndFlush(keys.stream()
+                .map(key -> TableSlotLock.builder().slotKey(key).bookingId(booking.getId()).build())
+                .toList());
+    }
 
-        log.info("📊 Date: {}, Time: {} - Booked tables: {}", date, time, bookedTables);
+    private static int stripeIndex(LocalDate date, String time, Integer table) {
+        return Math.floorMod(TableBooking.slotKeyFor(date, time, table).hashCode(), SLOT_LOCK_STRIPES);
+    }
 
-        // Return available tables (all tables minus booked tables)
-        List<Integer> availableTables = allTables.stream()
-                .filter(table -> !bookedTables.contains(table))
-                .collect(Collectors.toList());
+    private RuntimeException slotTaken(TableBooking booking) {
+        String tables = booking.getJoinedTableNumber() != null
+                ? booking.getTableNumber() + "+" + booking.getJoinedTableNumber()
+                : String.valueOf(booking.getTableNumber());
+        log.error("❌ Duplicate booking attempt - Table {} already booked for {} at {}",
+                tables, booking.getBookingDate(), booking.getBookingTime());
+        return new RuntimeException(
+                String.format("Table %s is already booked for %s at %s. Please select a different table or time.",
+                        tables, booking.getBookingDate(), booking.getBookingTime())
+        );
+    }
 
-        log.info("✅ Available tables: {} out of {}", availableTables.size(), TOTAL_TABLES);
+    /**
+     * Fill table_slot_locks for bookings made before it existed
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillTableLocks() {
+        List<TableBooking> unlocked = bookingRepository.findHoldingWithoutTableLocks();
+        for (TableBooking booking : unlocked) {
+            try {
+                claimTableLocks(booking);
+            } catch (DataIntegrityViolationException e) {
+                log.warn("⚠️ Booking #{} double-books table {}{} on {} at {} - left without table lock",
+                        booking.getId(), booking.getTableNumber(),
+                        booking.getJoinedTableNumber() != null ? "+" + booking.getJoinedTableNumber() : "",
+                        booking.getBookingDate(), booking.getBookingTime());
+            }
+        }
+        if (!unlocked.isEmpty()) {
+            log.info("🔒 Backfilled table locks for {} bookings", unlocked.size());
+        }
+    }
+
+    // ==================== AVAILABILITY CHECKING ====================
 
+    /**
+     * Get available tables for a specific date and time slot (in-memory index, no query)
+     */
+    public List<Integer> getAvailableTablesForSlot(LocalDate date, String time) {
+        List<Integer> availableTables = tableAvailabilityIndex.freeTables(date, time);
+        log.info("✅ {} {} - Available tables: {} out of {}", date, time, availableTables.size(), TOTAL_TABLES);
         return availableTables;
     }
 
     /**
-     * ✅ FIXED: Check if a specific table is available for a date/time slot
-     * Optimized to only query specific date
+     * Best-fit free table (or adjacent pair) for a party, without booking it
+     */
+    public Optional<TableAllocator.Allocation> suggestTable(LocalDate date, String time, int partySize) {
+        return tableAllocator.bestFit(date, time, partySize, true);
+    }
+
+    public List<TableInventory.DiningTable> getTables() {
+        return tableInventory.all();
+    }
+
+    /**
+     * Check if a specific table is available for a date/time slot
      */
     public boolean isTableAvailable(Integer tableNumber, LocalDate date, String time) {
-        // Only get bookings for this specific date
-        List<TableBooking> bookingsForDate = bookingRepository.findByBookingDate(date);
-
-        // Check if this specific table has an active booking for this time
-        boolean isBooked = bookingsForDate.stream()
-                .anyMatch(b ->
-                        b.getTableNumber().equals(tableNumber) &&
-                                b.getBookingTime().equals(time) &&
-                                (b.getStatus() == BookingStatus.CONFIRMED || b.getStatus() == BookingStatus.ACTIVE)
-                );
-
-        return !isBooked;
+        return tableAvailabilityIndex.isTableFree(date, time, tableNumber);
     }
 
     /**
      * Check if any table is available for a date/time slot
      */
     public boolean isSlotAvailable(LocalDate date, LocalTime time) {
-        Long bookedCount = bookingRepository.countBookingsForSlot(date, time.toString());
-        return bookedCount < TOTAL_TABLES;
+        return tableAvailabilityIndex.occupiedCount(date, time.toString()) < TOTAL_TABLES;
+    }
+
+    /**
+     * Occupancy of every slot for {@code days} days from {@code from}, straight from the index
+     */
+    public AvailabilityGrid getAvailabilityGrid(LocalDate from, int days) {
+        if (days < 1 || days > MAX_GRID_DAYS) {
+            throw new RuntimeException("days must be between 1 and " + MAX_GRID_DAYS);
+        }
+
+        Map<LocalDate, long[]> occupancy = new LinkedHashMap<>();
+        for (int i = 0; i < days; i++) {
+            LocalDate date = from.plusDays(i);
+            occupancy.put(date, tableAvailabilityIndex.dayOccupancy(date));
+        }
+
+        return AvailabilityGrid.builder()
+                .from(from)
+                .days(days)
+                .totalTables(TOTAL_TABLES)
+                .timeSlots(TableAvailabilityIndex.TIME_SLOTS)
+                .occupancy(occupancy)
+                .build();
     }
 
     // ==================== CUSTOMER METHODS ====================
@@ -176,10 +336,12 @@ public class TableBookingService {
             throw new RuntimeException("Cannot cancel completed bookings");
         }
 
+        BookingStatus previousStatus = booking.getStatus();
         booking.setStatus(BookingStatus.CANCELLED);
         booking.setCancelledAt(java.time.LocalDateTime.now());
 
         TableBooking savedBooking = bookingRepository.save(booking);
+        tableAvailabilityIndex.statusChanged(savedBooking, previousStatus);
         log.info("✅ Booking #{} cancelled", bookingId);
 
         return savedBooking;
@@ -207,6 +369,7 @@ public class TableBookingService {
     @Transactional
     public TableBooking updateBookingStatus(Long bookingId, BookingStatus newStatus) {
         TableBooking booking = getBookingById(bookingId);
+        BookingStatus previousStatus = booking.getStatus();
         booking.setStatus(newStatus);
 
         if (newStatus == BookingStatus.CANCELLED) {
@@ -214,6 +377,7 @@ public class TableBookingService {
         }
 
         TableBooking savedBooking = bookingRepository.save(booking);
+        tableAvailabilityIndex.statusChanged(savedBooking, previousStatus);
         log.info("✅ Booking #{} status updated to {}", bookingId, newStatus);
 
         return savedBooking;
@@ -253,10 +417,12 @@ public class TableBookingService {
             throw new RuntimeException("Cannot cancel completed bookings");
         }
 
+        BookingStatus previousStatus = booking.getStatus();
         booking.setStatus(BookingStatus.CANCELLED);
         booking.setCancelledAt(java.time.LocalDateTime.now());
 
         TableBooking savedBooking = bookingRepository.save(booking);
+        tableAvailabilityIndex.statusChanged(savedBooking, previousStatus);
         log.info("✅ Admin cancelled Booking #{}", bookingId);
 
         return savedBooking;
@@ -0,0 +1,94 @@
+package com.javabite.app.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * The dining room: seats and zone of every table, and which tables can be pushed together.
+ *
+ * Tables next to each other (consecutive numbers) in the same zone are adjacent.
+ * Numbers run 1..TableAvailabilityIndex.TOTAL_TABLES, matching the occupancy bits.
+ */
+@Component
+public class TableInventory {
+
+    public enum Zone { WINDOW, MAIN, PATIO, PRIVATE }
+
+    public record DiningTable(int number, int seats, Zone zone) {}
+
+    private final DiningTable[] tables = new DiningTable[TableAvailabilityIndex.TOTAL_TABLES + 1];
+    private final List<DiningTable> bySeats;
+    private final List<int[]> adjacentPairs = new ArrayList<>();
+
+    public TableInventory() {
+        for (int number = 1; number <= TableAvailabilityIndex.TOTAL_TABLES; number++) {
+            tables[number] = new DiningTable(number, seatsFor(number), zoneFor(number));
+        }
+
+        List<DiningTable> sorted = new ArrayList<>(all());
+        sorted.sort(Comparator.comparingInt(DiningTable::seats).thenComparingInt(DiningTable::number));
+        bySeats = List.copyOf(sorted);
+
+        for (int number = 1; number < TableAvailabilityIndex.TOTAL_TABLES; number++) {
+            if (tables[number].zone() == tables[number + 1].zone()) {
+                adjacentPairs.add(new int[]{number, number + 1});
+            }
+        }
+    }
+
+    // Layout: 4 window two-tops, 8 four-tops and 4 six-tops in the main room,
+    // 2 patio four-tops and 2 private ten-tops
+    private static int seatsFor(int number) {
+        if (number <= 4) return 2;
+        if (number <= 12) return 4;
+        if (number <= 16) return 6;
+        if (number <= 18) return 4;
+        return 10;
+    }
+
+    private static Zone zoneFor(int number) {
+        if (number <= 4) return Zone.WINDOW;
+        if (number <= 16) return Zone.MAIN;
+        if (number <= 18) return Zone.PATIO;
+        return Zone.PRIVATE;
+    }
+
+    public DiningTable get(int number) {
+        if (number < 1 || number > TableAvailabilityIndex.TOTAL_TABLES) {
+            throw new RuntimeException("Invalid table number: " + number);
+        }
+        return tables[number];
+    }
+
+    public int seats(int number) {
+        return get(number).seats();
+    }
+
+    public boolean areAdjacent(int first, int second) {
+        return Math.abs(first - second) == 1 && get(first).zone() == get(second).zone();
+    }
+
+    public List<DiningTable> all() {
+        return Arrays.asList(tables).subList(1, tables.length);
+    }
+
+    /**
+     * Tables ordered by seats, then number (best-fit scan order)
+     */
+    public List<DiningTable> bySeats() {
+        return bySeats;
+    }
+
+    public List<int[]> adjacentPairs() {
+        return Collections.unmodifiableList(adjacentPairs);
+    }
+
+    public int maxPartySize() {
+        int max = bySeats.get(bySeats.size() - 1).seats();
+        for (int[] pair : adjacentPairs) {
+            max = Math.max(max, seats(pair[0]) + seats(pair[1]));
+        }
+        return max;
+    }
+}
@@ -1,5 +1,6 @@
 package com.javabite.app.service;
 
+import com.javabite.app.event.StaffStatusChangedEvent;
 import com.javabite.app.model.Role;
 import com.javabite.app.model.User;
 import com.javabite.app.payload.CreateChefRequest;
@@ -8,13 +9,13 @@ import com.javabite.app.payload.SignupRequest;
 import com.javabite.app.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.security.SecureRandom;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -23,6 +24,8 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StaffDirectory staffDirectory;
 
     private static final String CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789!@#$%";
     private static final int PASSWORD_LENGTH = 12;
@@ -67,6 +70,7 @@ public class UserService {
                 .build();
 
         User saved = userRepository.save(chef);
+        staffDirectory.update(saved);
         saved.setPassword(password); // For response only (not saved to DB)
 
         log.info("Chef created: {}", saved.getEmail());
@@ -93,6 +97,7 @@ public class UserService {
                 .build();
 
         User saved = userRepository.save(waiter);
+        staffDirectory.update(saved);
         saved.setPassword(password); // For response only (not saved to DB)
 
         log.info("Waiter created: {}", saved.getEmail());
@@ -109,23 +114,22 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("User not found with email: " + email));
     }
 
-    public List<User> getAllChefs() {
-        return userRepository.findAll().stream()
-                .filter(user -> user.getRole() == Role.CHEF)
-                .collect(Collectors.toList());
+    public List<StaffDirectory.StaffMember> getAllChefs() {
+        return staffDirectory.byRole(Role.CHEF);
     }
 
-    public List<User> getAllWaiters() {
-        return userRepository.findAll().stream()
-                .filter(user -> user.getRole() == Role.WAITER)
-                .collect(Collectors.toList());
+    public List<StaffDirectory.StaffMember> getAllWaiters() {
+        return staffDirectory.byRole(Role.WAITER);
     }
 
     @Transactional
     public User toggleUserStatus(Long userId) {
         User user = getUserById(userId);
         user.setEnabled(!user.isEnabled());
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        staffDirectory.update(saved);
+        eventPublisher.publishEvent(new StaffStatusChangedEvent(saved.getId(), saved.getRole(), saved.isEnabled()));
+        return saved;
     }
 
     @Transactional
@@ -135,6 +139,7 @@ public class UserService {
             throw new RuntimeException("Cannot delete admin user");
         }
         userRepository.delete(user);
+        staffDirectory.remove(userId);
         log.info("User deleted: {}", user.getEmail());
     }
 
@@ -170,11 +175,10 @@ public class UserService {
                 .invitationToken(token)
                 .invitationSentAt(java.time.LocalDateTime.now())
                 .maxActiveOrders(10)
-                .currentActiveOrders(0)
                 .isAvailable(true)
                 .build();
 
-        userRepository.save(chef);
+        staffDirectory.update(userRepository.save(chef));
 
         log.info("Chef invitation sent to {}", email);
 
@@ -199,11 +203,10 @@ public class UserService {
                 .invitationToken(token)
                 .invitationSentAt(java.time.LocalDateTime.now())
                 .maxActiveOrders(1)  // Waiters can serve 1 table at a time
-                .currentActiveOrders(0)
                 .isAvailable(true)
                 .build();
 
-        userRepository.save(waiter);
+        staffDirectory.update(userRepository.save(waiter));
 
         log.info("Waiter invitation sent to {}", email);
 
@@ -225,6 +228,8 @@ public class UserService {
         user.setInvitationAcceptedAt(java.time.LocalDateTime.now());
         user.setInvitationToken(null);  // Clear token
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        staffDirectory.update(saved);
+        return saved;
     }
 }
\ No newline at end of file
@@ -0,0 +1,315 @@
+package com.javabite.app.service;
+
+import com.javabite.app.event.TableReleasedEvent;
+import com.javabite.app.model.TableBooking;
+import com.javabite.app.model.User;
+import com.javabite.app.model.WaitlistEntry;
+import com.javabite.app.model.WaitlistStatus;
+import com.javabite.app.payload.CreateBookingRequest;
+import com.javabite.app.repository.UserRepository;
+import com.javabite.app.repository.WaitlistEntryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Waitlist for fully booked slots.
+ *
+ * One ordered set per (date, time): earliest arrival first, smaller party first on ties.
+ * When a table in the slot is released (cancellation, completion) the first entry it can
+ * seat (alone or joined with a free neighbour, see TableAllocator) is booked onto it on a
+ * background thread and emailed - O(log n) when that is the head of the queue.
+ * Entries are persisted in booking_waitlist and the sets are rebuilt at startup.
+ */
+@Service
+@Slf4j
+public class WaitlistService {
+
+    private final WaitlistEntryRepository waitlistRepository;
+    private final UserRepository userRepository;
+    private final TableBookingService tableBookingService;
+    private final TableAvailabilityIndex tableAvailabilityIndex;
+    private final TableAllocator tableAllocator;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+
+    // Guarded by "this"
+    private final Map<String, TreeSet<Waiting>> waitlists = new HashMap<>();
+    private final Map<Long, Waiting> waitingById = new HashMap<>();
+
+    private final ThreadPoolTaskScheduler promotionThread = new ThreadPoolTaskScheduler();
+
+    public WaitlistService(WaitlistEntryRepository waitlistRepository,
+                           UserRepository userRepository,
+                           TableBookingService tableBookingService,
+                           TableAvailabilityIndex tableAvailabilityIndex,
+                           TableAllocator tableAllocator,
+                           EmailService emailService,
+                           PlatformTransactionManager transactionManager) {
+        this.waitlistRepository = waitlistRepository;
+        this.userRepository = userRepository;
+        this.tableBookingService = tableBookingService;
+        this.tableAvailabilityIndex = tableAvailabilityIndex;
+        this.tableAllocator = tableAllocator;
+        this.emailService = emailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    void start() {
+        promotionThread.setPoolSize(1);
+        promotionThread.setThreadNamePrefix("waitlist-");
+        promotionThread.initialize();
+
+        List<WaitlistEntry> waiting = waitlistRepository
+                .findByStatusAndBookingDateGreaterThanEqual(WaitlistStatus.WAITING, LocalDate.now());
+        waiting.forEach(this::add);
+        log.info("⏳ Waitlist rebuilt: {} waiting entries", waiting.size());
+    }
+
+    @PreDestroy
+    void stop() {
+        promotionThread.shutdown();
+    }
+
+    // ==================== CUSTOMER ====================
+
+    /**
+     * Queue the customer for a slot with no free table (or table pair) big enough for the party
+     */
+    @Transactional
+    public WaitlistEntry join(Long customerId, CreateBookingRequest request) {
+        User customer = userRepository.findById(customerId)
+                .orElseThrow(() -> new RuntimeException("Customer not found"));
+
+        if (tableAllocator.bestFit(request.getBookingDate(), request.getBookingTime(),
+                request.getNumberOfGuests(), true).isPresent()) {
+            throw new RuntimeException("A table for your party is still available at this time. Please book it directly.");
+        }
+
+        if (waitlistRepository.existsByCustomer_IdAndBookingDateAndBookingTimeAndStatus(
+                customerId, request.getBookingDate(), request.getBookingTime(), WaitlistStatus.WAITING)) {
+            throw new RuntimeException("You are already on the waitlist for this time slot");
+        }
+
+        WaitlistEntry entry = waitlistRepository.save(WaitlistEntry.builder()
+                .customer(customer)
+                .bookingDate(request.getBookingDate())
+                .bookingTime(request.getBookingTime())
+                .numberOfGuests(request.getNumberOfGuests())
+                .specialRequests(request.getSpecialRequests())
+                .status(WaitlistStatus.WAITING)
+                .build());
+
+        afterCommit(() -> add(entry));
+        log.info("⏳ Customer {} joined waitlist for {} at {} (entry #{})",
+                customer.getEmail(), entry.getBookingDate(), entry.getBookingTime(), entry.getId());
+        return entry;
+    }
+
+    /**
+     * 1-based place in the queue, or 0 if the entry is no longer waiting
+     */
+    public synchronized int position(Long entryId) {
+        Waiting waiting = waitingById.get(entryId);
+        if (waiting == null) {
+            return 0;
+        }
+        return waitlists.get(waiting.slot).headSet(waiting, true).size();
+    }
+
+    public List<WaitlistEntry> getCustomerEntries(Long customerId) {
+        return waitlistRepository.findByCustomer_IdOrderByCreatedAtDesc(customerId);
+    }
+
+    @Transactional
+    public WaitlistEntry leave(Long entryId, Long customerId) {
+        WaitlistEntry entry = waitlistRepository.findById(entryId)
+                .orElseThrow(() -> new RuntimeException("Waitlist entry not found"));
+
+        if (!entry.getCustomer().getId().equals(customerId)) {
+            throw new RuntimeException("You can only leave your own waitlist entries");
+        }
+        if (entry.getStatus() != WaitlistStatus.WAITING) {
+            throw new RuntimeException("Waitlist entry is no longer waiting. Current status: " + entry.getStatus());
+        }
+
+        entry.setStatus(WaitlistStatus.LEFT);
+        afterCommit(() -> remove(entryId));
+        return waitlistRepository.save(entry);
+    }
+
+    // ==================== PROMOTION ====================
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTableReleased(TableReleasedEvent event) {
+        if (event.getBookingDate().isBefore(LocalDate.now())) {
+            return;
+        }
+        promotionThread.execute(() -> promote(event.getBookingDate(), event.getBookingTime(), event.getTableNumber()));
+    }
+
+    private void promote(LocalDate date, String time, Integer tableNumber) {
+        Promotion next = pollFitting(date, time, tableNumber);
+        while (next != null) {
+            Promotion candidate = next;
+            try {
+                TableBooking booking = transactionTemplate.execute(status -> book(candidate));
+                if (booking != null) {
+                    String tables = candidate.allocation.isJoined()
+                            ? booking.getTableNumber() + "+" + booking.getJoinedTableNumber()
+                            : String.valueOf(booking.getTableNumber());
+                    log.info("🎉 Waitlist entry #{} promoted to Booking #{} (table {} on {} at {})",
+                            candidate.waiting.entryId, booking.getId(), tables, date, time);
+                    emailService.sendWaitlistPromotedEmail(booking.getCustomer().getEmail(),
+                            booking.getCustomer().getName(), date, time, tables);
+                    return;
+                }
+                // Entry left or expired meanwhile - try the next one
+                next = pollFitting(date, time, tableNumber);
+            } catch (RuntimeException e) {
+                if (tableAllocator.fitUsing(date, time, tableNumber, candidate.waiting.partySize).isEmpty()) {
+                    // Someone booked the table(s) first; the customer keeps their place
+                    add(candidate.waiting);
+                    return;
+                }
+                log.warn("⚠️ Dropping waitlist entry #{}: {}", candidate.waiting.entryId, e.getMessage());
+                next = pollFitting(date, time, tableNumber);
+            }
+        }
+    }
+
+    private TableBooking book(Promotion promotion) {
+        WaitlistEntry entry = waitlistRepository.findById(promotion.waiting.entryId).orElse(null);
+        if (entry == null || entry.getStatus() != WaitlistStatus.WAITING) {
+            return null;
+        }
+
+        TableBooking booking = tableBookingService.createBookingFromWaitlist(entry, promotion.allocation);
+        entry.setStatus(WaitlistStatus.PROMOTED);
+        entry.setPromotedAt(LocalDateTime.now());
+        entry.setBookingId(booking.getId());
+        waitlistRepository.save(entry);
+        return booking;
+    }
+
+    /**
+     * Expire entries for past days (just after midnight)
+     */
+    @Scheduled(cron = "0 2 0 * * *")
+    @Transactional
+    public void expirePastEntries() {
+        LocalDate today = LocalDate.now();
+        int expired = waitlistRepository.expireBefore(today);
+        synchronized (this) {
+            waitingById.values().removeIf(waiting -> waiting.date.isBefore(today));
+            waitlists.values().forEach(set -> set.removeIf(waiting -> waiting.date.isBefore(today)));
+            waitlists.values().removeIf(Set::isEmpty);
+        }
+        if (expired > 0) {
+            log.info("🧹 Expired {} waitlist entries", expired);
+        }
+    }
+
+    // ==================== IN-MEMORY QUEUES ====================
+
+    private synchronized void add(WaitlistEntry entry) {
+        add(new Waiting(entry.getId(), entry.getBookingDate(), slotKey(entry.getBookingDate(), entry.getBookingTime()),
+                entry.getCreatedAt(), entry.getNumberOfGuests()));
+    }
+
+    private synchronized void add(Waiting waiting) {
+        waitlists.computeIfAbsent(waiting.slot, slot -> new TreeSet<>()).add(waiting);
+        waitingById.put(waiting.entryId, waiting);
+    }
+
+    private synchronized void remove(Long entryId) {
+        Waiting waiting = waitingById.remove(entryId);
+        if (waiting != null) {
+            TreeSet<Waiting> slot = waitlists.get(waiting.slot);
+            slot.remove(waiting);
+            if (slot.isEmpty()) {
+                waitlists.remove(waiting.slot);
+            }
+        }
+    }
+
+    /**
+     * Remove and return the first entry (in queue order) the freed table can seat,
+     * alone or joined with a free neighbour. O(log n) when the head fits.
+     */
+    private synchronized Promotion pollFitting(LocalDate date, String time, Integer tableNumber) {
+        TreeSet<Waiting> queue = waitlists.get(slotKey(date, time));
+        if (queue == null) {
+            return null;
+        }
+        for (Waiting waiting : queue) {
+            Optional<TableAllocator.Allocation> allocation =
+                    tableAllocator.fitUsing(date, time, tableNumber, waiting.partySize);
+            if (allocation.isPresent()) {
+                remove(waiting.entryId);
+                return new Promotion(waiting, allocation.get());
+            }
+        }
+        return null;
+    }
+
+    private static String slotKey(LocalDate date, String time) {
+        return date + "|" + TableBooking.normalizeTime(time);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record Promotion(Waiting waiting, TableAllocator.Allocation allocation) {}
+
+    private static final class Waiting implements Comparable<Waiting> {
+        private final Long entryId;
+        private final LocalDate date;
+        private final String slot;
+        private final LocalDateTime arrivedAt;
+        private final int partySize;
+
+        private Waiting(Long entryId, LocalDate date, String slot, LocalDateTime arrivedAt, Integer partySize) {
+            this.entryId = entryId;
+            this.date = date;
+            this.slot = slot;
+            this.arrivedAt = arrivedAt;
+            this.partySize = partySize != null ? partySize : 1;
+        }
+
+        @Override
+        public int compareTo(Waiting other) {
+            int byArrival = arrivedAt.compareTo(other.arrivedAt);
+            if (byArrival != 0) {
+                return byArrival;
+            }
+            int byParty = Integer.compare(partySize, other.partySize);
+            return byParty != 0 ? byParty : entryId.compareTo(other.entryId);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.javabite.app.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.javabite.app.model.Category;
+import com.javabite.app.model.OrderStatus;
+import com.javabite.app.payload.MenuItemResponse;
+import com.javabite.app.payload.OrderItemResponse;
+import com.javabite.app.payload.OrderResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Every order side effect reads its OrderEvent back from the order_outbox JSON, with the
+ * application's ObjectMapper, so the event (and the order snapshot inside it) has to survive
+ * the round trip unchanged.
+ */
+@JsonTest
+class OrderEventJsonTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2026, 3, 14, 9, 26, 53, 589_000_000);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void eventRoundTripsThroughTheOutboxPayload() throws Exception {
+        OrderEvent event = OrderEvent.builder()
+                .orderId(42L)
+                .type(OrderEventType.STATUS_CHANGED)
+                .previousStatus(OrderStatus.PREPARING)
+                .status(OrderStatus.READY)
+                .customerId(3L)
+                .previousChefId(5L)
+                .chefId(6L)
+                .waiterId(7L)
+                .total(new BigDecimal("12.60"))
+                .createdAt(CREATED)
+                .chefAssignedAt(CREATED.plusMinutes(1))
+                .waiterAssignedAt(CREATED.plusMinutes(2))
+                .preparationStartedAt(CREATED.plusMinutes(3))
+                .occurredAt(CREATED.plusMinutes(9))
+                .order(order())
+                .build();
+
+        OrderEvent read = objectMapper.readValue(objectMapper.writeValueAsString(event), OrderEvent.class);
+
+        assertNull(read.getOutboxId());
+        assertEquals(42L, read.getOrderId());
+        assertEquals(OrderEventType.STATUS_CHANGED, read.getType());
+        assertEquals(OrderStatus.PREPARING, read.getPreviousStatus());
+        assertEquals(OrderStatus.READY, read.getStatus());
+        assertEquals(3L, read.getCustomerId());
+        assertEquals(5L, read.getPreviousChefId());
+        assertEquals(6L, read.getChefId());
+        assertNull(read.getPreviousWaiterId());
+        assertEquals(7L, read.getWaiterId());
+        assertEquals(new BigDecimal("12.60"), read.getTotal());
+        assertEquals(CREATED, read.getCreatedAt());
+        assertEquals(CREATED.plusMinutes(1), read.getChefAssignedAt());
+        assertEquals(CREATED.plusMinutes(2), read.getWaiterAssignedAt());
+        assertEquals(CREATED.plusMinutes(3), read.getPreparationStartedAt());
+        assertEquals(CREATED.plusMinutes(9), read.getOccurredAt());
+        // OrderResponse and its items are @Data, so equals covers every nested field
+        assertEquals(order(), read.getOrder());
+    }
+
+    @Test
+    void relayAddsTheOutboxIdWithoutChangingTheEvent() throws Exception {
+        OrderEvent stored = OrderEvent.builder()
+                .orderId(42L)
+                .type(OrderEventType.CREATED)
+                .status(OrderStatus.PENDING)
+                .createdAt(CREATED)
+                .order(order())
+                .build();
+
+        OrderEvent delivered = objectMapper.readValue(objectMapper.writeValueAsString(stored), OrderEvent.class)
+                .toBuilder()
+                .outboxId(1001L)
+                .build();
+
+        assertEquals(1001L, delivered.getOutboxId());
+        assertEquals(OrderEventType.CREATED, delivered.getType());
+        assertEquals(CREATED, delivered.getCreatedAt());
+        assertEquals(order(), delivered.getOrder());
+    }
+
+    private static OrderResponse order() {
+        MenuItemResponse latte = MenuItemResponse.builder()
+                .id(11L)
+                .name("Latte")
+                .price(new BigDecimal("4.20"))
+                .category(Category.COFFEE)
+                .available(true)
+                .build();
+        return OrderResponse.builder()
+                .id(42L)
+                .customerId(3L)
+                .customerName("Ada")
+                .chefId(6L)
+                .chefName("Chef")
+                .waiterId(7L)
+                .tableNumber(4)
+                .items(List.of(OrderItemResponse.builder()
+                        .id(100L)
+                        .menuItem(latte)
+                        .quantity(3)
+                        .priceAtOrder(new BigDecimal("4.20"))
+                        .notes("oat milk")
+                        .build()))
+                .status(OrderStatus.READY)
+                .subtotal(new BigDecimal("12.60"))
+                .tax(BigDecimal.ZERO)
+                .discount(BigDecimal.ZERO)
+                .total(new BigDecimal("12.60"))
+                .createdAt(CREATED)
+                .readyAt(CREATED.plusMinutes(9))
+                .autoAssigned(true)
+                .build();
+    }
+}
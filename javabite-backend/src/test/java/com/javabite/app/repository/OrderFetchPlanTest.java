@@ -0,0 +1,236 @@
+package com.javabite.app.repository;
+
+import com.javabite.app.model.*;
+import com.javabite.app.payload.BookingResponse;
+import com.javabite.app.payload.FeedbackResponse;
+import com.javabite.app.payload.OrderResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Statements issued per read path. Every path maps its result the way the endpoint does
+ * (customer / staff names, items and their menu items, booking), so a lazy association the
+ * fetch plan misses shows up as an extra statement. Board and history paths load their own
+ * user first, as the services do, so that row is counted once and is not joined per order.
+ * Write paths load the order row only.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class OrderFetchPlanTest {
+
+    private static final int ORDERS = 6;
+
+    @Autowired private EntityManager em;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private TableBookingRepository bookingRepository;
+    @Autowired private FeedbackRepository feedbackRepository;
+
+    private Statistics stats;
+    private User chef;
+    private User waiter;
+    private final List<User> customers = new ArrayList<>();
+    private Long firstOrderId;
+
+    @BeforeEach
+    void setUp() {
+        stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        chef = user("Chef", "chef@test", Role.CHEF);
+        waiter = user("Waiter", "waiter@test", Role.WAITER);
+        for (int i = 0; i < 3; i++) {
+            customers.add(user("Customer " + i, "customer" + i + "@test", Role.CUSTOMER));
+        }
+
+        MenuItem latte = menuItem("Latte", "4.50");
+        MenuItem croissant = menuItem("Croissant", "3.00");
+
+        for (int i = 0; i < ORDERS; i++) {
+            User customer = customers.get(i % customers.size());
+            TableBooking booking = TableBooking.builder()
+                    .customer(customer)
+                    .user(customer)
+                    .bookingDate(LocalDate.now())
+                    .bookingTime(String.format("%02d:00", 9 + i))
+                    .numberOfGuests(2)
+                    .tableNumber(1 + i)
+                    .status(BookingStatus.CONFIRMED)
+                    .build();
+            em.persist(booking);
+
+            Order order = Order.builder()
+                    .customer(customer)
+                    .chef(chef)
+                    .waiter(waiter)
+                    .tableBooking(booking)
+                    .status(i % 2 == 0 ? OrderStatus.PREPARING : OrderStatus.COMPLETED)
+                    .subtotal(new BigDecimal("7.50"))
+                    .tax(new BigDecimal("0.75"))
+                    .discount(BigDecimal.ZERO)
+                    .build();
+            order.addOrderItem(OrderItem.builder().order(order).menuItem(latte).quantity(1).priceAtOrder(4.50).build());
+            order.addOrderItem(OrderItem.builder().order(order).menuItem(croissant).quantity(1).priceAtOrder(3.00).build());
+            em.persist(order);
+            if (firstOrderId == null) {
+                firstOrderId = order.getId();
+            }
+
+            if (order.getStatus() == OrderStatus.COMPLETED) {
+                em.persist(Feedback.builder()
+                        .order(order)
+                        .customer(customer)
+                        .overallRating(4)
+                        .foodRating(5)
+                        .serviceRating(4)
+                        .comment("Lovely")
+                        .wouldRecommend(true)
+                        .build());
+            }
+        }
+        em.flush();
+    }
+
+    @Test
+    void chefBoardIsTheChefPlusOneStatement() {
+        assertStatements(2, () -> orderRepository.findByChefAndStatus(reload(chef), OrderStatus.PREPARING)
+                .stream().map(OrderResponse::fromEntity).toList());
+        assertStatements(2, () -> orderRepository.findByChefAndStatusInOrderByCreatedAtAsc(
+                        reload(chef), List.of(OrderStatus.PENDING, OrderStatus.PREPARING))
+                .stream().map(OrderResponse::fromEntity).toList());
+    }
+
+    @Test
+    void waiterBoardIsTheWaiterPlusOneStatement() {
+        assertStatements(2, () -> orderRepository.findByWaiterAndStatusInOrderByCreatedAtAsc(
+                        reload(waiter), List.of(OrderStatus.PENDING, OrderStatus.PREPARING, OrderStatus.READY))
+                .stream().map(OrderResponse::fromEntity).toList());
+        assertStatements(2, () -> orderRepository.findByWaiterAndStatus(reload(waiter), OrderStatus.COMPLETED)
+                .stream().map(OrderResponse::fromEntity).toList());
+    }
+
+    @Test
+    void customerHistoryIsTheCustomerPlusOneStatement() {
+        assertStatements(2, () -> orderRepository.findByCustomerOrderByCreatedAtDesc(reload(customers.get(0)))
+                .stream().map(OrderResponse::fromEntity).toList());
+    }
+
+    @Test
+    void adminHistoryPageIsTwoStatements() {
+        assertStatements(2, () -> {
+            List<Long> ids = orderRepository.findHistoryPageIds(
+                    null, null, null, null, null, null, null, null, PageRequest.of(0, ORDERS + 1));
+            return orderRepository.findByIdIn(ids).stream().map(OrderResponse::fromEntity).toList();
+        });
+    }
+
+    @Test
+    void orderStatsIsOneStatement() {
+        assertStatements(1, () -> orderRepository.aggregateByStatus(LocalDate.now().atStartOfDay()));
+    }
+
+    @Test
+    void singleOrderIsOneStatement() {
+        assertStatements(1, () -> List.of(OrderResponse.fromEntity(
+                orderRepository.findDetailedById(firstOrderId).orElseThrow())));
+    }
+
+    @Test
+    void writePathLoadsTheOrderRowOnly() {
+        assertStatements(1, () -> {
+            Order order = orderRepository.findById(firstOrderId).orElseThrow();
+            order.setAdminNotes("Window seat");
+
+            assertFalse(Hibernate.isInitialized(order.getItems()));
+            assertFalse(Hibernate.isInitialized(order.getCustomer()));
+            assertFalse(Hibernate.isInitialized(order.getTableBooking()));
+            return List.of(order);
+        });
+    }
+
+    @Test
+    void writePathThatReturnsTheOrderRendersItAfterTheSession() {
+        // As in assignChefToOrder: load the row, change it, return the detailed order
+        Order order = orderRepository.findById(firstOrderId).orElseThrow();
+        order.setAdminNotes("Window seat");
+        Order returned = orderRepository.findDetailedById(firstOrderId).orElseThrow();
+        em.flush();
+        em.clear();
+
+        assertTrue(Hibernate.isInitialized(returned.getItems()));
+        OrderResponse response = OrderResponse.fromEntity(returned);
+        assertEquals("Chef", response.getChefName());
+        assertEquals(2, response.getItems().size());
+        assertEquals("Latte", response.getItems().get(0).getMenuItem().getName());
+    }
+
+    @Test
+    void bookingListsAreOneStatement() {
+        assertStatements(1, () -> bookingRepository.findAll().stream().map(BookingResponse::fromEntity).toList());
+        assertStatements(1, () -> bookingRepository.findByBookingDate(LocalDate.now())
+                .stream().map(BookingResponse::fromEntity).toList());
+    }
+
+    @Test
+    void feedbackListsAreOneStatement() {
+        assertStatements(1, () -> feedbackRepository.findAllByOrderByCreatedAtDesc()
+                .stream().map(FeedbackResponse::fromEntity).toList());
+        assertStatements(1, () -> feedbackRepository.findPage(
+                null, null, null, null, null, null, null, PageRequest.of(0, 10)));
+    }
+
+    private void assertStatements(long expected, Supplier<List<?>> path) {
+        em.flush();
+        em.clear();
+        stats.clear();
+
+        List<?> result = path.get();
+
+        assertFalse(result.isEmpty());
+        assertEquals(expected, stats.getPrepareStatementCount());
+    }
+
+    private User reload(User user) {
+        return em.find(User.class, user.getId());
+    }
+
+    private User user(String name, String email, Role role) {
+        User user = User.builder().name(name).email(email).password("secret").role(role).enabled(true).build();
+        em.persist(user);
+        return user;
+    }
+
+    private MenuItem menuItem(String name, String price) {
+        MenuItem item = MenuItem.builder()
+                .name(name)
+                .price(new BigDecimal(price))
+                .category(Category.values()[0])
+                .available(true)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+        em.persist(item);
+        return item;
+    }
+}
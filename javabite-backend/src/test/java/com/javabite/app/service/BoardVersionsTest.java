@@ -0,0 +1,142 @@
+package com.javabite.app.service;
+
+import com.javabite.app.event.OrderEvent;
+import com.javabite.app.event.OrderEventType;
+import com.javabite.app.model.OrderStatus;
+import com.javabite.app.payload.OrderResponse;
+import com.javabite.app.repository.OrderRepository;
+import com.javabite.app.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * The board change log: what a client gets back for a version, and when it has to fall back
+ * to a full snapshot. Events are recorded outside a transaction, so they apply immediately.
+ */
+class BoardVersionsTest {
+
+    private static final Long CHEF = 7L;
+    private static final Long OTHER_CHEF = 8L;
+    private static final Long WAITER = 9L;
+
+    private final BoardVersions boardVersions = new BoardVersions();
+
+    @Test
+    void changesAfterAVersionAreTheBoardsOwnOldestFirst() {
+        long since = boardVersions.version(BoardVersions.chefBoard(CHEF));
+        boardVersions.onOrderEvent(event(1L, CHEF, OrderStatus.PENDING));
+        boardVersions.onOrderEvent(event(2L, OTHER_CHEF, OrderStatus.PENDING));
+        boardVersions.onOrderEvent(event(3L, CHEF, OrderStatus.PREPARING));
+
+        BoardVersions.Changes changes = boardVersions.changesSince(BoardVersions.chefBoard(CHEF), since);
+
+        assertNotNull(changes);
+        assertEquals(List.of(1L, 3L), changes.changes().stream().map(c -> c.order().getId()).toList());
+        assertEquals(boardVersions.version(BoardVersions.chefBoard(CHEF)), changes.version());
+        assertTrue(boardVersions.changesSince(BoardVersions.chefBoard(CHEF), changes.version()).changes().isEmpty());
+    }
+
+    @Test
+    void versionNewerThanAnyHandedOutIsNotDiffed() {
+        boardVersions.onOrderEvent(event(1L, CHEF, OrderStatus.PENDING));
+        long current = boardVersions.version(BoardVersions.chefBoard(CHEF));
+
+        // e.g. a version from another instance, or from before a clock step back
+        assertNull(boardVersions.changesSince(BoardVersions.chefBoard(CHEF), current + 1));
+    }
+
+    @Test
+    void versionOlderThanTheLogIsNotDiffed() {
+        long start = boardVersions.version(BoardVersions.ADMIN_BOARD);
+        for (long i = 1; i <= 2000; i++) {
+            boardVersions.onOrderEvent(event(i, CHEF, OrderStatus.PENDING));
+        }
+        // The log holds exactly 2000 changes, so nothing is lost yet
+        assertEquals(2000, boardVersions.changesSince(BoardVersions.ADMIN_BOARD, start).changes().size());
+
+        boardVersions.onOrderEvent(event(2001L, CHEF, OrderStatus.PENDING));
+        assertNull(boardVersions.changesSince(BoardVersions.ADMIN_BOARD, start));
+        // From the oldest change still held onwards the log is complete
+        BoardVersions.Changes tail = boardVersions.changesSince(BoardVersions.ADMIN_BOARD, start + 1);
+        assertNotNull(tail);
+        assertEquals(2000, tail.changes().size());
+        assertEquals(2L, tail.changes().get(0).order().getId());
+    }
+
+    @Test
+    void redeliveredOutboxEventIsLoggedOnce() {
+        long since = boardVersions.version(BoardVersions.chefBoard(CHEF));
+        OrderEvent delivered = event(1L, CHEF, OrderStatus.PENDING).toBuilder().outboxId(500L).build();
+
+        boardVersions.onOrderEvent(delivered);
+        // Another listener failed, so the relay delivers the same event again
+        boardVersions.onOrderEvent(delivered);
+
+        assertEquals(1, boardVersions.changesSince(BoardVersions.chefBoard(CHEF), since).changes().size());
+    }
+
+    @Test
+    void outboxEventsDeliveredOutOfIdOrderAreBothLogged() {
+        long since = boardVersions.version(BoardVersions.chefBoard(CHEF));
+
+        // Ids are handed out at insert but become visible at commit, so 10 can follow 11
+        boardVersions.onOrderEvent(event(1L, CHEF, OrderStatus.PENDING).toBuilder().outboxId(11L).build());
+        boardVersions.onOrderEvent(event(2L, CHEF, OrderStatus.PENDING).toBuilder().outboxId(10L).build());
+
+        assertEquals(List.of(1L, 2L), boardVersions.changesSince(BoardVersions.chefBoard(CHEF), since)
+                .changes().stream().map(c -> c.order().getId()).toList());
+    }
+
+    @Test
+    void ordersThatLeftTheBoardComeBackAsRemovedIds() {
+        BoardSnapshotService snapshots = new BoardSnapshotService(
+                mock(OrderRepository.class), mock(UserRepository.class), mock(OrderService.class), boardVersions);
+        long since = boardVersions.version(BoardVersions.chefBoard(CHEF));
+
+        boardVersions.onOrderEvent(event(1L, CHEF, OrderStatus.PENDING));
+        boardVersions.onOrderEvent(event(2L, CHEF, OrderStatus.PREPARING));
+        boardVersions.onOrderEvent(event(2L, CHEF, OrderStatus.READY));
+        // Reassigned away: still on the previous chef's log, now as a tombstone
+        boardVersions.onOrderEvent(OrderEvent.builder()
+                .orderId(1L)
+                .type(OrderEventType.STAFF_REASSIGNED)
+                .previousChefId(CHEF)
+                .chefId(OTHER_CHEF)
+                .order(order(1L, OTHER_CHEF, OrderStatus.PENDING))
+                .build());
+
+        Map<String, Object> delta = snapshots.chefChanges(CHEF, since);
+
+        assertEquals(false, delta.get("full"));
+        assertEquals(List.of(), delta.get("orders"));
+        assertEquals(List.of(2L, 1L), delta.get("removed"));
+    }
+
+    private static OrderEvent event(Long orderId, Long chefId, OrderStatus status) {
+        return OrderEvent.builder()
+                .orderId(orderId)
+                .type(OrderEventType.STATUS_CHANGED)
+                .status(status)
+                .chefId(chefId)
+                .waiterId(WAITER)
+                .order(order(orderId, chefId, status))
+                .build();
+    }
+
+    private static OrderResponse order(Long id, Long chefId, OrderStatus status) {
+        return OrderResponse.builder()
+                .id(id)
+                .chefId(chefId)
+                .waiterId(WAITER)
+                .status(status)
+                .build();
+    }
+}
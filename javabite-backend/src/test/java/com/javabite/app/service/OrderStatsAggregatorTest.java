@@ -0,0 +1,74 @@
+package com.javabite.app.service;
+
+import com.javabite.app.event.OrderEvent;
+import com.javabite.app.event.OrderEventType;
+import com.javabite.app.model.OrderStatus;
+import com.javabite.app.repository.OrderOutboxRepository;
+import com.javabite.app.repository.OrderRepository;
+import com.javabite.app.scheduler.OrderOutboxRelay;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reconciliation replaces the counters while events are still being delivered: an event whose
+ * change is already in the database snapshot must not be counted again when it arrives.
+ */
+class OrderStatsAggregatorTest {
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final OrderOutboxRepository orderOutboxRepository = mock(OrderOutboxRepository.class);
+    private final OrderOutboxRelay orderOutboxRelay = mock(OrderOutboxRelay.class);
+
+    private final OrderStatsAggregator aggregator = new OrderStatsAggregator(
+            orderRepository, orderOutboxRepository, orderOutboxRelay, mock(PlatformTransactionManager.class));
+
+    @BeforeEach
+    void setUp() {
+        // The relay thread runs the task; here it runs on the test thread
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(orderOutboxRelay).runBetweenEvents(any());
+    }
+
+    @Test
+    void eventAlreadyInTheSnapshotIsNotCountedAgain() {
+        // Order #1 committed with outbox event 10, not delivered when the snapshot is taken
+        when(orderRepository.aggregateByStatus(any())).thenReturn(List.<Object[]>of(
+                new Object[]{OrderStatus.PENDING, 1L, new BigDecimal("5.00"), new BigDecimal("5.00")}));
+        when(orderOutboxRepository.findUndispatchedIds()).thenReturn(List.of(10L));
+
+        aggregator.reconcile();
+        aggregator.onOrderEvent(created(1L, 10L));
+        // Committed after the snapshot, so only the event brings it in
+        aggregator.onOrderEvent(created(2L, 11L));
+
+        Map<String, Object> stats = aggregator.getStatistics();
+        assertEquals(2L, stats.get("total"));
+        assertEquals(2L, stats.get("pending"));
+        assertEquals(10.0, stats.get("todaySales"));
+    }
+
+    private static OrderEvent created(Long orderId, Long outboxId) {
+        return OrderEvent.builder()
+                .outboxId(outboxId)
+                .orderId(orderId)
+                .type(OrderEventType.CREATED)
+                .status(OrderStatus.PENDING)
+                .total(new BigDecimal("5.00"))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
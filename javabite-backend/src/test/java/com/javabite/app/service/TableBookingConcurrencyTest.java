@@ -0,0 +1,218 @@
+package com.javabite.app.service;
+
+import com.javabite.app.model.BookingStatus;
+import com.javabite.app.model.TableBooking;
+import com.javabite.app.model.TableSlotLock;
+import com.javabite.app.model.User;
+import com.javabite.app.payload.CreateBookingRequest;
+import com.javabite.app.repository.TableBookingRepository;
+import com.javabite.app.repository.TableSlotLockRepository;
+import com.javabite.app.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Many customers booking at the same instant. The "database" is a map that enforces the
+ * unique table_slot_locks.slot_key, so both the in-node claim and the cross-node guard are exercised.
+ */
+class TableBookingConcurrencyTest {
+
+    private static final int THREADS = 64;
+    private static final LocalDate DATE = LocalDate.now().plusDays(1);
+
+    private final Map<String, TableSlotLock> committed = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    private TableBookingRepository bookingRepository;
+    private TableSlotLockRepository tableSlotLockRepository;
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(TableBookingRepository.class);
+        tableSlotLockRepository = mock(TableSlotLockRepository.class);
+        userRepository = mock(UserRepository.class);
+
+        when(userRepository.findById(anyLong()))
+                .thenAnswer(inv -> Optional.of(User.builder().id(inv.getArgument(0)).email("c@test").build()));
+        when(bookingRepository.saveAndFlush(any(TableBooking.class))).thenAnswer(inv -> {
+            TableBooking booking = inv.getArgument(0);
+            booking.setId(ids.incrementAndGet());
+            return booking;
+        });
+        // All of a booking's lock rows go in, or none do (the transaction rolls back)
+        when(tableSlotLockRepository.saveAllAndFlush(anyList())).thenAnswer(inv -> {
+            List<TableSlotLock> locks = inv.getArgument(0);
+            List<String> inserted = new ArrayList<>();
+            for (TableSlotLock lock : locks) {
+                if (committed.putIfAbsent(lock.getSlotKey(), lock) != null) {
+                    inserted.forEach(committed::remove);
+                    throw new DataIntegrityViolationException("Duplicate entry for key 'uk_table_slot_lock_key'");
+                }
+                inserted.add(lock.getSlotKey());
+            }
+            return locks;
+        });
+    }
+
+    private TableBookingService newNode() {
+        TableAvailabilityIndex index = new TableAvailabilityIndex(bookingRepository, event -> { }, new BoardVersions());
+        index.rebuild();
+        TableInventory inventory = new TableInventory();
+        return new TableBookingService(bookingRepository, tableSlotLockRepository, userRepository, index, inventory,
+                new TableAllocator(inventory, index));
+    }
+
+    @Test
+    void oneSlotHammeredFromManyThreadsIsBookedOnce() throws Exception {
+        TableBookingService service = newNode();
+
+        List<Boolean> results = runConcurrently(THREADS, i -> service.createBooking((long) i, request(7, "19:00")));
+
+        assertEquals(1, results.stream().filter(ok -> ok).count());
+        assertEquals(1, committed.size());
+        assertFalse(service.isTableAvailable(7, DATE, "19:00"));
+        assertFalse(service.getAvailableTablesForSlot(DATE, "19:00").contains(7));
+    }
+
+    @Test
+    void twoNodesRacingForOneSlotBookItOnce() throws Exception {
+        TableBookingService nodeA = newNode();
+        TableBookingService nodeB = newNode();
+
+        List<Boolean> results = runConcurrently(THREADS, i ->
+                (i % 2 == 0 ? nodeA : nodeB).createBooking((long) i, request(3, "20:00")));
+
+        assertEquals(1, results.stream().filter(ok -> ok).count());
+        assertEquals(1, committed.size());
+    }
+
+    @Test
+    void tableTakenAloneOnOneNodeAndJoinedOnAnotherIsBookedOnce() throws Exception {
+        TableBookingService nodeA = newNode();
+        TableBookingService nodeB = newNode();
+        int[] pair = new TableInventory().adjacentPairs().get(0);
+
+        List<Boolean> results = runConcurrently(THREADS, i -> {
+            if (i % 2 == 0) {
+                nodeA.createBooking((long) i, request(pair[1], "21:00"));
+            } else {
+                nodeB.createBooking((long) i, joinedRequest(pair[0], pair[1], "21:00"));
+            }
+        });
+
+        assertEquals(1, results.stream().filter(ok -> ok).count());
+    }
+
+    @Test
+    void differentTablesDoNotContend() throws Exception {
+        TableBookingService service = newNode();
+        int tables = TableAvailabilityIndex.TOTAL_TABLES;
+
+        List<Boolean> results = runConcurrently(tables, i -> service.createBooking((long) i, request(i + 1, "18:00")));
+
+        assertEquals(tables, results.stream().filter(ok -> ok).count());
+        assertEquals(0, service.getAvailableTablesForSlot(DATE, "18:00").size());
+    }
+
+    @Test
+    void lockLeftByACancelledBookingIsReplaced() {
+        String key = TableBooking.slotKeyFor(DATE, "17:00", 5);
+        committed.put(key, TableSlotLock.builder().id(900L).slotKey(key).bookingId(500L).build());
+        TableBooking cancelled = TableBooking.builder()
+                .id(500L)
+                .bookingDate(DATE)
+                .bookingTime("17:00")
+                .tableNumber(5)
+                .status(BookingStatus.CANCELLED)
+                .build();
+        when(tableSlotLockRepository.findBySlotKeyIn(anyList())).thenAnswer(inv -> inv.<List<String>>getArgument(0)
+                .stream().map(committed::get).filter(Objects::nonNull).toList());
+        when(bookingRepository.findAllById(any())).thenReturn(List.of(cancelled));
+        doAnswer(inv -> committed.values().removeIf(lock -> inv.<List<Long>>getArgument(0).contains(lock.getId())))
+                .when(tableSlotLockRepository).deleteAllByIdInBatch(any());
+
+        newNode().createBooking(1L, request(5, "17:00"));
+
+        assertEquals(1L, committed.get(key).getBookingId());
+    }
+
+    private CreateBookingRequest request(int table, String time) {
+        CreateBookingRequest request = new CreateBookingRequest();
+        request.setBookingDate(DATE);
+        request.setBookingTime(time);
+        request.setNumberOfGuests(2);
+        request.setTableNumber(table);
+        return request;
+    }
+
+    private CreateBookingRequest joinedRequest(int table, int joined, String time) {
+        CreateBookingRequest request = request(table, time);
+        request.setJoinedTableNumber(joined);
+        return request;
+    }
+
+    private interface Attempt {
+        void run(int caller);
+    }
+
+    /**
+     * Release all callers at once; true per caller whose booking went through
+     */
+    private List<Boolean> runConcurrently(int callers, Attempt attempt) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        CountDownLatch ready = new CountDownLatch(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger unexpected = new AtomicInteger();
+
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            int caller = i;
+            futures.add(pool.submit(() -> {
+                ready.countDown();
+                start.await();
+                try {
+                    attempt.run(caller);
+                    return true;
+                } catch (RuntimeException e) {
+                    if (!e.getMessage().contains("already booked")) {
+                        unexpected.incrementAndGet();
+                    }
+                    return false;
+                }
+            }));
+        }
+
+        ready.await();
+        start.countDown();
+
+        List<Boolean> results = new ArrayList<>();
+        for (Future<Boolean> future : futures) {
+            results.add(future.get(30, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+
+        assertEquals(0, unexpected.get(), "only 'already booked' rejections are expected");
+        return results;
+    }
+}
@@ -89,10 +89,12 @@ export const menuApi = {
 
 // ============= ORDER API =============
 export const orderApi = {
-    createOrder: async (orderData) => {
+    // Retries with the same idempotencyKey return the original order instead of a new one
+    createOrder: async (orderData, idempotencyKey) => {
         const data = await apiCall('/orders', {
             method: 'POST',
             body: JSON.stringify(orderData),
+            headers: idempotencyKey ? { 'Idempotency-Key': idempotencyKey } : {},
         });
         return data.data;
     },
@@ -145,6 +147,39 @@ export const bookingApi = {
         }
     },
 
+    // Dining room layout: [{ number, seats, zone }]
+    getTables: async () => {
+        return await apiCall('/bookings/tables');
+    },
+
+    // Best-fit free table (or two joined tables) for a party size
+    getBestTable: async (date, time, guests) => {
+        return await apiCall(`/bookings/best-table?date=${date}&time=${time}&guests=${guests}`);
+    },
+
+    // Queue for a fully booked slot; a table is booked automatically when one frees up
+    joinWaitlist: async (waitlistData) => {
+        return await apiCall('/bookings/waitlist', {
+            method: 'POST',
+            body: JSON.stringify(waitlistData),
+        });
+    },
+
+    getMyWaitlist: async () => {
+        return await apiCall('/bookings/waitlist/my');
+    },
+
+    leaveWaitlist: async (entryId) => {
+        return await apiCall(`/bookings/waitlist/${entryId}`, {
+            method: 'DELETE',
+        });
+    },
+
+    // Occupancy bitmasks for every time slot over `days` days (bit table-1 set = booked)
+    getAvailabilityGrid: async (from, days = 14) => {
+        return await apiCall(`/bookings/availability-grid?from=${from}&days=${days}`);
+    },
+
     checkAvailability: async (date, time) => {
         const data = await apiCall(
             `/bookings/check-availability?date=${date}&time=${time}`
@@ -241,6 +276,12 @@ export const customerApi = {
 // ============= ADMIN API =============
 export const adminApi = {
     // Dashboard Stats
+    // Dashboard stats and pending orders in one call (ETag-revalidated by the browser)
+    getBoard: async () => {
+        const data = await apiCall('/admin/board');
+        return data.data;
+    },
+
     getDashboardStats: async () => {
         const data = await apiCall('/admin/dashboard/stats');
         return data.data;
@@ -351,6 +392,13 @@ export const adminApi = {
         return data;
     },
 
+    toggleMenuItemAvailability: async (itemId) => {
+        const data = await apiCall(`/admin/menu/${itemId}/toggle`, {
+            method: 'PUT',
+        });
+        return data.data;
+    },
+
     // Booking Management
     getAllBookings: async () => {
         try {
@@ -443,8 +491,30 @@ export const adminApi = {
     },
 };
 
+// ============= ORDER STREAMS (Server-Sent Events) =============
+// Pushes { type, previousStatus, order } whenever an order changes. EventSource reconnects
+// on its own and sends Last-Event-ID, so missed events are replayed; 'resync' means refetch once.
+const ORDER_EVENT_TYPES = ['CREATED', 'STATUS_CHANGED', 'CHEF_ASSIGNED', 'WAITER_ASSIGNED', 'STAFF_REASSIGNED'];
+
+export const subscribeToOrderStream = (endpoint, { onOrder, onResync }) => {
+    const source = new EventSource(`${API_BASE_URL}${endpoint}`, { withCredentials: true });
+
+    ORDER_EVENT_TYPES.forEach((type) => {
+        source.addEventListener(type, (event) => onOrder(JSON.parse(event.data)));
+    });
+    source.addEventListener('resync', () => onResync && onResync());
+
+    return () => source.close();
+};
+
 // ============= CHEF API =============
 export const chefApi = {
+    // newOrders, activeOrders and completedToday in one call (ETag-revalidated by the browser)
+    getBoard: async () => {
+        const data = await apiCall('/chef/board');
+        return data.data;
+    },
+
     getNewOrders: async () => {
         const data = await apiCall('/chef/orders/new');
         return data.data;
@@ -475,8 +545,31 @@ export const chefApi = {
     },
 };
 
+// ============= BOARD API =============
+export const boardApi = {
+    // Orders that changed since a board version, plus ids that left the board.
+    // Returns the full board (full: true) when the version is too old to diff.
+    getChanges: async (role, since) => {
+        const data = await apiCall(`/boards/${role}/changes?since=${since}`);
+        return data.data;
+    },
+};
+
+// Apply a board delta to one list: changed orders are replaced (or added) where `belongs`
+// says they go, and orders that left the board are dropped
+export const applyBoardChanges = (list, changes, belongs = () => true) => {
+    const changedIds = new Set([...changes.removed, ...changes.orders.map(o => o.id)]);
+    return [...list.filter(o => !changedIds.has(o.id)), ...changes.orders.filter(belongs)];
+};
+
 // ============= WAITER API =============
 export const waiterApi = {
+    // ready, preparing and assigned in one call (ETag-revalidated by the browser)
+    getBoard: async () => {
+        const data = await apiCall('/waiter/board');
+        return data.data;
+    },
+
     getPreparingOrders: async () => {
         const data = await apiCall('/waiter/orders/preparing');
         return data.data || [];
@@ -580,9 +673,13 @@ export const feedbackApi = {
         return data;
     },
 
-    // Admin: Get all feedback
-    getAllFeedback: async () => {
-        const data = await apiCall('/feedback/admin/all');
+    // Admin: One page of feedback, newest first ({ items, nextCursor, hasMore, size })
+    // Pass the previous page's nextCursor as cursor to load the next one
+    getFeedbackPage: async ({ rating, cursor, size = 25 } = {}) => {
+        const params = new URLSearchParams({ size });
+        if (rating) params.append('rating', rating);
+        if (cursor) params.append('cursor', cursor);
+        const data = await apiCall(`/feedback/admin/page?${params}`);
         return data;
     },
 
@@ -614,6 +711,7 @@ export default {
     adminApi,
     chefApi,
     waiterApi,
+    boardApi,
     bookingApi,
     invitationApi,
     customerApi,
@@ -7,23 +7,33 @@ const AdminFeedbackPage = () => {
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState('');
 
+    // Keyset paging: the cursor of the next page, if there is one
+    const [nextCursor, setNextCursor] = useState(null);
+    const [hasMore, setHasMore] = useState(false);
+    const [loadingMore, setLoadingMore] = useState(false);
+
     // Filters
     const [ratingFilter, setRatingFilter] = useState('all');
     const [searchQuery, setSearchQuery] = useState('');
     const [selectedFeedback, setSelectedFeedback] = useState(null);
 
+    // The rating filter runs on the server, so changing it starts again from the first page
     useEffect(() => {
         fetchData();
-    }, []);
+    }, [ratingFilter]);
+
+    const ratingParam = () => (ratingFilter !== 'all' ? parseInt(ratingFilter) : undefined);
 
     const fetchData = async () => {
         setLoading(true);
         try {
-            const [feedbackData, statsData] = await Promise.all([
-                feedbackApi.getAllFeedback(),
+            const [page, statsData] = await Promise.all([
+                feedbackApi.getFeedbackPage({ rating: ratingParam() }),
                 feedbackApi.getFeedbackStats()
             ]);
-            setFeedbacks(feedbackData);
+            setFeedbacks(page.items);
+            setNextCursor(page.nextCursor);
+            setHasMore(page.hasMore);
             setStats(statsData);
             setError('');
         } catch (err) {
@@ -34,6 +44,23 @@ const AdminFeedbackPage = () => {
         }
     };
 
+    const loadMore = async () => {
+        if (!hasMore || loadingMore) {
+            return;
+        }
+        setLoadingMore(true);
+        try {
+            const page = await feedbackApi.getFeedbackPage({ rating: ratingParam(), cursor: nextCursor });
+            setFeedbacks(prev => [...prev, ...page.items]);
+            setNextCursor(page.nextCursor);
+            setHasMore(page.hasMore);
+        } catch (err) {
+            alert('Failed to load more feedback: ' + err.message);
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     const handleDelete = async (feedbackId) => {
         if (!window.confirm('Are you sure you want to delete this feedback?')) {
             return;
@@ -51,10 +78,7 @@ const AdminFeedbackPage = () => {
     const getFilteredFeedbacks = () => {
         let filtered = [...feedbacks];
 
-        if (ratingFilter !== 'all') {
-            filtered = filtered.filter(f => f.overallRating === parseInt(ratingFilter));
-        }
-
+        // Search covers the pages loaded so far
         if (searchQuery.trim()) {
             const query = searchQuery.toLowerCase();
             filtered = filtered.filter(f =>
@@ -268,6 +292,11 @@ const AdminFeedbackPage = () => {
             display: 'grid',
             gap: '20px'
         },
+        loadMoreRow: {
+            display: 'flex',
+            justifyContent: 'center',
+            marginTop: '24px'
+        },
         feedbackCard: {
             background: 'white',
             border: '2px solid #e9ecef',
@@ -960,6 +989,26 @@ const AdminFeedbackPage = () => {
                             ))}
                         </div>
                     )}
+
+                    {hasMore && (
+                        <div style={styles.loadMoreRow}>
+                            <button
+                                onClick={loadMore}
+                                disabled={loadingMore}
+                                style={styles.refreshBtn}
+                                onMouseEnter={(e) => {
+                                    e.target.style.background = '#6d5635';
+                                    e.target.style.transform = 'translateY(-2px)';
+                                }}
+                                onMouseLeave={(e) => {
+                                    e.target.style.background = '#8b6f47';
+                                    e.target.style.transform = 'translateY(0)';
+                                }}
+                            >
+                                {loadingMore ? 'Loading...' : 'Load more'}
+                            </button>
+                        </div>
+                    )}
                 </div>
 
                 {/* Feedback Details Modal */}
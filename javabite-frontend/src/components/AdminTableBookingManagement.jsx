@@ -290,7 +290,7 @@ const AdminTableBookingManagement = () => {
                                             <span className="info-icon">🪑</span>
                                             <span className="info-label">Table:</span>
                                             <span className="info-value">
-                                                Table {booking.tableNumber || 'Not assigned'}
+                                                Table {booking.tableNumber ? `${booking.tableNumber}${booking.joinedTableNumber ? ` + ${booking.joinedTableNumber}` : ''}` : 'Not assigned'}
                                             </span>
                                         </div>
 
@@ -333,7 +333,7 @@ const BookingDetailsModal = ({ booking, onClose, onRefresh }) => {
                             >
                                 <div style={styles.detailLabel}>🪑 Table Number</div>
                                 <div style={{...styles.detailValue, color: '#8b6f47'}}>
-                                    Table {booking.tableNumber}
+                                    Table {booking.tableNumber}{booking.joinedTableNumber ? ` + ${booking.joinedTableNumber}` : ''}
                                 </div>
                             </div>
 
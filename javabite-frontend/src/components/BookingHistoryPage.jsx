@@ -637,7 +637,7 @@ const BookingHistoryPage = () => {
                                             onMouseLeave={(e) => e.currentTarget.style.background = '#f8f4f0'}
                                         >
                                             <span style={styles.detailLabel}>Table</span>
-                                            <span style={styles.detailValue}>🪑 Table {booking.tableNumber}</span>
+                                            <span style={styles.detailValue}>🪑 Table {booking.tableNumber}{booking.joinedTableNumber ? ` + ${booking.joinedTableNumber}` : ''}</span>
                                         </div>
                                         <div
                                             style={styles.detailItem}
@@ -747,7 +747,7 @@ const BookingHistoryPage = () => {
                                             onMouseLeave={(e) => e.currentTarget.style.background = '#f8f4f0'}
                                         >
                                             <span style={styles.detailLabel}>Table</span>
-                                            <span style={styles.detailValue}>🪑 Table {booking.tableNumber}</span>
+                                            <span style={styles.detailValue}>🪑 Table {booking.tableNumber}{booking.joinedTableNumber ? ` + ${booking.joinedTableNumber}` : ''}</span>
                                         </div>
                                         <div
                                             style={styles.detailItem}
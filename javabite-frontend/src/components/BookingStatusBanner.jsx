@@ -89,7 +89,7 @@ const BookingStatusBanner = () => {
         }}>
             <span style={{ fontSize: '28px' }}>✅</span>
             <div style={{ flex: 1 }}>
-                <strong style={{ color: '#1b5e20' }}>Table {activeBooking.tableNumber} Reserved</strong>
+                <strong style={{ color: '#1b5e20' }}>Table {activeBooking.tableNumber}{activeBooking.joinedTableNumber ? ` + ${activeBooking.joinedTableNumber}` : ''} Reserved</strong>
                 <p style={{ margin: '4px 0 0 0', color: '#2e7d32', fontSize: '14px' }}>
                     {new Date(activeBooking.bookingDate).toLocaleDateString()} at {activeBooking.bookingTime}
                 </p>
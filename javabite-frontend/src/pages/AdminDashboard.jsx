@@ -1,5 +1,5 @@
-import { useState, useEffect } from 'react';
-import { adminApi } from '../api/api';
+import { useState, useEffect, useRef } from 'react';
+import { adminApi, boardApi, applyBoardChanges } from '../api/api';
 import AdminTableBookingManagement from '../components/AdminTableBookingManagement';
 import StaffContent from '../components/StaffContent';
 import OrdersHistoryPage from '../components/OrdersHistoryPage';
@@ -50,6 +50,9 @@ const AdminDashboard = () => {
     const [error, setError] = useState('');
     const [success, setSuccess] = useState('');
 
+    // Version of the board held in pendingOrders / dashboardStats, so polls only fetch what changed
+    const boardVersion = useRef(null);
+
     // Fetch data based on active tab
     useEffect(() => {
         fetchData();
@@ -62,14 +65,13 @@ const AdminDashboard = () => {
         switch (activeTab) {
             case 'dashboard':
                 await Promise.all([
-                    fetchDashboardStats(),
-                    fetchPendingOrders(),
+                    fetchBoard(),
                     fetchStaff()
                 ]);
                 break;
             case 'orders':
                 await Promise.all([
-                    fetchPendingOrders(),
+                    fetchBoard(),
                     fetchStaff()
                 ]);
                 break;
@@ -88,31 +90,29 @@ const AdminDashboard = () => {
     };
 
     // Fetch Functions with proper error handling
-    const fetchDashboardStats = async () => {
-        try {
-            const stats = await adminApi.getDashboardStats();
-            setDashboardStats(stats || {
-                pendingOrders: 0,
-                preparingOrders: 0,
-                readyOrders: 0,
-                completedToday: 0,
-                activeChefs: 0,
-                activeWaiters: 0,
-                activeBookings: 0
-            });
-        } catch (err) {
-            console.error('Failed to fetch dashboard stats:', err);
-            // Don't show error for stats - not critical
-        }
-    };
 
-    const fetchPendingOrders = async () => {
+    // Stats and pending orders: the full snapshot first (unchanged boards come back as 304),
+    // then only what changed since the version we hold
+    const fetchBoard = async () => {
         try {
             setError('');
-            const orders = await adminApi.getPendingOrders();
-            setPendingOrders(Array.isArray(orders) ? orders : []);
+            if (boardVersion.current == null) {
+                showBoard(await adminApi.getBoard());
+                return;
+            }
+            const changes = await boardApi.getChanges('admin', boardVersion.current);
+            if (changes.full) {
+                showBoard(changes);
+                return;
+            }
+            boardVersion.current = changes.version;
+            if (changes.stats) {
+                setDashboardStats(changes.stats);
+            }
+            setPendingOrders(prev => applyBoardChanges(prev, changes));
         } catch (err) {
-            console.error('Fetch orders error:', err);
+            console.error('Fetch board error:', err);
+            boardVersion.current = null;
             setPendingOrders([]);
             if (activeTab === 'orders') {
                 setError('Failed to load orders. Please refresh.');
@@ -120,6 +120,14 @@ const AdminDashboard = () => {
         }
     };
 
+    const showBoard = (board) => {
+        boardVersion.current = board?.version ?? null;
+        if (board?.stats) {
+            setDashboardStats(board.stats);
+        }
+        setPendingOrders(Array.isArray(board?.pendingOrders) ? board.pendingOrders : []);
+    };
+
     const fetchStaff = async () => {
         try {
             const [chefsData, waitersData] = await Promise.all([
@@ -171,8 +179,7 @@ const AdminDashboard = () => {
             setSuccess('Order assigned successfully!');
             setSelectedOrder(null);
             setAssignForm({ chefId: '', waiterId: '' });
-            await fetchPendingOrders();
-            await fetchDashboardStats();
+            await fetchBoard();
 
             // Clear success message after 3 seconds
             setTimeout(() => setSuccess(''), 3000);
@@ -267,6 +274,18 @@ const AdminDashboard = () => {
         setShowMenuModal(true);
     };
 
+    const handleToggleMenuItem = async (itemId) => {
+        try {
+            const item = await adminApi.toggleMenuItemAvailability(itemId);
+            setSuccess(item.available ? 'Menu item is available again' : 'Menu item marked unavailable');
+            await fetchMenuItems();
+            setTimeout(() => setSuccess(''), 2000);
+        } catch (err) {
+            console.error('Toggle menu item error:', err);
+            setError('Failed to update menu item availability');
+        }
+    };
+
     const handleDeleteMenuItem = async (itemId) => {
         if (!window.confirm('Are you sure you want to delete this menu item?')) return;
 
@@ -424,6 +443,7 @@ const AdminDashboard = () => {
                         <MenuContent
                             menuItems={menuItems}
                             onEdit={handleEditMenuItem}
+                            onToggle={handleToggleMenuItem}
                             onDelete={handleDeleteMenuItem}
                             onAdd={() => {
                                 setMenuForm({
@@ -769,7 +789,7 @@ const OrdersContent = ({ pendingOrders, chefs, waiters, selectedOrder, onOrderSe
     </div>
 );
 
-const MenuContent = ({ menuItems, onEdit, onDelete, onAdd }) => (
+const MenuContent = ({ menuItems, onEdit, onToggle, onDelete, onAdd }) => (
     <div className="menu-content">
         <div className="section-header">
             <h2>Menu Items ({menuItems.length})</h2>
@@ -794,6 +814,9 @@ const MenuContent = ({ menuItems, onEdit, onDelete, onAdd }) => (
                             <button onClick={() => onEdit(item)} className="menu-actions-btn-edit">
                                 Edit
                             </button>
+                            <button onClick={() => onToggle(item.id)} className="menu-actions-btn-edit">
+                                {item.available ? 'Mark Unavailable' : 'Mark Available'}
+                            </button>
                             <button onClick={() => onDelete(item.id)} className="menu-actions-btn-delete">
                                 Delete
                             </button>
@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { useAuth } from '../context/AuthContext';
 import { orderApi, bookingApi } from '../api/api.js';
@@ -15,6 +15,9 @@ const CheckoutPage = ({ cart = [], setCart }) => {
     const [error, setError] = useState('');
     const [couponCode, setCouponCode] = useState('');
 
+    // Same order body → same Idempotency-Key, so a retry after a timeout can't double-order
+    const idempotencyRef = useRef({ body: null, key: null });
+
     // ✅ NEW: Table booking validation states
     const [checkingBooking, setCheckingBooking] = useState(true);
     const [activeBooking, setActiveBooking] = useState(null);
@@ -190,8 +193,13 @@ const CheckoutPage = ({ cart = [], setCart }) => {
 
             console.log('Creating order with booking:', orderData);
 
+            const body = JSON.stringify(orderData);
+            if (idempotencyRef.current.body !== body) {
+                idempotencyRef.current = { body, key: crypto.randomUUID() };
+            }
+
             // Create order via API
-            const order = await orderApi.createOrder(orderData);
+            const order = await orderApi.createOrder(orderData, idempotencyRef.current.key);
             setOrderDetails(order);
             setOrderPlaced(true);
 
@@ -379,7 +387,7 @@ const CheckoutPage = ({ cart = [], setCart }) => {
                                     Table Booking Confirmed
                                 </div>
                                 <div style={{ fontSize: '14px', color: '#1b5e20' }}>
-                                    Table {activeBooking.tableNumber} • {new Date(activeBooking.bookingDate).toLocaleDateString()} at {activeBooking.bookingTime}
+                                    Table {activeBooking.tableNumber}{activeBooking.joinedTableNumber ? ` + ${activeBooking.joinedTableNumber}` : ''} • {new Date(activeBooking.bookingDate).toLocaleDateString()} at {activeBooking.bookingTime}
                                 </div>
                             </div>
                         </div>
@@ -1,6 +1,6 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { useAuth } from '../context/AuthContext';
-import { chefApi } from '../api/api.js';
+import { chefApi, boardApi, applyBoardChanges, subscribeToOrderStream } from '../api/api.js';
 import '../styles/Orders.css';
 
 const ChefDashboard = () => {
@@ -16,26 +16,41 @@ const ChefDashboard = () => {
     const [dateFilter, setDateFilter] = useState('all'); // 'all', '7days', '30days'
     const [displayedOrders, setDisplayedOrders] = useState(10);
 
+    // Version of the board held in "orders", so later refreshes only fetch what changed
+    const boardVersion = useRef(null);
+
     useEffect(() => {
         fetchOrders();
-        const interval = setInterval(fetchOrders, 30000);
-        return () => clearInterval(interval);
-    }, [activeTab]);
+        // Live updates instead of polling
+        return subscribeToOrderStream('/chef/orders/stream', {
+            onOrder: ({ order }) => setOrders(prev => applyOrderUpdate(prev, order)),
+            onResync: syncOrders,
+        });
+    }, []);
+
+    // "orders" holds every tab (new, in progress, completed today); tabs filter by status
+    const BOARD_STATUSES = ['PENDING', 'PREPARING', 'COMPLETED'];
+
+    const applyOrderUpdate = (current, order) => {
+        const others = current.filter(o => o.id !== order.id);
+        const belongsHere = order.chefId === user?.id && BOARD_STATUSES.includes(order.status);
+        return belongsHere ? [order, ...others] : others;
+    };
+
+    const showBoard = (board) => {
+        boardVersion.current = board?.version ?? null;
+        setOrders([
+            ...(board?.newOrders || []),
+            ...(board?.activeOrders || []),
+            ...(board?.completedToday || []),
+        ]);
+    };
 
     const fetchOrders = async () => {
         try {
             setLoading(true);
-            let fetchedOrders = [];
-
-            if (activeTab === 'new') {
-                fetchedOrders = await chefApi.getNewOrders();
-            } else if (activeTab === 'progress') {
-                fetchedOrders = await chefApi.getActiveOrders();
-            } else if (activeTab === 'completed') {
-                fetchedOrders = await chefApi.getCompletedToday();
-            }
-
-            setOrders(fetchedOrders);
+            // One snapshot holds every tab; unchanged boards come back as 304
+            showBoard(await chefApi.getBoard());
             setError(null);
         } catch (err) {
             console.error('Failed to fetch orders:', err);
@@ -45,6 +60,26 @@ const ChefDashboard = () => {
         }
     };
 
+    // Only the orders that changed since the board we hold (the full board if it can't be diffed)
+    const syncOrders = async () => {
+        if (boardVersion.current == null) {
+            return fetchOrders();
+        }
+        try {
+            const changes = await boardApi.getChanges('chef', boardVersion.current);
+            if (changes.full) {
+                showBoard(changes);
+            } else {
+                boardVersion.current = changes.version;
+                setOrders(prev => applyBoardChanges(prev, changes));
+            }
+            setError(null);
+        } catch (err) {
+            console.error('Failed to sync orders:', err);
+            setError('Failed to load orders');
+        }
+    };
+
     const handleStartPreparation = async (orderId) => {
         if (!window.confirm('Start preparing this order?')) return;
 
@@ -52,7 +87,7 @@ const ChefDashboard = () => {
             setUpdating(true);
             await chefApi.startPreparation(orderId);
             alert('Preparation started successfully!');
-            await fetchOrders();
+            await syncOrders();
         } catch (err) {
             alert(err.message || 'Failed to start preparation');
         } finally {
@@ -67,7 +102,7 @@ const ChefDashboard = () => {
             setUpdating(true);
             await chefApi.markOrderReady(orderId);
             alert('Order marked as ready!');
-            await fetchOrders();
+            await syncOrders();
         } catch (err) {
             alert(err.message || 'Failed to mark order as ready');
         } finally {
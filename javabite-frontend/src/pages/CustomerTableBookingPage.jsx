@@ -11,6 +11,9 @@ const CustomerTableBookingPage = () => {
     const [error, setError] = useState('');
     const [availableTables, setAvailableTables] = useState([]);
     const [selectedTable, setSelectedTable] = useState(null);
+    // Neighbour pushed together with selectedTable for a large party (from the best-fit suggestion)
+    const [joinedTable, setJoinedTable] = useState(null);
+    const [tableLayout, setTableLayout] = useState({});
 
     // ✅ Success modal states
     const [showSuccessModal, setShowSuccessModal] = useState(false);
@@ -32,12 +35,53 @@ const CustomerTableBookingPage = () => {
         }
     }, [isAuthenticated, navigate]);
 
-    // Fetch available tables when date or time changes
+    // Seats and zone per table, loaded once
     useEffect(() => {
-        if (bookingForm.bookingDate && bookingForm.bookingTime) {
+        bookingApi.getTables()
+            .then(tables => setTableLayout(Object.fromEntries(tables.map(t => [t.number, t]))))
+            .catch(err => console.error('❌ Failed to load table layout:', err));
+    }, []);
+
+    // Two weeks of occupancy, fetched in one call and reused while browsing dates/times
+    const [grid, setGrid] = useState(null);
+
+    const gridCovers = (date) => grid !== null && Object.prototype.hasOwnProperty.call(grid.occupancy, date);
+
+    // Fetch the grid when the selected date is outside it; otherwise read straight from it
+    useEffect(() => {
+        if (!bookingForm.bookingDate || !bookingForm.bookingTime) {
+            return;
+        }
+        if (gridCovers(bookingForm.bookingDate)) {
+            applyAvailability(grid);
+        } else {
             fetchAvailableTables();
         }
-    }, [bookingForm.bookingDate, bookingForm.bookingTime]);
+    }, [bookingForm.bookingDate, bookingForm.bookingTime, grid]);
+
+    const applyAvailability = (currentGrid) => {
+        const slotIndex = currentGrid.timeSlots.indexOf(bookingForm.bookingTime);
+        const dayMasks = currentGrid.occupancy[bookingForm.bookingDate];
+        const mask = dayMasks && slotIndex >= 0 ? dayMasks[slotIndex] : 0;
+
+        const isBooked = (tableNumber) => Math.floor(mask / Math.pow(2, tableNumber - 1)) % 2 === 1;
+
+        const tableStatuses = [];
+        for (let i = 1; i <= TOTAL_TABLES; i++) {
+            tableStatuses.push({
+                tableNumber: i,
+                status: isBooked(i) ? 'BOOKED' : 'AVAILABLE'
+            });
+        }
+
+        setAvailableTables(tableStatuses);
+
+        // If selected table is now booked, deselect it
+        if (selectedTable && isBooked(selectedTable)) {
+            setSelectedTable(null);
+            setError('Your selected table is no longer available. Please select another table.');
+        }
+    };
 
     const fetchAvailableTables = async () => {
         if (!bookingForm.bookingDate || !bookingForm.bookingTime) {
@@ -48,31 +92,14 @@ const CustomerTableBookingPage = () => {
         setError('');
 
         try {
-            console.log('🔍 Checking availability for:', bookingForm.bookingDate, bookingForm.bookingTime);
-
-            const response = await bookingApi.getAvailableTables(
-                bookingForm.bookingDate,
-                bookingForm.bookingTime
-            );
-
-            console.log('✅ Availability response:', response);
+            console.log('🔍 Fetching availability grid from:', bookingForm.bookingDate);
 
-            // Create table status array
-            const tableStatuses = [];
-            for (let i = 1; i <= TOTAL_TABLES; i++) {
-                tableStatuses.push({
-                    tableNumber: i,
-                    status: response.availableTables.includes(i) ? 'AVAILABLE' : 'BOOKED'
-                });
-            }
+            const response = await bookingApi.getAvailabilityGrid(bookingForm.bookingDate, 14);
 
-            setAvailableTables(tableStatuses);
+            console.log('✅ Availability grid:', response);
 
-            // If selected table is now booked, deselect it
-            if (selectedTable && !response.availableTables.includes(selectedTable)) {
-                setSelectedTable(null);
-                setError('Your selected table is no longer available. Please select another table.');
-            }
+            // The effect above re-renders the tables from the new grid
+            setGrid(response);
 
         } catch (err) {
             console.error('❌ Failed to check availability:', err);
@@ -100,8 +127,9 @@ const CustomerTableBookingPage = () => {
         });
 
         // Reset selected table when date/time changes
-        if (name === 'bookingDate' || name === 'bookingTime') {
+        if (name === 'bookingDate' || name === 'bookingTime' || name === 'numberOfGuests') {
             setSelectedTable(null);
+            setJoinedTable(null);
         }
 
         if (error) setError('');
@@ -109,13 +137,31 @@ const CustomerTableBookingPage = () => {
 
     const handleTableSelect = (table) => {
         if (table.status === 'AVAILABLE') {
+            const seats = tableLayout[table.tableNumber]?.seats;
+            if (seats && seats < parseInt(bookingForm.numberOfGuests)) {
+                setError(`Table ${table.tableNumber} seats ${seats}. Use "Find the best table" to join tables for larger parties.`);
+                return;
+            }
             setSelectedTable(table.tableNumber);
+            setJoinedTable(null);
             if (error) setError('');
         } else if (table.status === 'BOOKED') {
             setError(`Table ${table.tableNumber} is already booked for this time slot. Please select an available table.`);
         }
     };
 
+    const handleBestTable = async () => {
+        setError('');
+        try {
+            const best = await bookingApi.getBestTable(
+                bookingForm.bookingDate, bookingForm.bookingTime, parseInt(bookingForm.numberOfGuests));
+            setSelectedTable(best.tableNumber);
+            setJoinedTable(best.joinedTableNumber);
+        } catch (err) {
+            setError(err.message || 'No table is free for your party at this time.');
+        }
+    };
+
     const handleBookingSubmit = async (e) => {
         e.preventDefault();
 
@@ -138,6 +184,7 @@ const CustomerTableBookingPage = () => {
                 bookingTime: bookingForm.bookingTime,
                 numberOfGuests: parseInt(bookingForm.numberOfGuests),
                 tableNumber: selectedTable,
+                joinedTableNumber: joinedTable,
                 specialRequests: bookingForm.specialRequests || null
             };
 
@@ -149,7 +196,7 @@ const CustomerTableBookingPage = () => {
 
             // ✅ Set booking details and show success modal
             setBookingDetails({
-                tableNumber: selectedTable,
+                tableNumber: joinedTable ? `${selectedTable} + ${joinedTable}` : selectedTable,
                 date: bookingForm.bookingDate,
                 time: bookingForm.bookingTime,
                 guests: bookingForm.numberOfGuests,
@@ -168,6 +215,26 @@ const CustomerTableBookingPage = () => {
         }
     };
 
+    // Slot is full: queue once instead of retrying
+    const handleJoinWaitlist = async () => {
+        setLoading(true);
+        setError('');
+        try {
+            const response = await bookingApi.joinWaitlist({
+                bookingDate: bookingForm.bookingDate,
+                bookingTime: bookingForm.bookingTime,
+                numberOfGuests: parseInt(bookingForm.numberOfGuests),
+                specialRequests: bookingForm.specialRequests || null
+            });
+            alert(response.message);
+        } catch (err) {
+            console.error('❌ Failed to join waitlist:', err);
+            setError(err.message || 'Failed to join the waitlist. Please try again.');
+        } finally {
+            setLoading(false);
+        }
+    };
+
     // ✅ Handle success modal close and navigation
     const handleSuccessClose = () => {
         setShowSuccessModal(false);
@@ -328,7 +395,7 @@ const CustomerTableBookingPage = () => {
                                     value={bookingForm.numberOfGuests}
                                     onChange={handleFormChange}
                                     min="1"
-                                    max="8"
+                                    max="20"
                                     required
                                     style={{
                                         width: '100%',
@@ -454,6 +521,54 @@ const CustomerTableBookingPage = () => {
                                         : `✓ ${availableCount} table${availableCount !== 1 ? 's' : ''} available`}
                         </p>
 
+                        {bookingForm.bookingDate && !checkingAvailability && availableCount > 0 && (
+                            <div style={{ textAlign: 'center', marginBottom: '24px' }}>
+                                <button
+                                    type="button"
+                                    onClick={handleBestTable}
+                                    style={{
+                                        padding: '10px 28px',
+                                        background: 'white',
+                                        color: '#8b6f47',
+                                        border: '2px solid #8b6f47',
+                                        borderRadius: '30px',
+                                        fontSize: '15px',
+                                        fontWeight: '600',
+                                        cursor: 'pointer'
+                                    }}
+                                >
+                                    ✨ Find the best table for {bookingForm.numberOfGuests} guest{bookingForm.numberOfGuests !== '1' ? 's' : ''}
+                                </button>
+                                {joinedTable && (
+                                    <p style={{ fontSize: '14px', color: '#6d4c41', marginTop: '8px' }}>
+                                        Tables {selectedTable} and {joinedTable} will be pushed together for your party.
+                                    </p>
+                                )}
+                            </div>
+                        )}
+
+                        {bookingForm.bookingDate && !checkingAvailability && availableTables.length > 0 && availableCount === 0 && (
+                            <div style={{ textAlign: 'center', marginBottom: '24px' }}>
+                                <button
+                                    type="button"
+                                    onClick={handleJoinWaitlist}
+                                    disabled={loading}
+                                    style={{
+                                        padding: '12px 32px',
+                                        background: '#8b6f47',
+                                        color: 'white',
+                                        border: 'none',
+                                        borderRadius: '30px',
+                                        fontSize: '16px',
+                                        fontWeight: '600',
+                                        cursor: loading ? 'not-allowed' : 'pointer'
+                                    }}
+                                >
+                                    ⏳ Join the waitlist for this time
+                                </button>
+                            </div>
+                        )}
+
                         {checkingAvailability ? (
                             <div style={{
                                 display: 'flex',
@@ -481,7 +596,8 @@ const CustomerTableBookingPage = () => {
                                 marginBottom: '32px'
                             }}>
                                 {availableTables.map((table) => {
-                                    const isSelected = selectedTable === table.tableNumber;
+                                    const isSelected = selectedTable === table.tableNumber || joinedTable === table.tableNumber;
+                                    const layout = tableLayout[table.tableNumber];
                                     const isAvailable = table.status === 'AVAILABLE';
                                     const isBooked = table.status === 'BOOKED';
 
@@ -545,6 +661,15 @@ const CustomerTableBookingPage = () => {
                                             }}>
                                                 Table {table.tableNumber}
                                             </h3>
+                                            {layout && (
+                                                <div style={{
+                                                    fontSize: '12px',
+                                                    color: isSelected ? 'white' : '#6d4c41',
+                                                    marginBottom: '4px'
+                                                }}>
+                                                    👥 {layout.seats} · {layout.zone.toLowerCase()}
+                                                </div>
+                                            )}
                                             <div style={{
                                                 fontSize: '12px',
                                                 fontWeight: '600',
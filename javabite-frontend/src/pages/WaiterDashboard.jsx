@@ -1,31 +1,47 @@
-import React, { useState, useEffect } from 'react';
-import { waiterApi } from '../api/api';
+import React, { useState, useEffect, useRef } from 'react';
+import { useAuth } from '../context/AuthContext';
+import { waiterApi, boardApi, applyBoardChanges, subscribeToOrderStream } from '../api/api';
 import '../styles/WaiterDashboard.css';
 
 const WaiterDashboard = () => {
+    const { user } = useAuth();
     const [preparingOrders, setPreparingOrders] = useState([]);
     const [readyOrders, setReadyOrders] = useState([]);
     const [activeTab, setActiveTab] = useState('ready'); // Default to ready orders
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState('');
 
+    // Version of the board held in the lists, so later refreshes only fetch what changed
+    const boardVersion = useRef(null);
+
     useEffect(() => {
         fetchOrders();
-        const interval = setInterval(fetchOrders, 5000); // Refresh every 5s
-        return () => clearInterval(interval);
+        // Live updates instead of polling every 5s
+        return subscribeToOrderStream('/waiter/orders/stream', {
+            onOrder: ({ order }) => applyOrderUpdate(order),
+            onResync: syncOrders,
+        });
     }, []);
 
+    // Move a pushed order into the right list (or drop it if no longer ours/active)
+    const applyOrderUpdate = (order) => {
+        const mine = order.waiterId === user?.id;
+        const without = (list) => list.filter(o => o.id !== order.id);
+
+        setPreparingOrders(prev => mine && (order.status === 'PENDING' || order.status === 'PREPARING')
+            ? [...without(prev), order]
+            : without(prev));
+        setReadyOrders(prev => mine && order.status === 'READY'
+            ? [...without(prev), order]
+            : without(prev));
+    };
+
     const fetchOrders = async () => {
         try {
             setError('');
 
-            // Fetch preparing orders (PENDING/PREPARING status)
-            const preparing = await waiterApi.getPreparingOrders();
-            setPreparingOrders(preparing);
-
-            // Fetch ready orders (READY status)
-            const ready = await waiterApi.getReadyOrders();
-            setReadyOrders(ready);
+            // Preparing (PENDING/PREPARING) and ready (READY) orders in one snapshot
+            showBoard(await waiterApi.getBoard());
 
             setLoading(false);
         } catch (error) {
@@ -35,12 +51,40 @@ const WaiterDashboard = () => {
         }
     };
 
+    const showBoard = (board) => {
+        boardVersion.current = board?.version ?? null;
+        setPreparingOrders(board?.preparing || []);
+        setReadyOrders(board?.ready || []);
+    };
+
+    // Only the orders that changed since the board we hold (the full board if it can't be diffed)
+    const syncOrders = async () => {
+        if (boardVersion.current == null) {
+            return fetchOrders();
+        }
+        try {
+            setError('');
+            const changes = await boardApi.getChanges('waiter', boardVersion.current);
+            if (changes.full) {
+                showBoard(changes);
+                return;
+            }
+            boardVersion.current = changes.version;
+            setPreparingOrders(prev => applyBoardChanges(prev, changes,
+                o => o.status === 'PENDING' || o.status === 'PREPARING'));
+            setReadyOrders(prev => applyBoardChanges(prev, changes, o => o.status === 'READY'));
+        } catch (error) {
+            console.error('Failed to sync orders:', error);
+            setError('Failed to load orders. Please refresh.');
+        }
+    };
+
     const handleServe = async (orderId) => {
         if (!window.confirm('Mark this order as served?')) return;
 
         try {
             await waiterApi.markAsServed(orderId);
-            fetchOrders(); // Refresh orders
+            syncOrders(); // Refresh orders
             alert('Order marked as served successfully!');
         } catch (error) {
             console.error('Failed to mark order as served:', error);
@@ -74,7 +118,7 @@ const WaiterDashboard = () => {
                         })}
                     </p>
                 </div>
-                <button className="refresh-btn" onClick={fetchOrders}>
+                <button className="refresh-btn" onClick={syncOrders}>
                     🔄 Refresh
                 </button>
             </div>